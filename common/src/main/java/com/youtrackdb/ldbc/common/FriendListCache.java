@@ -0,0 +1,154 @@
+package com.youtrackdb.ldbc.common;
+
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery3PersonFriendsResult;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The IS3 results of the {@value #SIZE} most recently read persons: their friends, newest friendship first with
+ * ties by ascending id. {@code 0} (default) disables the cache.
+ *
+ * <p>Friend lists only change through added persons and friendships, and the update handlers apply these to
+ * the cached lists in place once committed, so a read that follows an update always sees it. That holds only
+ * while all writes go through this process: do not enable the cache when other clients update the database.
+ *
+ * <p>A list read from the database is only cached if no friendship was added since {@link #version()} was taken
+ * before the reading transaction started; the list might miss that friendship otherwise.
+ *
+ * <p>Reads do not lock: the lists live in a {@link ConcurrentHashMap}, and a friendship updates each list with an
+ * atomic {@code computeIfPresent} after bumping the version, so a concurrent {@link #put} either sees the new
+ * version or has its list updated. Only the recency order behind the eviction is guarded by a lock, which a read
+ * skips when another thread holds it; under contention eviction is then only roughly least recently read.
+ */
+public final class FriendListCache {
+
+    public static final String SIZE = "tinkerpop.is3.cacheSize";
+
+    private static final Comparator<LdbcShortQuery3PersonFriendsResult> NEWEST_FIRST = Comparator
+            .comparingLong(LdbcShortQuery3PersonFriendsResult::getFriendshipCreationDate)
+            .reversed()
+            .thenComparingLong(LdbcShortQuery3PersonFriendsResult::getPersonId);
+
+    private final int maxPersons;
+    private final Map<Long, List<LdbcShortQuery3PersonFriendsResult>> lists = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock recencyLock = new ReentrantLock();
+    /**
+     * The cached persons, least recently read first. Guarded by {@link #recencyLock}.
+     */
+    private final LinkedHashMap<Long, Boolean> recency = new LinkedHashMap<>(16, 0.75f, true);
+
+    public FriendListCache(Map<String, String> properties) {
+        this.maxPersons = Integer.parseInt(properties.getOrDefault(SIZE, "0").trim());
+    }
+
+    public boolean isEnabled() {
+        return maxPersons > 0;
+    }
+
+    /**
+     * The cached friends of the person, or {@code null}.
+     */
+    public List<LdbcShortQuery3PersonFriendsResult> get(long personId) {
+        List<LdbcShortQuery3PersonFriendsResult> friends = lists.get(personId);
+        if (friends != null && recencyLock.tryLock()) {
+            try {
+                recency.get(personId);
+            } finally {
+                recencyLock.unlock();
+            }
+        }
+        return friends;
+    }
+
+    /**
+     * Changes with every added friendship.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Caches the friends read from the database, unless a friendship was added since {@code version}.
+     */
+    public void put(long personId, long version, List<LdbcShortQuery3PersonFriendsResult> friends) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<LdbcShortQuery3PersonFriendsResult> copy = List.copyOf(friends);
+        if (lists.compute(personId, (id, cached) -> version == this.version.get() ? copy : cached) == copy) {
+            touch(personId);
+        }
+    }
+
+    /**
+     * A committed new person, who has no friends yet.
+     */
+    public void addPerson(long personId) {
+        if (isEnabled()) {
+            lists.put(personId, List.of());
+            touch(personId);
+        }
+    }
+
+    /**
+     * A committed friendship, given as each person seen as a friend of the other. A {@code null} person, whose
+     * name could not be read, drops the other's list instead.
+     */
+    public void addFriendship(long person1Id, LdbcShortQuery3PersonFriendsResult person1,
+                              long person2Id, LdbcShortQuery3PersonFriendsResult person2) {
+        version.incrementAndGet();
+        addFriend(person1Id, person2);
+        addFriend(person2Id, person1);
+    }
+
+    private void addFriend(long personId, LdbcShortQuery3PersonFriendsResult friend) {
+        if (friend == null) {
+            if (lists.remove(personId) != null) {
+                recencyLock.lock();
+                try {
+                    recency.remove(personId);
+                } finally {
+                    recencyLock.unlock();
+                }
+            }
+            return;
+        }
+        lists.computeIfPresent(personId, (id, friends) -> {
+            // Already there if the list was read after the friendship was committed
+            if (friends.stream().anyMatch(known -> known.getPersonId() == friend.getPersonId())) {
+                return friends;
+            }
+            List<LdbcShortQuery3PersonFriendsResult> added = new ArrayList<>(friends.size() + 1);
+            added.addAll(friends);
+            added.add(friend);
+            added.sort(NEWEST_FIRST);
+            return List.copyOf(added);
+        });
+    }
+
+    /**
+     * Marks the person as just cached and evicts the least recently read persons beyond the size.
+     */
+    private void touch(long personId) {
+        recencyLock.lock();
+        try {
+            recency.put(personId, Boolean.TRUE);
+            Iterator<Long> eldest = recency.keySet().iterator();
+            while (recency.size() > maxPersons) {
+                lists.remove(eldest.next());
+                eldest.remove();
+            }
+        } finally {
+            recencyLock.unlock();
+        }
+    }
+}
@@ -28,5 +28,25 @@ public interface GraphProvider extends Closeable {
      * @throws E if the code block throws an exception
      */
     <E extends Exception, R> R computeInTx(FailableFunction<GraphTraversalSource, R, E> code) throws Exception;
+
+    /**
+     * Whether a transaction that failed with {@code failure} lost a conflict with a concurrent transaction and
+     * may succeed when run again, e.g. an optimistic concurrency check on commit. Such updates are retried by
+     * {@link RetryPolicy}. The default classifies nothing as retryable.
+     *
+     * @param failure the exception thrown by {@link #executeInTx} or {@link #computeInTx}, possibly wrapped
+     */
+    default boolean isRetryable(Throwable failure) {
+        return false;
+    }
+
+    /**
+     * Whether traversals run on a server rather than in this JVM. {@link OperationTimeouts} interrupts the calling
+     * thread only for remote providers; embedded traversals check their deadline themselves. The default is
+     * embedded.
+     */
+    default boolean isRemote() {
+        return false;
+    }
 }
 
@@ -0,0 +1,198 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.commons.lang3.function.FailableConsumer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in group commit for updates: applies the updates of all driver threads that arrive within a short window
+ * in one transaction, so the commit cost is paid once per batch instead of once per update.
+ *
+ * <p>A single committer thread takes the first waiting update, collects more for up to {@value #WINDOW} microseconds
+ * (default 1000) or until {@value #MAX_BATCH} updates (default 64) are queued, and runs them in order in one
+ * transaction. Each caller blocks until that transaction commits. If it fails, nothing of the batch is applied and
+ * every caller gets {@code false} and runs its update alone, so one failing or conflicting update does not fail the
+ * others. The same happens to the updates still queued if the committer thread stops. {@link #close()} commits the
+ * updates already queued before it returns.
+ *
+ * <p>Only worth it with several driver threads: with one, every update just waits for the window.
+ */
+public final class GroupCommitExecutor implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitExecutor.class);
+
+    public static final String ENABLED = "tinkerpop.groupCommit.enabled";
+    public static final String MAX_BATCH = "tinkerpop.groupCommit.maxBatch";
+    public static final String WINDOW = "tinkerpop.groupCommit.windowMicros";
+
+    /**
+     * Result of {@link #execute}: whether the update was committed and, if so, how long it ran inside the batch's
+     * transaction and how long the batch took to begin and commit, both measured on the committer thread. The
+     * time the caller waited for the batch is in neither.
+     */
+    public record Outcome(boolean committed, long executeNanos, long transactionNanos) {
+
+        static final Outcome NOT_COMMITTED = new Outcome(false, 0, 0);
+    }
+
+    private record Request(FailableConsumer<GraphTraversalSource, Exception> update,
+                           CompletableFuture<Outcome> outcome) {
+    }
+
+    /**
+     * Queued by {@link #close()} after the last update to commit.
+     */
+    private static final Request STOP = new Request(g -> {
+    }, new CompletableFuture<>());
+
+    private final GraphProvider graphProvider;
+    private final int maxBatch;
+    private final long windowNanos;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedUpdates = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile boolean closed;
+
+    public GroupCommitExecutor(GraphProvider graphProvider, Map<String, String> properties) {
+        this.graphProvider = graphProvider;
+        this.maxBatch = Integer.parseInt(properties.getOrDefault(MAX_BATCH, "64"));
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Long.parseLong(properties.getOrDefault(WINDOW, "1000")));
+        this.committer = Boolean.parseBoolean(properties.getOrDefault(ENABLED, "false"))
+                ? Thread.ofPlatform().daemon().name("ldbc-group-commit").start(this::commitLoop)
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return committer != null;
+    }
+
+    /**
+     * Queues {@code update} for the next batch and waits for its transaction.
+     *
+     * @return the outcome; not {@linkplain Outcome#committed() committed} if the batch failed and the update was
+     * not applied, or the executor is disabled or closed
+     */
+    public Outcome execute(FailableConsumer<GraphTraversalSource, Exception> update) throws InterruptedException {
+        var request = new Request(update, new CompletableFuture<>());
+        queue.add(request);
+        // closed is also set when the committer stops, before it drains the queue, so no request is left waiting
+        if (closed || committer == null || !committer.isAlive()) {
+            request.outcome().complete(Outcome.NOT_COMMITTED);
+        }
+        try {
+            return request.outcome().get();
+        } catch (ExecutionException e) {
+            return Outcome.NOT_COMMITTED;
+        }
+    }
+
+    private void commitLoop() {
+        var batch = new ArrayList<Request>(maxBatch);
+        boolean stopped = false;
+        try {
+            while (!stopped) {
+                Request first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    Request next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        stopped = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed = true;
+            batch.forEach(request -> request.outcome().complete(Outcome.NOT_COMMITTED));
+            queue.forEach(request -> request.outcome().complete(Outcome.NOT_COMMITTED));
+        }
+    }
+
+    private void commit(List<Request> batch) {
+        long[] executeNanos = new long[batch.size()];
+        try {
+            long start = System.nanoTime();
+            graphProvider.executeInTx(g -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    long updateStart = System.nanoTime();
+                    batch.get(i).update().accept(g);
+                    executeNanos[i] = System.nanoTime() - updateStart;
+                }
+            });
+            long transactionNanos = System.nanoTime() - start - Arrays.stream(executeNanos).sum();
+            batches.increment();
+            batchedUpdates.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).outcome().complete(new Outcome(true, executeNanos[i], transactionNanos));
+            }
+        } catch (Throwable e) {
+            // Also Errors: a caller left waiting would hang, and its update rethrows them when run alone
+            logger.debug("Group commit of {} updates failed, running them one by one", batch.size(), e);
+            failedBatches.increment();
+            batch.forEach(request -> request.outcome().complete(Outcome.NOT_COMMITTED));
+        }
+    }
+
+    /**
+     * Committed batches.
+     */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Updates committed as part of a batch.
+     */
+    public long batchedUpdates() {
+        return batchedUpdates.sum();
+    }
+
+    /**
+     * Batches that failed, each of whose updates then ran alone.
+     */
+    public long failedBatches() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * Commits the updates queued so far and stops the committer. Later updates are not committed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (committer != null) {
+            queue.add(STOP);
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.youtrackdb.ldbc.common;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Rebuilds read operations from their {@link Operation#parameterMap()}, keyed by the operation's simple class
+ * name, e.g. to replay operations captured in a log file. Dates may be given as {@link Date} or epoch millis,
+ * numbers as any {@link Number}.
+ *
+ * <p>Updates are only decoded by {@link #decodeUpdate}, for applying a recorded update stream in order such as
+ * the validation parameters. They are not replayable: an insert repeated against a loaded database only
+ * creates duplicates.
+ */
+public final class OperationCodec {
+
+    private static final Map<String, Function<Params, Operation<?>>> READS = Map.ofEntries(
+            Map.entry("LdbcQuery1", p -> new LdbcQuery1(p.id("personIdQ1"), p.string("firstName"), p.integer("limit"))),
+            Map.entry("LdbcQuery2", p -> new LdbcQuery2(p.id("personIdQ2"), p.date("maxDate"), p.integer("limit"))),
+            Map.entry("LdbcQuery3", p -> new LdbcQuery3(p.id("personIdQ3"), p.string("countryXName"),
+                    p.string("countryYName"), p.date("startDate"), p.integer("durationDays"), p.integer("limit"))),
+            Map.entry("LdbcQuery4", p -> new LdbcQuery4(p.id("personIdQ4"), p.date("startDate"),
+                    p.integer("durationDays"), p.integer("limit"))),
+            Map.entry("LdbcQuery5", p -> new LdbcQuery5(p.id("personIdQ5"), p.date("minDate"), p.integer("limit"))),
+            Map.entry("LdbcQuery6", p -> new LdbcQuery6(p.id("personIdQ6"), p.string("tagName"), p.integer("limit"))),
+            Map.entry("LdbcQuery7", p -> new LdbcQuery7(p.id("personIdQ7"), p.integer("limit"))),
+            Map.entry("LdbcQuery8", p -> new LdbcQuery8(p.id("personIdQ8"), p.integer("limit"))),
+            Map.entry("LdbcQuery9", p -> new LdbcQuery9(p.id("personIdQ9"), p.date("maxDate"), p.integer("limit"))),
+            Map.entry("LdbcQuery10", p -> new LdbcQuery10(p.id("personIdQ10"), p.integer("month"), p.integer("limit"))),
+            Map.entry("LdbcQuery11", p -> new LdbcQuery11(p.id("personIdQ11"), p.string("countryName"),
+                    p.integer("workFromYear"), p.integer("limit"))),
+            Map.entry("LdbcQuery12", p -> new LdbcQuery12(p.id("personIdQ12"), p.string("tagClassName"),
+                    p.integer("limit"))),
+            Map.entry("LdbcQuery13", p -> new LdbcQuery13(p.id("person1IdQ13StartNode"), p.id("person2IdQ13EndNode"))),
+            Map.entry("LdbcQuery14", p -> new LdbcQuery14(p.id("person1IdQ14StartNode"), p.id("person2IdQ14EndNode"))),
+            Map.entry("LdbcShortQuery1PersonProfile", p -> new LdbcShortQuery1PersonProfile(p.id("personIdSQ1"))),
+            Map.entry("LdbcShortQuery2PersonPosts", p -> new LdbcShortQuery2PersonPosts(p.id("personIdSQ2"),
+                    p.integer("limit"))),
+            Map.entry("LdbcShortQuery3PersonFriends", p -> new LdbcShortQuery3PersonFriends(p.id("personIdSQ3"))),
+            Map.entry("LdbcShortQuery4MessageContent", p -> new LdbcShortQuery4MessageContent(p.id("messageIdContent"))),
+            Map.entry("LdbcShortQuery5MessageCreator", p -> new LdbcShortQuery5MessageCreator(p.id("messageIdCreator"))),
+            Map.entry("LdbcShortQuery6MessageForum", p -> new LdbcShortQuery6MessageForum(p.id("messageForumId"))),
+            Map.entry("LdbcShortQuery7MessageReplies", p -> new LdbcShortQuery7MessageReplies(p.id("messageRepliesId")))
+    );
+
+    private static final Map<String, Function<Params, Operation<?>>> UPDATES = Map.of(
+            "LdbcUpdate1AddPerson", p -> new LdbcUpdate1AddPerson(p.id("personId"), p.string("personFirstName"),
+                    p.string("personLastName"), p.string("gender"), p.date("birthday"), p.date("creationDate"),
+                    p.string("locationIp"), p.string("browserUsed"), p.id("cityId"), p.strings("languages"),
+                    p.strings("emails"), p.ids("tagIds"), p.organizations("studyAt"), p.organizations("workAt")),
+            "LdbcUpdate2AddPostLike", p -> new LdbcUpdate2AddPostLike(p.id("personId"), p.id("postId"),
+                    p.date("creationDate")),
+            "LdbcUpdate3AddCommentLike", p -> new LdbcUpdate3AddCommentLike(p.id("personId"), p.id("commentId"),
+                    p.date("creationDate")),
+            "LdbcUpdate4AddForum", p -> new LdbcUpdate4AddForum(p.id("forumId"), p.string("forumTitle"),
+                    p.date("creationDate"), p.id("moderatorPersonId"), p.ids("tagIds")),
+            "LdbcUpdate5AddForumMembership", p -> new LdbcUpdate5AddForumMembership(p.id("forumId"),
+                    p.id("personId"), p.date("joinDate")),
+            "LdbcUpdate6AddPost", p -> new LdbcUpdate6AddPost(p.id("postId"), p.string("imageFile"),
+                    p.date("creationDate"), p.string("locationIp"), p.string("browserUsed"), p.string("language"),
+                    p.string("content"), p.integer("length"), p.id("authorPersonId"), p.id("forumId"),
+                    p.id("countryId"), p.ids("tagIds")),
+            "LdbcUpdate7AddComment", p -> new LdbcUpdate7AddComment(p.id("commentId"), p.date("creationDate"),
+                    p.string("locationIp"), p.string("browserUsed"), p.string("content"), p.integer("length"),
+                    p.id("authorPersonId"), p.id("countryId"), p.id("replyToPostId"), p.id("replyToCommentId"),
+                    p.ids("tagIds")),
+            "LdbcUpdate8AddFriendship", p -> new LdbcUpdate8AddFriendship(p.id("person1Id"), p.id("person2Id"),
+                    p.date("creationDate"))
+    );
+
+    private OperationCodec() {
+    }
+
+    public static boolean canDecode(String operationName) {
+        return READS.containsKey(operationName);
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown or update operations, or missing parameters
+     */
+    public static Operation<?> decode(String operationName, Map<String, Object> parameters) {
+        Function<Params, Operation<?>> factory = READS.get(operationName);
+        if (factory == null) {
+            throw new IllegalArgumentException("Cannot decode operation " + operationName);
+        }
+        return factory.apply(new Params(operationName, parameters));
+    }
+
+    public static boolean isUpdate(String operationName) {
+        return UPDATES.containsKey(operationName);
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown or read operations, or missing parameters
+     */
+    public static Operation<?> decodeUpdate(String operationName, Map<String, Object> parameters) {
+        Function<Params, Operation<?>> factory = UPDATES.get(operationName);
+        if (factory == null) {
+            throw new IllegalArgumentException("Cannot decode update " + operationName);
+        }
+        return factory.apply(new Params(operationName, parameters));
+    }
+
+    private record Params(String operationName, Map<String, Object> values) {
+
+        long id(String key) {
+            return ((Number) get(key)).longValue();
+        }
+
+        int integer(String key) {
+            return ((Number) get(key)).intValue();
+        }
+
+        String string(String key) {
+            return get(key).toString();
+        }
+
+        Date date(String key) {
+            Object value = get(key);
+            return value instanceof Date date ? date : new Date(((Number) value).longValue());
+        }
+
+        List<Long> ids(String key) {
+            return list(key).stream().map(value -> ((Number) value).longValue()).toList();
+        }
+
+        List<String> strings(String key) {
+            return list(key).stream().map(Object::toString).toList();
+        }
+
+        List<LdbcUpdate1AddPerson.Organization> organizations(String key) {
+            return list(key).stream()
+                    .map(value -> (Map<?, ?>) value)
+                    .map(organization -> new LdbcUpdate1AddPerson.Organization(
+                            ((Number) organization.get("organizationId")).longValue(),
+                            ((Number) organization.get("year")).intValue()))
+                    .toList();
+        }
+
+        private List<?> list(String key) {
+            return (List<?>) get(key);
+        }
+
+        private Object get(String key) {
+            Object value = values.get(key);
+            if (value == null) {
+                throw new IllegalArgumentException(operationName + " is missing parameter " + key);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.youtrackdb.ldbc.common;
+
+import org.ldbcouncil.snb.driver.DbException;
+
+/**
+ * An operation cancelled by {@link OperationTimeouts}, reported to the driver like any other failed operation
+ * but distinguishable from query errors.
+ */
+public class OperationTimeoutException extends DbException {
+
+    private final String operationName;
+    private final long timeoutMillis;
+
+    public OperationTimeoutException(String operationName, long timeoutMillis, Throwable cause) {
+        super(operationName + " timed out after " + timeoutMillis + " ms", cause);
+        this.operationName = operationName;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+}
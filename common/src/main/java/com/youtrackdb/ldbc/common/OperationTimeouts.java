@@ -0,0 +1,186 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.commons.lang3.function.FailableFunction;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.LambdaFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.util.Tokens;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Time limits for read operations. {@value #TIMEOUT} sets the default in milliseconds and
+ * {@value #TIMEOUT}{@code .<OperationName>} overrides it per operation type, e.g.
+ * {@code tinkerpop.timeout.LdbcQuery14=5000}. Operations without a positive timeout are never cancelled.
+ *
+ * <p>For {@linkplain GraphProvider#isRemote() remote} providers a limited operation is cancelled on both ends:
+ * its traversal source carries {@code evaluationTimeout}, which Gremlin Server enforces, and the calling thread
+ * is interrupted when the time is up, which stops it waiting for the server. Embedded traversals are never
+ * interrupted, since an interrupt during file I/O closes the database's channels; they check the deadline
+ * themselves instead, between their steps and on every {@code repeat()} iteration. Either way the operation
+ * fails with an {@link OperationTimeoutException}.
+ */
+public final class OperationTimeouts implements Closeable {
+
+    public static final String TIMEOUT = "tinkerpop.timeout";
+
+    private final long defaultMillis;
+    private final Map<String, Long> millis = new HashMap<>();
+    private final Map<String, LongAdder> timedOut = new ConcurrentHashMap<>();
+    private final boolean remote;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param remote whether the traversals run on a server, see {@link GraphProvider#isRemote()}
+     */
+    public OperationTimeouts(Map<String, String> properties, boolean remote) {
+        this.remote = remote;
+        this.defaultMillis = Long.parseLong(properties.getOrDefault(TIMEOUT, "0").trim());
+        String prefix = TIMEOUT + ".";
+        properties.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                millis.put(key.substring(prefix.length()), Long.parseLong(value.trim()));
+            }
+        });
+        boolean enabled = defaultMillis > 0 || millis.values().stream().anyMatch(limit -> limit > 0);
+        this.scheduler = enabled && remote
+                ? Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofPlatform().daemon().name("ldbc-timeouts").factory())
+                : null;
+    }
+
+    /**
+     * Runs {@code code} with the time limit of {@code operation}. {@code code} gets a function to apply to every
+     * traversal source it uses, which adds the server-side limit.
+     *
+     * @throws OperationTimeoutException if the limit passed before {@code code} completed
+     */
+    public <R> R run(Operation<?> operation,
+                     FailableFunction<UnaryOperator<GraphTraversalSource>, R, Exception> code) throws Exception {
+        String name = operation.getClass().getSimpleName();
+        long limit = millis.getOrDefault(name, defaultMillis);
+        if (limit <= 0) {
+            return code.apply(UnaryOperator.identity());
+        }
+
+        var deadline = new Deadline(limit);
+        try {
+            return code.apply(remote
+                    ? g -> g.with(Tokens.ARGS_EVAL_TIMEOUT, limit)
+                    : g -> g.withStrategies(new DeadlineStrategy(deadline)));
+        } catch (Exception e) {
+            if (deadline.isExpired()) {
+                timedOut.computeIfAbsent(name, key -> new LongAdder()).increment();
+                throw new OperationTimeoutException(name, limit, e);
+            }
+            throw e;
+        } finally {
+            deadline.close();
+        }
+    }
+
+    /**
+     * Number of timed-out operations per type, sorted by name.
+     */
+    public Map<String, Long> timedOut() {
+        var counts = new TreeMap<String, Long>();
+        timedOut.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Expires after the limit. For remote providers it interrupts the creating thread then, unless closed before.
+     */
+    private final class Deadline {
+        private final Thread thread = Thread.currentThread();
+        private final long expiresAt;
+        private final ScheduledFuture<?> interrupt;
+        private boolean interrupted;
+        private boolean closed;
+
+        private Deadline(long limitMillis) {
+            this.expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limitMillis);
+            this.interrupt = remote ? scheduler.schedule(this::fire, limitMillis, TimeUnit.MILLISECONDS) : null;
+        }
+
+        private synchronized void fire() {
+            if (!closed) {
+                interrupted = true;
+                thread.interrupt();
+            }
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            if (interrupt != null) {
+                interrupt.cancel(false);
+            }
+            if (interrupted) {
+                // Do not leak the interrupt to whatever the thread runs next
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Adds a deadline check after every step of the root traversal and at the start of every {@code repeat()}
+     * body, so embedded traversals stop on their own once the deadline passed.
+     */
+    private static final class DeadlineStrategy
+            extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+            implements TraversalStrategy.FinalizationStrategy {
+
+        private final Deadline deadline;
+
+        private DeadlineStrategy(Deadline deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void apply(Traversal.Admin<?, ?> traversal) {
+            if (traversal.isRoot()) {
+                for (int i = traversal.getSteps().size(); i > 0; i--) {
+                    traversal.addStep(i, check(traversal));
+                }
+            } else if (traversal.getParent() instanceof RepeatStep<?> repeat
+                    && repeat.getRepeatTraversal() == traversal) {
+                traversal.addStep(0, check(traversal));
+            }
+        }
+
+        private <S> LambdaFilterStep<S> check(Traversal.Admin<?, ?> traversal) {
+            return new LambdaFilterStep<>(traversal, traverser -> {
+                if (deadline.isExpired()) {
+                    throw new TraversalInterruptedException();
+                }
+                return true;
+            });
+        }
+    }
+}
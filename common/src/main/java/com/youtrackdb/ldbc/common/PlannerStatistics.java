@@ -0,0 +1,142 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Cheap statistics for the estimates of {@link QueryPlanner.Plan}s, and lookups the plans start from. Each is
+ * computed with a traversal on first use and cached for the rest of the run, shared by all threads; threads that
+ * need a value while another one computes it wait for that result, and compute it themselves if that fails, so
+ * that one caller's timeout never fails another. Updates during the run leave them slightly stale, which
+ * estimates tolerate. At most {@value #MAX_ENTRIES} values are cached; once full, further degrees, tags and
+ * countries are computed on every use. {@link #prime} computes the global counts up front.
+ */
+public final class PlannerStatistics {
+
+    static final int MAX_ENTRIES = 100_000;
+
+    private final Map<String, FutureTask<Object>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the persons and the mean edges per person the plans' estimates use, so that no operation pays for
+     * these scans.
+     */
+    public void prime(GraphTraversalSource g) {
+        perPerson(g, Direction.OUT, KNOWS);
+        perPerson(g, Direction.OUT, WORK_AT);
+        perPerson(g, Direction.IN, HAS_CREATOR);
+    }
+
+    /**
+     * {@code KNOWS} edges of the person.
+     */
+    public long degree(GraphTraversalSource g, long personId) {
+        return count("degree:" + personId, () -> g.V()
+                .has(PERSON, ID, personId)
+                .outE(KNOWS)
+                .count()
+                .next());
+    }
+
+    /**
+     * Estimated friends and friends of friends of the person: its degree, plus that many times the mean degree.
+     */
+    public long friendsOfFriends(GraphTraversalSource g, long personId) {
+        long degree = degree(g, personId);
+        return degree + Math.round(degree * perPerson(g, Direction.OUT, KNOWS));
+    }
+
+    /**
+     * Messages with the tag.
+     */
+    public long tagFrequency(GraphTraversalSource g, String tagName) {
+        return count("tag:" + tagName, () -> g.V()
+                .has(TAG, NAME, tagName)
+                .inE(HAS_TAG)
+                .count()
+                .next());
+    }
+
+    /**
+     * Vertex ids of the companies in the country. Starts from the organisations rather than the country, whose
+     * {@code IS_LOCATED_IN} edges are mostly from messages; companies are never added during a run.
+     */
+    public List<Object> countryCompanies(GraphTraversalSource g, String countryName) {
+        return cached("companies:" + countryName, () -> g.V()
+                .hasLabel(ORGANISATION)
+                .where(out(IS_LOCATED_IN).has(NAME, countryName))
+                .id()
+                .toList());
+    }
+
+    /**
+     * {@code WORK_AT} edges into the companies of the country, whatever the year.
+     */
+    public long countryEmployments(GraphTraversalSource g, String countryName) {
+        return count("employments:" + countryName, () -> {
+            List<Object> companies = countryCompanies(g, countryName);
+            return companies.isEmpty() ? 0L : g.V(companies.toArray()).inE(WORK_AT).count().next();
+        });
+    }
+
+    /**
+     * Mean number of {@code edgeLabel} edges in {@code direction} per person, e.g. {@code IN HAS_CREATOR} for
+     * messages. The first use scans all persons.
+     */
+    public double perPerson(GraphTraversalSource g, Direction direction, String edgeLabel) {
+        long persons = count("persons", () -> g.V().hasLabel(PERSON).count().next());
+        long edges = count("perPerson:" + direction + ":" + edgeLabel, () -> g.V()
+                .hasLabel(PERSON)
+                .toE(direction, edgeLabel)
+                .count()
+                .next());
+        return persons == 0 ? 0 : (double) edges / persons;
+    }
+
+    private long count(String key, Supplier<Long> counter) {
+        return cached(key, counter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        while (true) {
+            FutureTask<Object> task = cache.get(key);
+            boolean computed = false;
+            if (task == null) {
+                var created = new FutureTask<Object>(loader::get);
+                task = cache.size() < MAX_ENTRIES ? cache.computeIfAbsent(key, k -> created) : created;
+                if (task == created) {
+                    created.run();
+                    computed = true;
+                }
+            }
+            try {
+                return (T) task.get();
+            } catch (ExecutionException e) {
+                // Computed again on the next use
+                cache.remove(key, task);
+                if (!computed) {
+                    // Another caller's failure, e.g. its timeout or interruption: compute it with this loader
+                    continue;
+                }
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for " + key, e);
+            }
+        }
+    }
+}
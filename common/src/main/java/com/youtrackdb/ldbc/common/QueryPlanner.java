@@ -0,0 +1,215 @@
+package com.youtrackdb.ldbc.common;
+
+import com.youtrackdb.ldbc.common.metrics.PlanLog;
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.ldbcouncil.snb.driver.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses one of the alternative plans of a query per operation: the one with the smallest estimated
+ * cardinality, i.e. the fewest elements it is expected to traverse, from the cached {@link PlannerStatistics}.
+ * Ties go to the earlier plan.
+ *
+ * <p>{@value #PLAN}{@code .<OperationName>} forces a plan by name instead, e.g.
+ * {@code tinkerpop.plan.LdbcQuery6=reverse}, and nothing is estimated. A {@value #SAMPLE_RATE} fraction of
+ * operations is planned again after it completed, on a background thread in a separate transaction, with every
+ * plan estimated and the chosen plan's actual cardinality counted; the estimates and the actual value go to the
+ * {@link PlanLog}. This is not part of the reported latency but puts extra load on the database, so keep the rate
+ * low in benchmark runs. When {@value #QUEUE_CAPACITY} checks are already waiting, further samples are dropped.
+ */
+public final class QueryPlanner implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanner.class);
+
+    public static final String PLAN = "tinkerpop.plan";
+    public static final String SAMPLE_RATE = "tinkerpop.planner.sampleRate";
+
+    static final int QUEUE_CAPACITY = 256;
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    /**
+     * An alternative way to run a query.
+     */
+    public interface Plan<O extends Operation<?>> {
+
+        String name();
+
+        /**
+         * Elements the plan is expected to traverse for {@code operation}, from {@code statistics}.
+         */
+        long estimate(O operation, GraphTraversalSource g, PlannerStatistics statistics);
+
+        /**
+         * Elements the plan actually traverses for {@code operation}, counted to check {@link #estimate}.
+         */
+        long cardinality(O operation, GraphTraversalSource g, PlannerStatistics statistics);
+
+        /**
+         * The plan's traversal. {@code statistics} also caches lookups the plan starts from, e.g. vertex ids.
+         */
+        GraphTraversal<?, Map<String, Object>> traversal(O operation, GraphTraversalSource g,
+                                                         PlannerStatistics statistics);
+    }
+
+    /**
+     * The chosen plan, with the estimates of all plans by name; none if the plan was forced.
+     */
+    public record Choice<O extends Operation<?>>(Plan<O> plan, Map<String, Long> estimates,
+                                                 PlannerStatistics statistics) {
+
+        public GraphTraversal<?, Map<String, Object>> traversal(O operation, GraphTraversalSource g) {
+            return plan.traversal(operation, g, statistics);
+        }
+    }
+
+    public record Sample(String plan, Map<String, Long> estimates, long actual) {
+    }
+
+    private final Map<String, String> forced = new HashMap<>();
+    private final double sampleRate;
+    private final PlannerStatistics statistics;
+    private final PlanLog log;
+    private final ExecutorService background;
+
+    /**
+     * @param file JSON lines output of the sampled choices, created on the first sample
+     */
+    public QueryPlanner(Map<String, String> properties, Path file) {
+        this(properties, file, new PlannerStatistics());
+    }
+
+    /**
+     * @param statistics shared with other planners, e.g. the warm-up's with the measured run's
+     */
+    public QueryPlanner(Map<String, String> properties, Path file, PlannerStatistics statistics) {
+        this.statistics = statistics;
+        String prefix = PLAN + ".";
+        properties.forEach((key, value) -> {
+            if (key.startsWith(prefix) && !value.isBlank()) {
+                forced.put(key.substring(prefix.length()), value.trim());
+            }
+        });
+        this.sampleRate = Double.parseDouble(properties.getOrDefault(SAMPLE_RATE, "0"));
+        this.log = new PlanLog(file);
+        this.background = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                Thread.ofPlatform().daemon().name("query-planner").factory(),
+                (runnable, executor) -> logger.debug("Plan check queue is full, dropping a sample"));
+    }
+
+    public PlannerStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Whether {@value #PLAN}{@code .<operationName>} forces a plan, so that operations estimate none.
+     */
+    public boolean isForced(String operationName) {
+        return forced.containsKey(operationName);
+    }
+
+    /**
+     * Picks the forced plan, or else estimates every plan and picks the cheapest.
+     *
+     * @throws IllegalArgumentException if the forced plan is none of {@code plans}
+     */
+    public <O extends Operation<?>> Choice<O> choose(O operation, GraphTraversalSource g,
+                                                     List<? extends Plan<O>> plans) {
+        return choose(operation, g, plans, false);
+    }
+
+    /**
+     * Chooses like {@link #choose} but estimates every plan even if one is forced, and counts the chosen plan's
+     * actual cardinality.
+     */
+    public <O extends Operation<?>> Sample measure(O operation, GraphTraversalSource g,
+                                                   List<? extends Plan<O>> plans) {
+        Choice<O> choice = choose(operation, g, plans, true);
+        return new Sample(choice.plan().name(), choice.estimates(),
+                choice.plan().cardinality(operation, g, statistics));
+    }
+
+    private <O extends Operation<?>> Choice<O> choose(O operation, GraphTraversalSource g,
+                                                      List<? extends Plan<O>> plans, boolean estimateAll) {
+        String name = operation.getClass().getSimpleName();
+        String forcedPlan = forced.get(name);
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        Plan<O> chosen = null;
+        long chosenEstimate = Long.MAX_VALUE;
+        for (Plan<O> plan : plans) {
+            if (forcedPlan != null && !estimateAll) {
+                if (plan.name().equals(forcedPlan)) {
+                    return new Choice<>(plan, Map.of(), statistics);
+                }
+                continue;
+            }
+            long estimate = plan.estimate(operation, g, statistics);
+            estimates.put(plan.name(), estimate);
+            if (forcedPlan != null ? plan.name().equals(forcedPlan) : chosen == null || estimate < chosenEstimate) {
+                chosen = plan;
+                chosenEstimate = estimate;
+            }
+        }
+        if (chosen == null) {
+            throw new IllegalArgumentException("Unknown plan '" + forcedPlan + "' for " + name + ", expected one of "
+                    + plans.stream().map(Plan::name).toList());
+        }
+        return new Choice<>(chosen, estimates, statistics);
+    }
+
+    /**
+     * Decides whether the current operation's choice is checked.
+     */
+    public boolean sample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Queues {@code measured}, normally {@link #measure} in a transaction, to run on the background thread and log
+     * the sample. Failures are logged and never fail the operation itself.
+     */
+    public void check(Operation<?> operation, FailableSupplier<Sample, Exception> measured) {
+        background.execute(() -> {
+            try {
+                Sample sample = measured.get();
+                log.record(operation, sample.plan(), sample.estimates(), sample.actual());
+            } catch (Exception e) {
+                logger.warn("Failed to check the plan of {}", operation.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    /**
+     * Waits for the queued checks and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            if (!background.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Queued plan checks did not finish within {}s", CLOSE_TIMEOUT_SECONDS);
+                background.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            background.shutdownNow();
+        }
+        log.close();
+    }
+}
@@ -0,0 +1,144 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.commons.lang3.function.FailableRunnable;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Retries update transactions that failed on a conflict with a concurrent transaction, as classified by
+ * {@link GraphProvider#isRetryable(Throwable)}, with jittered exponential backoff.
+ *
+ * <p>An operation makes at most {@value #MAX_ATTEMPTS} attempts (default 5). Before retry {@code n} it sleeps a
+ * random time of up to {@code min(maxDelayMillis, baseDelayMillis * 2^n)} ms (defaults 500 and 5, see
+ * {@link #MAX_DELAY} and {@link #BASE_DELAY}). Retries also draw from a budget shared by all operations: every
+ * operation adds {@value #BUDGET} tokens (default 0.2) and every retry takes one, so under a conflict storm at
+ * most that share of extra transactions is attempted instead of multiplying the load.
+ */
+public final class RetryPolicy {
+
+    public static final String MAX_ATTEMPTS = "tinkerpop.retry.maxAttempts";
+    public static final String BASE_DELAY = "tinkerpop.retry.baseDelayMillis";
+    public static final String MAX_DELAY = "tinkerpop.retry.maxDelayMillis";
+    public static final String BUDGET = "tinkerpop.retry.budget";
+
+    // Budget tokens are kept in thousandths; the reserve lets the first conflicts retry before any deposits
+    private static final long TOKEN = 1000;
+    private static final long RESERVE = 10 * TOKEN;
+    private static final long MAX_TOKENS = 1000 * TOKEN;
+
+    private final Predicate<Throwable> retryable;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long deposit;
+    private final AtomicLong tokens = new AtomicLong(RESERVE);
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public RetryPolicy(Map<String, String> properties, Predicate<Throwable> retryable) {
+        this.retryable = retryable;
+        this.maxAttempts = Integer.parseInt(properties.getOrDefault(MAX_ATTEMPTS, "5"));
+        this.baseDelayMillis = Long.parseLong(properties.getOrDefault(BASE_DELAY, "5"));
+        this.maxDelayMillis = Long.parseLong(properties.getOrDefault(MAX_DELAY, "500"));
+        this.deposit = Math.round(Double.parseDouble(properties.getOrDefault(BUDGET, "0.2")) * TOKEN);
+    }
+
+    /**
+     * Runs {@code transaction} until it succeeds, fails with a non-retryable error, or runs out of attempts or
+     * budget; in the last two cases the last conflict is thrown.
+     */
+    public void run(Operation<?> operation, FailableRunnable<Exception> transaction) throws Exception {
+        Stats operationStats = stats.computeIfAbsent(operation.getClass().getSimpleName(), name -> new Stats());
+        operationStats.operations.increment();
+        tokens.getAndUpdate(current -> Math.min(MAX_TOKENS, current + deposit));
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.run();
+                if (attempt > 1) {
+                    operationStats.recovered.increment();
+                }
+                return;
+            } catch (Exception e) {
+                if (!retryable.test(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts || !withdraw()) {
+                    operationStats.exhausted.increment();
+                    throw e;
+                }
+                operationStats.retries.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    private boolean withdraw() {
+        long before = tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current);
+        return before >= TOKEN;
+    }
+
+    long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Retry counts per operation type, sorted by name.
+     */
+    public Map<String, Stats> stats() {
+        return new TreeMap<>(stats);
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        var csv = new StringBuilder(1024);
+        csv.append("operation,count,retries,recovered,exhausted\n");
+        stats().forEach((operation, operationStats) -> csv.append(operation)
+                .append(',').append(operationStats.operations())
+                .append(',').append(operationStats.retries())
+                .append(',').append(operationStats.recovered())
+                .append(',').append(operationStats.exhausted())
+                .append('\n'));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    /**
+     * Operations run, retries made, operations that succeeded after a retry, and operations that failed on a
+     * conflict with no attempts or budget left.
+     */
+    public static final class Stats {
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+        public long operations() {
+            return operations.sum();
+        }
+
+        public long retries() {
+            return retries.sum();
+        }
+
+        public long recovered() {
+            return recovered.sum();
+        }
+
+        public long exhausted() {
+            return exhausted.sum();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.youtrackdb.ldbc.common;
+
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the complex read operations from the LDBC SNB Interactive substitution parameter files
+ * ({@code interactive_<n>_param.txt} in {@code ldbc.snb.interactive.parameters_dir}), with the same limits
+ * the driver uses. Dates are expected as epoch millis, as written with the long date formatter.
+ */
+public final class SubstitutionParameters {
+
+    private record QueryFile(String operation, String file, int limit, Map<String, String> renames) {
+    }
+
+    private static final Map<String, QueryFile> QUERIES = new HashMap<>();
+
+    static {
+        register(1, 20);
+        register(2, 20);
+        register(3, 20);
+        register(4, 10);
+        register(5, 20);
+        register(6, 10);
+        register(7, 20);
+        register(8, 20);
+        register(9, 20);
+        register(10, 10);
+        register(11, 10);
+        register(12, 20);
+        QUERIES.put("LdbcQuery13", new QueryFile("LdbcQuery13", "interactive_13_param.txt", 0,
+                Map.of("person1Id", "person1IdQ13StartNode", "person2Id", "person2IdQ13EndNode")));
+        QUERIES.put("LdbcQuery14", new QueryFile("LdbcQuery14", "interactive_14_param.txt", 0,
+                Map.of("person1Id", "person1IdQ14StartNode", "person2Id", "person2IdQ14EndNode")));
+    }
+
+    private SubstitutionParameters() {
+    }
+
+    private static void register(int query, int limit) {
+        String operation = "LdbcQuery" + query;
+        QUERIES.put(operation, new QueryFile(operation, "interactive_" + query + "_param.txt", limit,
+                Map.of("personId", "personIdQ" + query)));
+    }
+
+    public static boolean supports(String operationName) {
+        return QUERIES.containsKey(operationName);
+    }
+
+    /**
+     * All operations of {@code operationName} in file order, or an empty list if its file does not exist.
+     *
+     * @throws IllegalArgumentException if the operation has no substitution parameters (updates, short reads)
+     */
+    public static List<Operation<?>> read(Path parametersDir, String operationName) throws IOException {
+        QueryFile query = QUERIES.get(operationName);
+        if (query == null) {
+            throw new IllegalArgumentException("No substitution parameters for " + operationName);
+        }
+        Path file = parametersDir.resolve(query.file());
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        String[] header = lines.get(0).split("\\|");
+        var operations = new ArrayList<Operation<?>>(lines.size() - 1);
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] values = line.split("\\|", -1);
+            var parameters = new HashMap<String, Object>();
+            for (int i = 0; i < header.length && i < values.length; i++) {
+                parameters.put(query.renames().getOrDefault(header[i], header[i]), parse(values[i]));
+            }
+            parameters.put("limit", query.limit());
+            operations.add(OperationCodec.decode(operationName, parameters));
+        }
+        return operations;
+    }
+
+    private static Object parse(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+}
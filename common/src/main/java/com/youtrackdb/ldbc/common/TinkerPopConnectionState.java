@@ -1,26 +1,134 @@
 package com.youtrackdb.ldbc.common;
 
+import com.youtrackdb.ldbc.common.metrics.OperationMetrics;
+import com.youtrackdb.ldbc.common.metrics.PlanLog;
+import com.youtrackdb.ldbc.common.metrics.SlowOperationLog;
+import com.youtrackdb.ldbc.common.metrics.TraversalProfiler;
 import org.apache.commons.lang3.function.FailableConsumer;
 import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.DbConnectionState;
+import org.ldbcouncil.snb.driver.Operation;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 
 public class TinkerPopConnectionState extends DbConnectionState {
     private final GraphProvider graphProvider;
+    private final boolean closesGraphProvider;
     private final Map<String, String> properties;
+    private final Path resultsDir;
+    private final OperationMetrics metrics = new OperationMetrics();
+    private final TraversalProfiler profiler;
+    private final SlowOperationLog slowLog;
+    private final OperationTimeouts timeouts;
+    private final RetryPolicy retryPolicy;
+    private final GroupCommitExecutor groupCommit;
+    private final QueryPlanner planner;
+    private final FriendListCache friendLists;
 
     public TinkerPopConnectionState(GraphProvider graphProvider, Map<String, String> properties) {
+        this(graphProvider, properties, true);
+    }
+
+    /**
+     * @param closesGraphProvider whether {@link #close} closes {@code graphProvider} too; {@code false} for a
+     *                            state that borrows the provider of another one
+     */
+    public TinkerPopConnectionState(GraphProvider graphProvider, Map<String, String> properties,
+                                    boolean closesGraphProvider) {
+        this(graphProvider, properties, closesGraphProvider, new PlannerStatistics());
+    }
+
+    /**
+     * @param statistics of the planner, shared with another state on the same {@code graphProvider}
+     */
+    public TinkerPopConnectionState(GraphProvider graphProvider, Map<String, String> properties,
+                                    boolean closesGraphProvider, PlannerStatistics statistics) {
         this.graphProvider = graphProvider;
+        this.closesGraphProvider = closesGraphProvider;
         this.properties = properties;
+        this.resultsDir = Path.of(properties.getOrDefault("results_dir", "results"));
+        this.profiler = new TraversalProfiler(
+                Double.parseDouble(properties.getOrDefault(TraversalProfiler.SAMPLE_RATE, "0")),
+                resultsDir.resolve(TraversalProfiler.PROFILES_FILE));
+        this.slowLog = new SlowOperationLog(properties, resultsDir.resolve(SlowOperationLog.SLOW_OPERATIONS_FILE));
+        this.timeouts = new OperationTimeouts(properties, graphProvider != null && graphProvider.isRemote());
+        this.retryPolicy = new RetryPolicy(properties,
+                failure -> graphProvider != null && graphProvider.isRetryable(failure));
+        this.groupCommit = new GroupCommitExecutor(graphProvider, properties);
+        this.planner = new QueryPlanner(properties, resultsDir.resolve(PlanLog.PLANS_FILE), statistics);
+        this.friendLists = new FriendListCache(properties);
     }
 
     public Map<String, String> getProperties() {
         return properties;
     }
 
+    /**
+     * Phase latencies recorded by the operation handlers.
+     */
+    public OperationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Samples read operations for {@code profile()} runs, see {@link TraversalProfiler#SAMPLE_RATE}.
+     */
+    public TraversalProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Operations slower than {@link SlowOperationLog#THRESHOLD}, with their parameters.
+     */
+    public SlowOperationLog getSlowLog() {
+        return slowLog;
+    }
+
+    /**
+     * Per-type time limits of read operations, see {@link OperationTimeouts#TIMEOUT}.
+     */
+    public OperationTimeouts getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Retries of conflicting update transactions, see {@link RetryPolicy}.
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Batches updates of all threads into shared transactions when {@link GroupCommitExecutor#ENABLED} is set.
+     */
+    public GroupCommitExecutor getGroupCommit() {
+        return groupCommit;
+    }
+
+    /**
+     * Chooses between the alternative plans of the queries that have them, see {@link QueryPlanner}.
+     */
+    public QueryPlanner getPlanner() {
+        return planner;
+    }
+
+    /**
+     * IS3 results kept up to date by the updates, when {@link FriendListCache#SIZE} is set.
+     */
+    public FriendListCache getFriendLists() {
+        return friendLists;
+    }
+
+    /**
+     * The driver's {@code results_dir}, where the metrics files are written.
+     */
+    public Path getResultsDir() {
+        return resultsDir;
+    }
+
     /**
      * Executes code within a transaction with automatic commit/rollback.
      * Use this for update operations that modify the graph.
@@ -47,9 +155,24 @@ public class TinkerPopConnectionState extends DbConnectionState {
         return graphProvider.computeInTx(code);
     }
 
+    /**
+     * Like {@link #computeInTx(FailableFunction)}, cancelled once the timeout of {@code operation} passes.
+     *
+     * @throws OperationTimeoutException if the operation timed out
+     */
+    public <E extends Exception, R> R computeInTx(Operation<?> operation,
+                                                  FailableFunction<GraphTraversalSource, R, E> code) throws Exception {
+        return timeouts.run(operation, limit -> graphProvider.computeInTx(g -> code.apply(limit.apply(g))));
+    }
+
     @Override
     public void close() throws IOException {
-        if (graphProvider != null) {
+        groupCommit.close();
+        timeouts.close();
+        profiler.close();
+        slowLog.close();
+        planner.close();
+        if (graphProvider != null && closesGraphProvider) {
             graphProvider.close();
         }
     }
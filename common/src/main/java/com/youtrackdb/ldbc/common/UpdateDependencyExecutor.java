@@ -0,0 +1,184 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.commons.lang3.function.FailableConsumer;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies an update stream on several threads while keeping its causal order: an update waits only for the
+ * earlier updates that create an entity it references, everything else runs concurrently.
+ *
+ * <p>Persons (U1), forums (U4), posts (U6) and comments (U7) are created by the stream. Likes (U2, U3),
+ * memberships (U5), friendships (U8), forums, posts and comments reference persons, forums and messages. An
+ * entity that no pending update creates is taken to exist, either in the initial snapshot or committed already.
+ * If a creating update fails, the updates depending on it are skipped rather than failing on a missing vertex.
+ *
+ * <p>Updates must be {@linkplain #submit submitted} in stream order from one thread.
+ */
+public final class UpdateDependencyExecutor implements AutoCloseable {
+
+    private static final int PERSON = 0;
+    private static final int FORUM = 1;
+    private static final int MESSAGE = 2;
+
+    private final FailableConsumer<Operation<?>, Exception> apply;
+    private final ExecutorService pool;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    // Entity key -> the still running or failed update that creates it
+    private final Map<Long, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder held = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+
+    /**
+     * @param threads     updates applied concurrently
+     * @param maxInFlight submitted updates not yet finished, including held ones, before {@link #submit} blocks
+     * @param apply       applies one update in its own transaction, e.g. through its operation handler
+     */
+    public UpdateDependencyExecutor(int threads, int maxInFlight, FailableConsumer<Operation<?>, Exception> apply) {
+        this.apply = apply;
+        this.pool = Executors.newFixedThreadPool(threads);
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Schedules {@code update} once the updates creating what it references have committed.
+     */
+    public void submit(Operation<?> update) throws InterruptedException {
+        inFlight.acquire();
+        submitted.increment();
+
+        List<CompletableFuture<Void>> prerequisites = new ArrayList<>(2);
+        for (long key : references(update)) {
+            CompletableFuture<Void> creator = pending.get(key);
+            if (creator != null) {
+                prerequisites.add(creator);
+            }
+        }
+        CompletableFuture<Void> ready;
+        if (prerequisites.isEmpty()) {
+            ready = CompletableFuture.completedFuture(null);
+        } else {
+            held.increment();
+            ready = CompletableFuture.allOf(prerequisites.toArray(CompletableFuture[]::new));
+        }
+
+        // Not run if a prerequisite failed
+        CompletableFuture<Void> done = ready.thenRunAsync(() -> run(update), pool);
+        long[] created = creates(update);
+        for (long key : created) {
+            pending.put(key, done);
+        }
+        // Registered after the puts, so the removal cannot happen before them. Failed creations stay, so later
+        // updates referencing them are skipped too
+        done.whenComplete((result, error) -> {
+            if (error == null) {
+                for (long key : created) {
+                    pending.remove(key, done);
+                }
+            }
+            finished.increment();
+            inFlight.release();
+        });
+    }
+
+    private void run(Operation<?> update) {
+        try {
+            apply.accept(update);
+            applied.increment();
+        } catch (Exception e) {
+            failed.increment();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Waits until every submitted update has finished or was skipped.
+     */
+    public void awaitCompletion() throws InterruptedException {
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    public long submitted() {
+        return submitted.sum();
+    }
+
+    public long applied() {
+        return applied.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Updates skipped because an update they depend on failed.
+     */
+    public long skipped() {
+        return finished.sum() - applied() - failed();
+    }
+
+    /**
+     * Updates that had to wait for a prerequisite.
+     */
+    public long held() {
+        return held.sum();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    static long[] creates(Operation<?> update) {
+        return switch (update) {
+            case LdbcUpdate1AddPerson u -> keys(PERSON, u.getPersonId());
+            case LdbcUpdate4AddForum u -> keys(FORUM, u.getForumId());
+            case LdbcUpdate6AddPost u -> keys(MESSAGE, u.getPostId());
+            case LdbcUpdate7AddComment u -> keys(MESSAGE, u.getCommentId());
+            default -> new long[0];
+        };
+    }
+
+    static long[] references(Operation<?> update) {
+        return switch (update) {
+            case LdbcUpdate2AddPostLike u -> new long[] {key(PERSON, u.getPersonId()), key(MESSAGE, u.getPostId())};
+            case LdbcUpdate3AddCommentLike u ->
+                    new long[] {key(PERSON, u.getPersonId()), key(MESSAGE, u.getCommentId())};
+            case LdbcUpdate4AddForum u -> keys(PERSON, u.getModeratorPersonId());
+            case LdbcUpdate5AddForumMembership u ->
+                    new long[] {key(FORUM, u.getForumId()), key(PERSON, u.getPersonId())};
+            case LdbcUpdate6AddPost u -> new long[] {key(PERSON, u.getAuthorPersonId()), key(FORUM, u.getForumId())};
+            case LdbcUpdate7AddComment u -> new long[] {key(PERSON, u.getAuthorPersonId()),
+                    key(MESSAGE, u.getReplyToPostId() >= 0 ? u.getReplyToPostId() : u.getReplyToCommentId())};
+            case LdbcUpdate8AddFriendship u ->
+                    new long[] {key(PERSON, u.getPerson1Id()), key(PERSON, u.getPerson2Id())};
+            default -> new long[0];
+        };
+    }
+
+    private static long[] keys(int kind, long id) {
+        return new long[] {key(kind, id)};
+    }
+
+    // LDBC ids are far below 2^61, so the kind fits in the low bits
+    private static long key(int kind, long id) {
+        return id << 2 | kind;
+    }
+}
@@ -0,0 +1,185 @@
+package com.youtrackdb.ldbc.common;
+
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Reads the update operations of the LDBC SNB Interactive update streams
+ * ({@code updateStream_*_{person,forum}.csv} in {@code ldbc.snb.interactive.updates_dir}) in scheduled start time
+ * order, merging all stream files. Lines are {@code scheduledStartTime|dependencyTime|type|parameters...} with
+ * epoch millis dates, lists separated by {@code ;} and organizations as {@code id,year}.
+ */
+public final class UpdateStreams implements Closeable {
+
+    private static final String[][] COLUMNS = {
+            {},
+            {"personId", "personFirstName", "personLastName", "gender", "birthday", "creationDate", "locationIp",
+                    "browserUsed", "cityId", "languages", "emails", "tagIds", "studyAt", "workAt"},
+            {"personId", "postId", "creationDate"},
+            {"personId", "commentId", "creationDate"},
+            {"forumId", "forumTitle", "creationDate", "moderatorPersonId", "tagIds"},
+            {"forumId", "personId", "joinDate"},
+            {"postId", "imageFile", "creationDate", "locationIp", "browserUsed", "language", "content", "length",
+                    "authorPersonId", "forumId", "countryId", "tagIds"},
+            {"commentId", "creationDate", "locationIp", "browserUsed", "content", "length", "authorPersonId",
+                    "countryId", "replyToPostId", "replyToCommentId", "tagIds"},
+            {"person1Id", "person2Id", "creationDate"}
+    };
+    private static final String[] OPERATIONS = {"", "LdbcUpdate1AddPerson", "LdbcUpdate2AddPostLike",
+            "LdbcUpdate3AddCommentLike", "LdbcUpdate4AddForum", "LdbcUpdate5AddForumMembership", "LdbcUpdate6AddPost",
+            "LdbcUpdate7AddComment", "LdbcUpdate8AddFriendship"};
+    private static final Set<String> STRINGS = Set.of("personFirstName", "personLastName", "gender", "locationIp",
+            "browserUsed", "forumTitle", "imageFile", "language", "content");
+    private static final Set<String> STRING_LISTS = Set.of("languages", "emails");
+    private static final Set<String> ID_LISTS = Set.of("tagIds");
+    private static final Set<String> ORGANIZATIONS = Set.of("studyAt", "workAt");
+
+    private record Head(long scheduledStartTime, Operation<?> operation, StreamFile stream) {
+    }
+
+    private final class StreamFile {
+        private final Path file;
+        private final BufferedReader reader;
+        private int line;
+
+        private StreamFile(Path file) throws IOException {
+            this.file = file;
+            this.reader = Files.newBufferedReader(file);
+        }
+
+        private Head next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    try {
+                        String[] fields = text.split("\\|", -1);
+                        return new Head(Long.parseLong(fields[0]), parse(fields), this);
+                    } catch (RuntimeException e) {
+                        throw new IllegalArgumentException(file + ":" + line + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private final List<StreamFile> streams = new ArrayList<>();
+    private final PriorityQueue<Head> heads = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.scheduledStartTime(), b.scheduledStartTime()));
+
+    /**
+     * Opens all update stream files in {@code updatesDir}.
+     *
+     * @throws IllegalArgumentException if there are none
+     */
+    public UpdateStreams(Path updatesDir) throws IOException {
+        List<Path> files;
+        try (var list = Files.list(updatesDir)) {
+            files = list.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith("updateStream_")
+                        && (name.endsWith("_person.csv") || name.endsWith("_forum.csv"));
+            }).sorted().toList();
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No updateStream_*_{person,forum}.csv files in " + updatesDir);
+        }
+        try {
+            for (Path file : files) {
+                var stream = new StreamFile(file);
+                streams.add(stream);
+                Head head = stream.next();
+                if (head != null) {
+                    heads.add(head);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * The next update in scheduled start time order, or {@code null} after the last one.
+     */
+    public Operation<?> next() throws IOException {
+        Head head = heads.poll();
+        if (head == null) {
+            return null;
+        }
+        Head following = head.stream().next();
+        if (following != null) {
+            heads.add(following);
+        }
+        return head.operation();
+    }
+
+    static Operation<?> parse(String[] fields) {
+        int type = Integer.parseInt(fields[2]);
+        if (type < 1 || type >= COLUMNS.length) {
+            throw new IllegalArgumentException("Unknown update type " + type);
+        }
+        String[] columns = COLUMNS[type];
+        if (fields.length - 3 < columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " parameters for update " + type
+                    + ", got " + (fields.length - 3));
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            parameters.put(columns[i], value(columns[i], fields[i + 3]));
+        }
+        return OperationCodec.decodeUpdate(OPERATIONS[type], parameters);
+    }
+
+    private static Object value(String column, String text) {
+        if (STRINGS.contains(column)) {
+            return text;
+        }
+        if (STRING_LISTS.contains(column)) {
+            return list(text);
+        }
+        if (ID_LISTS.contains(column)) {
+            return list(text).stream().map(Long::parseLong).toList();
+        }
+        if (ORGANIZATIONS.contains(column)) {
+            return list(text).stream().map(organization -> {
+                String[] parts = organization.split(",");
+                return Map.of("organizationId", Long.parseLong(parts[0]), "year", Integer.parseInt(parts[1]));
+            }).toList();
+        }
+        return Long.parseLong(text);
+    }
+
+    private static List<String> list(String text) {
+        return text.isEmpty() ? List.of() : Arrays.asList(text.split(";"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (StreamFile stream : streams) {
+            try {
+                stream.reader.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.youtrackdb.ldbc.common;
+
+import com.youtrackdb.ldbc.common.metrics.Json;
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a validation parameters file as written by the driver's {@code create_validation} mode: one operation
+ * per line, its parameters as a JSON object, a {@code |}, and the expected result as JSON. Lines are in stream
+ * order, updates followed by the short reads that check them.
+ *
+ * <p>The file does not name the operation type; like the driver, it is deduced from the parameter names.
+ */
+public final class ValidationParameters {
+
+    /**
+     * One operation with its expected result, still serialized for {@link Operation#deserializeResult}.
+     */
+    public record Entry(int line, String operationName, Operation<?> operation, String expectedResult) {
+
+        public boolean isUpdate() {
+            return OperationCodec.isUpdate(operationName);
+        }
+    }
+
+    // Checked in order: the first parameter name present decides. Updates that share names with others
+    // (personId, postId, commentId) come after the ones with a unique name.
+    private static final Map<String, String> DISTINGUISHING_PARAMETERS = new LinkedHashMap<>();
+
+    static {
+        for (int query = 1; query <= 12; query++) {
+            DISTINGUISHING_PARAMETERS.put("personIdQ" + query, "LdbcQuery" + query);
+        }
+        DISTINGUISHING_PARAMETERS.put("person1IdQ13StartNode", "LdbcQuery13");
+        DISTINGUISHING_PARAMETERS.put("person1IdQ14StartNode", "LdbcQuery14");
+        DISTINGUISHING_PARAMETERS.put("personIdSQ1", "LdbcShortQuery1PersonProfile");
+        DISTINGUISHING_PARAMETERS.put("personIdSQ2", "LdbcShortQuery2PersonPosts");
+        DISTINGUISHING_PARAMETERS.put("personIdSQ3", "LdbcShortQuery3PersonFriends");
+        DISTINGUISHING_PARAMETERS.put("messageIdContent", "LdbcShortQuery4MessageContent");
+        DISTINGUISHING_PARAMETERS.put("messageIdCreator", "LdbcShortQuery5MessageCreator");
+        DISTINGUISHING_PARAMETERS.put("messageForumId", "LdbcShortQuery6MessageForum");
+        DISTINGUISHING_PARAMETERS.put("messageRepliesId", "LdbcShortQuery7MessageReplies");
+        DISTINGUISHING_PARAMETERS.put("personFirstName", "LdbcUpdate1AddPerson");
+        DISTINGUISHING_PARAMETERS.put("forumTitle", "LdbcUpdate4AddForum");
+        DISTINGUISHING_PARAMETERS.put("joinDate", "LdbcUpdate5AddForumMembership");
+        DISTINGUISHING_PARAMETERS.put("imageFile", "LdbcUpdate6AddPost");
+        DISTINGUISHING_PARAMETERS.put("replyToPostId", "LdbcUpdate7AddComment");
+        DISTINGUISHING_PARAMETERS.put("person1Id", "LdbcUpdate8AddFriendship");
+        DISTINGUISHING_PARAMETERS.put("postId", "LdbcUpdate2AddPostLike");
+        DISTINGUISHING_PARAMETERS.put("commentId", "LdbcUpdate3AddCommentLike");
+    }
+
+    private ValidationParameters() {
+    }
+
+    /**
+     * All entries of {@code file} in file order.
+     *
+     * @throws IllegalArgumentException if a line cannot be parsed or its operation type is unknown
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        var entries = new ArrayList<Entry>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    entries.add(parse(lineNumber, line));
+                }
+            }
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Entry parse(int lineNumber, String line) {
+        // Strings in the parameters are JSON-escaped, so the first | outside of one separates the columns
+        int separator = separator(line);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": no expected result");
+        }
+        Map<String, Object> parameters;
+        try {
+            parameters = (Map<String, Object>) Json.parse(line.substring(0, separator));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+        String name = operationName(parameters);
+        if (name == null) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": unknown operation " + parameters.keySet());
+        }
+        Operation<?> operation = OperationCodec.isUpdate(name)
+                ? OperationCodec.decodeUpdate(name, parameters)
+                : OperationCodec.decode(name, parameters);
+        return new Entry(lineNumber, name, operation, line.substring(separator + 1));
+    }
+
+    /**
+     * The simple class name of the operation with these parameters, or {@code null} if none matches.
+     */
+    static String operationName(Map<String, Object> parameters) {
+        for (Map.Entry<String, String> candidate : DISTINGUISHING_PARAMETERS.entrySet()) {
+            if (parameters.containsKey(candidate.getKey())) {
+                return candidate.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static int separator(String line) {
+        boolean inString = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '|') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
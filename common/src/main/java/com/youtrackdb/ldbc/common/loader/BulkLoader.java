@@ -0,0 +1,303 @@
+package com.youtrackdb.ldbc.common.loader;
+
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.loader.CsvProcessor;
+import com.youtrackdb.ldbc.loader.gremlin.EdgeRow;
+import org.apache.commons.lang3.function.FailableRunnable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+import static com.youtrackdb.ldbc.loader.EntityRecords.*;
+import static com.youtrackdb.ldbc.loader.gremlin.GremlinInserts.chunks;
+import static com.youtrackdb.ldbc.loader.gremlin.GremlinInserts.row;
+
+/**
+ * Vendor-agnostic LDBC SNB CSV loader that writes through {@link GraphProvider}.
+ *
+ * <p>CSV blocks are parsed in parallel by {@link CsvProcessor}. Every {@code batchSize} rows are committed
+ * in one transaction, and inside it the rows go to {@link LoaderHooks} in chunks of {@code chunkSize}.
+ * All vertex files are loaded before any edge file, so hooks can defer index maintenance in between.
+ */
+public class BulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoader.class);
+
+    private final GraphProvider graphProvider;
+    private final LoaderHooks hooks;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int parserThreads;
+
+    private final Map<String, Long> loaded = new LinkedHashMap<>();
+
+    public BulkLoader(GraphProvider graphProvider, LoaderHooks hooks, int batchSize, int chunkSize, int parserThreads) {
+        this.graphProvider = graphProvider;
+        this.hooks = hooks;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.parserThreads = parserThreads;
+    }
+
+    /**
+     * Loads the dataset and returns the number of rows loaded per CSV file.
+     */
+    public Map<String, Long> loadAll(Path datasetRoot) throws Exception {
+        log.info("Starting LDBC SNB data load from: {}", datasetRoot);
+
+        Path staticDir = datasetRoot.resolve("static");
+        Path dynamicDir = datasetRoot.resolve("dynamic");
+
+        if (!Files.exists(staticDir) || !Files.exists(dynamicDir)) {
+            throw new IllegalArgumentException(
+                    "Dataset directory must contain static/ and dynamic/ subdirectories");
+        }
+
+        long startTime = System.currentTimeMillis();
+        loaded.clear();
+
+        try (ExecutorService parsers = Executors.newFixedThreadPool(parserThreads)) {
+            hooks.beforeLoad(graphProvider);
+
+            log.info("Loading vertices...");
+            loadVertices(parsers, staticDir.resolve("place_0_0.csv"), PLACE, Place::parse,
+                    place -> row(ID, place.id(), NAME, place.name(), URL, place.url(), TYPE, place.type()));
+            loadVertices(parsers, staticDir.resolve("organisation_0_0.csv"), ORGANISATION, Organisation::parse,
+                    org -> row(ID, org.id(), TYPE, org.type(), NAME, org.name(), URL, org.url()));
+            loadVertices(parsers, staticDir.resolve("tagclass_0_0.csv"), TAG_CLASS, TagClass::parse,
+                    tagClass -> row(ID, tagClass.id(), NAME, tagClass.name(), URL, tagClass.url()));
+            loadVertices(parsers, staticDir.resolve("tag_0_0.csv"), TAG, Tag::parse,
+                    tag -> row(ID, tag.id(), NAME, tag.name(), URL, tag.url()));
+            loadVertices(parsers, dynamicDir.resolve("person_0_0.csv"), PERSON, Person::parse,
+                    person -> row(
+                            ID, person.id(),
+                            FIRST_NAME, person.firstName(),
+                            LAST_NAME, person.lastName(),
+                            GENDER, person.gender(),
+                            BIRTHDAY, person.birthday(),
+                            CREATION_DATE, person.creationDate(),
+                            LOCATION_IP, person.locationIP(),
+                            BROWSER_USED, person.browserUsed(),
+                            LANGUAGES, person.languages(),
+                            EMAILS, person.emails()));
+            loadVertices(parsers, dynamicDir.resolve("forum_0_0.csv"), FORUM, Forum::parse,
+                    forum -> row(ID, forum.id(), TITLE, forum.title(), CREATION_DATE, forum.creationDate()));
+            loadVertices(parsers, dynamicDir.resolve("post_0_0.csv"), POST, Post::parse,
+                    post -> row(
+                            ID, post.id(),
+                            IMAGE_FILE, post.imageFile(),
+                            CREATION_DATE, post.creationDate(),
+                            LOCATION_IP, post.locationIP(),
+                            BROWSER_USED, post.browserUsed(),
+                            LANGUAGE, post.language(),
+                            CONTENT, post.content(),
+                            LENGTH, post.length()));
+            loadVertices(parsers, dynamicDir.resolve("comment_0_0.csv"), COMMENT, Comment::parse,
+                    comment -> row(
+                            ID, comment.id(),
+                            CREATION_DATE, comment.creationDate(),
+                            LOCATION_IP, comment.locationIP(),
+                            BROWSER_USED, comment.browserUsed(),
+                            CONTENT, comment.content(),
+                            LENGTH, comment.length()));
+
+            hooks.afterVertices(graphProvider);
+
+            log.info("Loading edges...");
+            loadSimpleEdges(parsers, staticDir.resolve("place_isPartOf_place_0_0.csv"), IS_PART_OF, PLACE, PLACE);
+            loadSimpleEdges(parsers, staticDir.resolve("organisation_isLocatedIn_place_0_0.csv"), IS_LOCATED_IN, ORGANISATION, PLACE);
+            loadSimpleEdges(parsers, staticDir.resolve("tagclass_isSubclassOf_tagclass_0_0.csv"), IS_SUBCLASS_OF, TAG_CLASS, TAG_CLASS);
+            loadSimpleEdges(parsers, staticDir.resolve("tag_hasType_tagclass_0_0.csv"), HAS_TYPE, TAG, TAG_CLASS);
+
+            // KNOWS is stored in both directions
+            loadEdges(parsers, dynamicDir.resolve("person_knows_person_0_0.csv"), KNOWS, PERSON, PERSON, KnowsEdge::parse,
+                    edge -> List.of(
+                            new PendingEdge(edge.person1Id(), edge.person2Id(), row(CREATION_DATE, edge.creationDate())),
+                            new PendingEdge(edge.person2Id(), edge.person1Id(), row(CREATION_DATE, edge.creationDate()))));
+            loadSimpleEdges(parsers, dynamicDir.resolve("person_isLocatedIn_place_0_0.csv"), IS_LOCATED_IN, PERSON, PLACE);
+            loadSimpleEdges(parsers, dynamicDir.resolve("person_hasInterest_tag_0_0.csv"), HAS_INTEREST, PERSON, TAG);
+            loadEdges(parsers, dynamicDir.resolve("person_studyAt_organisation_0_0.csv"), STUDY_AT, PERSON, ORGANISATION,
+                    StudyAtEdge::parse,
+                    edge -> List.of(new PendingEdge(edge.personId(), edge.organisationId(), row(CLASS_YEAR, edge.classYear()))));
+            loadEdges(parsers, dynamicDir.resolve("person_workAt_organisation_0_0.csv"), WORK_AT, PERSON, ORGANISATION,
+                    WorkAtEdge::parse,
+                    edge -> List.of(new PendingEdge(edge.personId(), edge.organisationId(), row(WORK_FROM, edge.workFrom()))));
+            loadLikesEdges(parsers, dynamicDir.resolve("person_likes_post_0_0.csv"), POST);
+            loadLikesEdges(parsers, dynamicDir.resolve("person_likes_comment_0_0.csv"), COMMENT);
+
+            loadSimpleEdges(parsers, dynamicDir.resolve("forum_hasModerator_person_0_0.csv"), HAS_MODERATOR, FORUM, PERSON);
+            loadSimpleEdges(parsers, dynamicDir.resolve("forum_containerOf_post_0_0.csv"), CONTAINER_OF, FORUM, POST);
+            loadSimpleEdges(parsers, dynamicDir.resolve("forum_hasTag_tag_0_0.csv"), HAS_TAG, FORUM, TAG);
+            loadEdges(parsers, dynamicDir.resolve("forum_hasMember_person_0_0.csv"), HAS_MEMBER, FORUM, PERSON,
+                    HasMemberEdge::parse,
+                    edge -> List.of(new PendingEdge(edge.forumId(), edge.personId(), row(JOIN_DATE, edge.joinDate()))));
+
+            loadCreatorEdges(parsers, dynamicDir.resolve("post_hasCreator_person_0_0.csv"), POST);
+            loadSimpleEdges(parsers, dynamicDir.resolve("post_isLocatedIn_place_0_0.csv"), IS_LOCATED_IN, POST, PLACE);
+            loadSimpleEdges(parsers, dynamicDir.resolve("post_hasTag_tag_0_0.csv"), HAS_TAG, POST, TAG);
+            loadCreatorEdges(parsers, dynamicDir.resolve("comment_hasCreator_person_0_0.csv"), COMMENT);
+            loadSimpleEdges(parsers, dynamicDir.resolve("comment_isLocatedIn_place_0_0.csv"), IS_LOCATED_IN, COMMENT, PLACE);
+            loadSimpleEdges(parsers, dynamicDir.resolve("comment_replyOf_post_0_0.csv"), REPLY_OF, COMMENT, POST);
+            loadSimpleEdges(parsers, dynamicDir.resolve("comment_replyOf_comment_0_0.csv"), REPLY_OF, COMMENT, COMMENT);
+            loadSimpleEdges(parsers, dynamicDir.resolve("comment_hasTag_tag_0_0.csv"), HAS_TAG, COMMENT, TAG);
+
+            hooks.afterLoad(graphProvider);
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Data loading completed in {}ms ({} seconds)", duration, duration / 1000.0);
+        return Map.copyOf(loaded);
+    }
+
+    // ==================== VERTICES ====================
+
+    private <T> void loadVertices(ExecutorService parsers, Path csvFile, String label,
+                                  Function<String[], T> parser,
+                                  Function<T, Map<String, Object>> toRow) throws Exception {
+        if (!Files.exists(csvFile)) {
+            log.warn("File not found: {}", csvFile);
+            return;
+        }
+
+        long count = this.<T>processor(parsers).process(csvFile, parser, batch -> {
+            List<Map<String, Object>> rows = batch.stream().map(toRow).toList();
+            inTx(label, () -> graphProvider.executeInTx(g -> {
+                for (List<Map<String, Object>> chunk : chunks(rows, chunkSize)) {
+                    hooks.insertVertices(g, label, chunk);
+                }
+            }));
+        });
+
+        loaded.put(csvFile.getFileName().toString(), count);
+        log.info("Loaded {} {} vertices", count, label);
+    }
+
+    // ==================== EDGES ====================
+
+    /**
+     * Edge between two LDBC ids, before its endpoints are resolved.
+     */
+    private record PendingEdge(long fromId, long toId, Map<String, Object> properties) {}
+
+    private void loadSimpleEdges(ExecutorService parsers, Path csvFile, String edgeLabel,
+                                 String fromLabel, String toLabel) throws Exception {
+        loadEdges(parsers, csvFile, edgeLabel, fromLabel, toLabel, SimpleEdge::parse,
+                edge -> List.of(new PendingEdge(edge.fromId(), edge.toId(), Map.of())));
+    }
+
+    private void loadLikesEdges(ExecutorService parsers, Path csvFile, String contentLabel) throws Exception {
+        loadEdges(parsers, csvFile, LIKES, PERSON, contentLabel, LikesEdge::parse,
+                edge -> List.of(new PendingEdge(edge.personId(), edge.contentId(), row(CREATION_DATE, edge.creationDate()))));
+    }
+
+    /**
+     * {@code HAS_CREATOR} edges carry the creation date of their message, so the newest messages of a person can
+     * be found from its edges without reading the messages.
+     */
+    private void loadCreatorEdges(ExecutorService parsers, Path csvFile, String contentLabel) throws Exception {
+        loadEdges(parsers, csvFile, HAS_CREATOR, contentLabel, PERSON, SimpleEdge::parse,
+                edge -> List.of(new PendingEdge(edge.fromId(), edge.toId(), Map.of())), CREATION_DATE);
+    }
+
+    private <T> void loadEdges(ExecutorService parsers, Path csvFile, String edgeLabel, String fromLabel, String toLabel,
+                               Function<String[], T> parser,
+                               Function<T, List<PendingEdge>> toEdges) throws Exception {
+        loadEdges(parsers, csvFile, edgeLabel, fromLabel, toLabel, parser, toEdges, null);
+    }
+
+    /**
+     * @param copiedKey property of the source vertex that is copied onto each edge, or {@code null}
+     */
+    private <T> void loadEdges(ExecutorService parsers, Path csvFile, String edgeLabel, String fromLabel, String toLabel,
+                               Function<String[], T> parser,
+                               Function<T, List<PendingEdge>> toEdges, String copiedKey) throws Exception {
+        if (!Files.exists(csvFile)) {
+            log.warn("File not found: {}", csvFile);
+            return;
+        }
+
+        long count = this.<T>processor(parsers).process(csvFile, parser, batch -> {
+            var edges = new ArrayList<PendingEdge>(batch.size());
+            for (T record : batch) {
+                edges.addAll(toEdges.apply(record));
+            }
+            inTx(edgeLabel, () -> graphProvider.executeInTx(g -> {
+                for (List<PendingEdge> chunk : chunks(edges, chunkSize)) {
+                    var fromIds = new HashSet<Long>();
+                    var toIds = new HashSet<Long>();
+                    for (PendingEdge edge : chunk) {
+                        fromIds.add(edge.fromId());
+                        toIds.add(edge.toId());
+                    }
+
+                    Map<Long, Object> copied = copiedKey == null
+                            ? Map.of()
+                            : hooks.resolveValues(g, fromLabel, copiedKey, fromIds);
+                    Map<Long, Object> from;
+                    Map<Long, Object> to;
+                    if (fromLabel.equals(toLabel)) {
+                        fromIds.addAll(toIds);
+                        from = to = hooks.resolveVertices(g, fromLabel, fromIds);
+                    } else {
+                        from = hooks.resolveVertices(g, fromLabel, fromIds);
+                        to = hooks.resolveVertices(g, toLabel, toIds);
+                    }
+
+                    var rows = new ArrayList<EdgeRow>(chunk.size());
+                    for (PendingEdge edge : chunk) {
+                        Object out = from.get(edge.fromId());
+                        Object in = to.get(edge.toId());
+                        if (out == null || in == null) {
+                            log.debug("Skipping {} edge {} -> {}: endpoint not found", edgeLabel, edge.fromId(), edge.toId());
+                            continue;
+                        }
+                        Map<String, Object> properties = edge.properties();
+                        Object value = copied.get(edge.fromId());
+                        if (value != null) {
+                            properties = new LinkedHashMap<>(properties);
+                            properties.put(copiedKey, value);
+                        }
+                        rows.add(new EdgeRow(out, in, properties));
+                    }
+
+                    if (!rows.isEmpty()) {
+                        hooks.insertEdges(g, edgeLabel, rows);
+                    }
+                }
+            }));
+        });
+
+        loaded.put(csvFile.getFileName().toString(), count);
+        log.info("Loaded {} {} edges", count, edgeLabel);
+    }
+
+    // ==================== UTILITIES ====================
+
+    /**
+     * Keeps one parsed block per parser thread in flight, plus the one being inserted.
+     */
+    private <T> CsvProcessor<T> processor(ExecutorService parsers) {
+        return new CsvProcessor<>(batchSize, parsers, parserThreads + 1);
+    }
+
+    private static void inTx(String label, FailableRunnable<Exception> transaction) {
+        try {
+            transaction.run();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load " + label + " batch", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.youtrackdb.ldbc.common.loader;
+
+import com.google.inject.AbstractModule;
+
+public class DefaultLoaderModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        bind(LoaderHooks.class).to(GremlinLoaderHooks.class);
+    }
+}
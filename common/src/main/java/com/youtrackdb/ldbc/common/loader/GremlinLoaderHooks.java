@@ -0,0 +1,40 @@
+package com.youtrackdb.ldbc.common.loader;
+
+import com.youtrackdb.ldbc.loader.gremlin.EdgeRow;
+import com.youtrackdb.ldbc.loader.gremlin.GremlinInserts;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.ID;
+
+/**
+ * Portable {@link LoaderHooks} that only uses Gremlin steps, through the {@link GremlinInserts} traversals it
+ * shares with ytdb-loader. Endpoints are resolved by {@code id}, which is only fast with an {@code id} index on
+ * every vertex label. Gremlin cannot create indexes, so these hooks expect the schema to exist; vendors
+ * subclass them and create it in {@link #beforeLoad}.
+ */
+public class GremlinLoaderHooks implements LoaderHooks {
+
+    @Override
+    public void insertVertices(GraphTraversalSource g, String label, List<Map<String, Object>> rows) {
+        GremlinInserts.insertVertices(g, label, rows);
+    }
+
+    @Override
+    public Map<Long, Object> resolveVertices(GraphTraversalSource g, String label, Set<Long> ids) {
+        return GremlinInserts.resolveVertices(g, label, ID, ids);
+    }
+
+    @Override
+    public Map<Long, Object> resolveValues(GraphTraversalSource g, String label, String key, Set<Long> ids) {
+        return GremlinInserts.resolveValues(g, label, ID, key, ids);
+    }
+
+    @Override
+    public void insertEdges(GraphTraversalSource g, String label, List<EdgeRow> rows) {
+        GremlinInserts.insertEdges(g, label, rows);
+    }
+}
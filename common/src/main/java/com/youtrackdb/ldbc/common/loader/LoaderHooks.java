@@ -0,0 +1,59 @@
+package com.youtrackdb.ldbc.common.loader;
+
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.loader.gremlin.EdgeRow;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vendor extension points of {@link BulkLoader}. The loader owns parsing, batching and transactions;
+ * implementations decide how rows reach the database.
+ *
+ * <p>Load order is {@link #beforeLoad}, all vertex files, {@link #afterVertices}, all edge files,
+ * {@link #afterLoad}. A backend that is faster without secondary indexes can drop or disable them in
+ * {@code beforeLoad} and rebuild them in {@code afterLoad}; the {@code id} indexes that
+ * {@link #resolveVertices} relies on must be in place again by {@code afterVertices}.
+ *
+ * <p>The default implementation is {@link GremlinLoaderHooks}. Vendors override the binding in their module:
+ * <pre>
+ * bind(LoaderHooks.class).to(YourDbLoaderHooks.class);
+ * </pre>
+ */
+public interface LoaderHooks {
+
+    default void beforeLoad(GraphProvider graphProvider) throws Exception {
+    }
+
+    default void afterVertices(GraphProvider graphProvider) throws Exception {
+    }
+
+    default void afterLoad(GraphProvider graphProvider) throws Exception {
+    }
+
+    /**
+     * Inserts one chunk of vertices inside the current transaction. Each row maps property keys to
+     * values, including {@code id}; optional properties that are absent in the CSV are left out.
+     */
+    void insertVertices(GraphTraversalSource g, String label, List<Map<String, Object>> rows);
+
+    /**
+     * Looks up vertices by LDBC id. The returned values are passed back as {@link EdgeRow} endpoints,
+     * so they can be vertices, vendor ids or anything else {@link #insertEdges} understands.
+     * Ids without a vertex are left out of the result.
+     */
+    Map<Long, Object> resolveVertices(GraphTraversalSource g, String label, Set<Long> ids);
+
+    /**
+     * Looks up property {@code key} of vertices by LDBC id, for edges that copy a property of their source
+     * vertex. Ids without a vertex or a value are left out of the result.
+     */
+    Map<Long, Object> resolveValues(GraphTraversalSource g, String label, String key, Set<Long> ids);
+
+    /**
+     * Inserts one chunk of edges inside the current transaction.
+     */
+    void insertEdges(GraphTraversalSource g, String label, List<EdgeRow> rows);
+}
@@ -0,0 +1,61 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event spanning one LDBC operation in a handler, from start to commit. Lets JMC filter samples,
+ * allocations and GC pauses by operation type, parameters and duration. Emitted by {@link OperationTimer}.
+ */
+@Name("ldbc.Operation")
+@Label("LDBC Operation")
+@Category("LDBC")
+@Description("One LDBC SNB operation executed by a handler")
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Parameters")
+    public String parameters;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Build")
+    @Timespan(Timespan.NANOSECONDS)
+    public long buildNanos;
+
+    @Label("Execute")
+    @Timespan(Timespan.NANOSECONDS)
+    public long executeNanos;
+
+    @Label("Iterate")
+    @Timespan(Timespan.NANOSECONDS)
+    public long iterateNanos;
+
+    @Label("Convert")
+    @Timespan(Timespan.NANOSECONDS)
+    public long convertNanos;
+
+    @Label("Transaction")
+    @Timespan(Timespan.NANOSECONDS)
+    public long transactionNanos;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the handler thread")
+    @DataAmount(DataAmount.BYTES)
+    public long allocatedBytes;
+
+    @Label("CPU Time")
+    @Description("CPU time of the handler thread")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cpuNanos;
+}
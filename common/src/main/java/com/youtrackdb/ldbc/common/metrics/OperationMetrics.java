@@ -0,0 +1,146 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-operation-type, per-{@link Phase} latency histograms and {@link ResourceUsage}. Every running
+ * {@link OperationTimer} owns a recorder borrowed from a pool, so the hot path takes no locks and the number
+ * of recorders stays at the peak concurrency, also with one virtual thread per operation.
+ * {@link #snapshot()} and {@link #resources()} merge all recorders.
+ */
+public final class OperationMetrics {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ConcurrentLinkedQueue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Recorder> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Starts timing one execution of {@code operation} on the calling thread. The timer must be closed.
+     */
+    public OperationTimer start(Operation<?> operation) {
+        Recorder recorder = idle.poll();
+        if (recorder == null) {
+            recorder = new Recorder();
+            recorders.add(recorder);
+        }
+        return new OperationTimer(this, recorder, operation);
+    }
+
+    void release(Recorder recorder) {
+        idle.add(recorder);
+    }
+
+    int recorderCount() {
+        return recorders.size();
+    }
+
+    /**
+     * Merged histograms of all threads, by operation name and phase.
+     */
+    public Map<String, Map<Phase, LatencyHistogram>> snapshot() {
+        var merged = new TreeMap<String, Map<Phase, LatencyHistogram>>();
+        for (Recorder recorder : recorders) {
+            recorder.histograms.forEach((operation, phases) -> {
+                var target = merged.computeIfAbsent(operation, name -> new EnumMap<>(Phase.class));
+                for (Phase phase : Phase.values()) {
+                    LatencyHistogram histogram = phases[phase.ordinal()];
+                    if (histogram != null) {
+                        target.computeIfAbsent(phase, p -> new LatencyHistogram()).merge(histogram);
+                    }
+                }
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Merged client-side allocation and CPU time of all threads, by operation name.
+     */
+    public Map<String, ResourceUsage> resources() {
+        var merged = new TreeMap<String, ResourceUsage>();
+        for (Recorder recorder : recorders) {
+            recorder.resources.forEach((operation, usage) ->
+                    merged.computeIfAbsent(operation, name -> new ResourceUsage()).merge(usage));
+        }
+        return merged;
+    }
+
+    /**
+     * Writes one CSV row per operation and phase. Latencies are in microseconds.
+     */
+    public void writeCsv(Path file) throws IOException {
+        var csv = new StringBuilder(8192);
+        csv.append("operation,phase,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us\n");
+        snapshot().forEach((operation, phases) -> phases.forEach((phase, histogram) -> {
+            csv.append(operation).append(',').append(phase).append(',').append(histogram.count())
+                    .append(',').append(micros(histogram.mean()));
+            for (double percentile : PERCENTILES) {
+                csv.append(',').append(micros(histogram.valueAtPercentile(percentile)));
+            }
+            csv.append(',').append(micros(histogram.max())).append('\n');
+        }));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    /**
+     * Writes one CSV row per operation with total and mean bytes allocated and CPU time of the handler threads.
+     */
+    public void writeResourcesCsv(Path file) throws IOException {
+        var csv = new StringBuilder(4096);
+        csv.append("operation,count,allocated_bytes,mean_allocated_bytes,cpu_ms,mean_cpu_us\n");
+        resources().forEach((operation, usage) -> csv.append(operation)
+                .append(',').append(usage.count())
+                .append(',').append(usage.allocatedBytes())
+                .append(',').append(String.format(Locale.ROOT, "%.0f", usage.meanAllocatedBytes()))
+                .append(',').append(String.format(Locale.ROOT, "%.1f", usage.cpuNanos() / 1_000_000.0))
+                .append(',').append(micros(usage.meanCpuNanos()))
+                .append('\n'));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, csv);
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+
+    /**
+     * Histograms written by one timer at a time.
+     */
+    static final class Recorder {
+        private final Map<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<>();
+        private final Map<String, ResourceUsage> resources = new ConcurrentHashMap<>();
+
+        void recordResources(String operation, long allocatedBytes, long cpuNanos) {
+            resources.computeIfAbsent(operation, name -> new ResourceUsage()).add(allocatedBytes, cpuNanos);
+        }
+
+        void record(String operation, Phase phase, long nanos) {
+            LatencyHistogram[] phases = histograms.computeIfAbsent(operation,
+                    name -> new LatencyHistogram[Phase.values().length]);
+            LatencyHistogram histogram = phases[phase.ordinal()];
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                phases[phase.ordinal()] = histogram;
+            }
+            histogram.record(nanos);
+        }
+    }
+}
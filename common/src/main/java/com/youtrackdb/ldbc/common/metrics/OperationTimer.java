@@ -0,0 +1,136 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+
+/**
+ * Times the phases of one operation execution. Created by {@link OperationMetrics#start(Operation)} and used
+ * by a single thread, usually in a try-with-resources block; nothing is recorded for {@link Phase#TRANSACTION}
+ * and {@link Phase#TOTAL} unless {@link #stop(int)} is reached, so failed operations only leave the phases
+ * they completed.
+ *
+ * <p>Time before {@link #enterTx()} and after the last {@link #lap} is transaction overhead: begin and
+ * commit around the work.
+ *
+ * <p>The timer also measures the bytes allocated and CPU time used by the thread between start and
+ * {@link #stop(int)}, and spans an {@link OperationEvent} that is committed when JFR records it.
+ */
+public final class OperationTimer implements AutoCloseable {
+
+    private final OperationMetrics metrics;
+    private final OperationMetrics.Recorder recorder;
+    private final Operation<?> operation;
+    private final String name;
+    private final OperationEvent event = new OperationEvent();
+    private final long start;
+    private final long startBytes;
+    private final long startCpu;
+    private long last;
+    private long txNanos;
+
+    OperationTimer(OperationMetrics metrics, OperationMetrics.Recorder recorder, Operation<?> operation) {
+        this.metrics = metrics;
+        this.recorder = recorder;
+        this.operation = operation;
+        this.name = operation.getClass().getSimpleName();
+        event.begin();
+        this.startBytes = ThreadResources.allocatedBytes();
+        this.startCpu = ThreadResources.cpuNanos();
+        this.start = System.nanoTime();
+        this.last = start;
+    }
+
+    /**
+     * Marks the start of the work inside the transaction.
+     */
+    public void enterTx() {
+        long now = System.nanoTime();
+        txNanos += now - last;
+        last = now;
+    }
+
+    /**
+     * Records the time since the previous mark as {@code phase}.
+     */
+    public void lap(Phase phase) {
+        lap(phase, 0);
+    }
+
+    /**
+     * Records the time since the previous mark, minus {@code excludedNanos} already recorded as another
+     * phase, as {@code phase}.
+     */
+    public void lap(Phase phase, long excludedNanos) {
+        long now = System.nanoTime();
+        record(phase, now - last - excludedNanos);
+        last = now;
+    }
+
+    /**
+     * Leaves the time since the previous mark out of every phase but {@link Phase#TOTAL}, e.g. waiting for a group
+     * commit that failed.
+     */
+    public void skip() {
+        last = System.nanoTime();
+    }
+
+    /**
+     * Accounts for work another thread did for this operation since the previous mark, e.g. a group commit:
+     * {@code executeNanos} as {@link Phase#EXECUTE} and {@code transactionNanos} as transaction overhead. The rest
+     * of the time since the mark, waiting for that thread, only counts towards {@link Phase#TOTAL}.
+     */
+    public void delegated(long executeNanos, long transactionNanos) {
+        record(Phase.EXECUTE, executeNanos);
+        txNanos += transactionNanos;
+        skip();
+    }
+
+    public void record(Phase phase, long nanos) {
+        recorder.record(name, phase, nanos);
+        switch (phase) {
+            case BUILD -> event.buildNanos += nanos;
+            case EXECUTE -> event.executeNanos += nanos;
+            case ITERATE -> event.iterateNanos += nanos;
+            case CONVERT -> event.convertNanos += nanos;
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * @param rows number of results returned by the operation
+     * @return the total duration in nanoseconds
+     */
+    public long stop(int rows) {
+        long now = System.nanoTime();
+        recorder.record(name, Phase.TRANSACTION, txNanos + now - last);
+        recorder.record(name, Phase.TOTAL, now - start);
+        long allocated = 0;
+        long cpu = 0;
+        // Not available on virtual threads
+        if (startBytes >= 0 && startCpu >= 0) {
+            allocated = ThreadResources.allocatedBytes() - startBytes;
+            cpu = ThreadResources.cpuNanos() - startCpu;
+            recorder.recordResources(name, allocated, cpu);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = name;
+            event.parameters = operation.parameterMap().toString();
+            event.rows = rows;
+            event.transactionNanos = txNanos + now - last;
+            event.allocatedBytes = allocated;
+            event.cpuNanos = cpu;
+            event.commit();
+        }
+        return now - start;
+    }
+
+    /**
+     * Hands the recorder back to {@link OperationMetrics}; the timer must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        metrics.release(recorder);
+    }
+}
@@ -0,0 +1,20 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+/**
+ * Where the time of one operation goes. Query handlers record every phase; updates only record
+ * {@link #EXECUTE}, {@link #TRANSACTION} and {@link #TOTAL}.
+ */
+public enum Phase {
+    /** {@code buildTraversal()}: building the Gremlin traversal. */
+    BUILD,
+    /** First {@code hasNext()}: the traversal executes (a round trip for remote providers). */
+    EXECUTE,
+    /** Remaining {@code hasNext()}/{@code next()} calls, excluding conversion. */
+    ITERATE,
+    /** {@code toResult()} over all records. */
+    CONVERT,
+    /** Transaction begin and commit around the operation. */
+    TRANSACTION,
+    /** The whole operation, from the handler's start to the commit. */
+    TOTAL
+}
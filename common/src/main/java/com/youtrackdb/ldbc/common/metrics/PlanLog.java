@@ -0,0 +1,77 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Appends the plan choices checked by the {@code QueryPlanner} to a JSON lines file: operation name, parameters,
+ * the estimated cardinality of every alternative plan, the chosen plan and its actual cardinality. Comparing
+ * {@code estimates[plan]} with {@code actual} over a run shows how far the planner's statistics can be trusted.
+ */
+public final class PlanLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanLog.class);
+
+    public static final String PLANS_FILE = "query-plans.jsonl";
+
+    private final Path file;
+    private Writer writer;
+
+    /**
+     * @param file JSON lines output, created on the first record
+     */
+    public PlanLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Logs a checked choice. Write failures are logged, never thrown.
+     */
+    public void record(Operation<?> operation, String plan, Map<String, Long> estimates, long actual) {
+        var json = new StringBuilder(512);
+        json.append("{\"operation\":");
+        Json.appendString(json, operation.getClass().getSimpleName());
+        json.append(",\"timestamp\":").append(System.currentTimeMillis());
+        json.append(",\"parameters\":");
+        Json.appendValue(json, operation.parameterMap());
+        json.append(",\"plan\":");
+        Json.appendString(json, plan);
+        json.append(",\"estimates\":");
+        Json.appendValue(json, estimates);
+        json.append(",\"actual\":").append(actual);
+        json.append("}\n");
+
+        try {
+            write(json);
+        } catch (IOException e) {
+            logger.warn("Failed to write plan of {}", operation.getClass().getSimpleName(), e);
+        }
+    }
+
+    private synchronized void write(CharSequence line) throws IOException {
+        if (writer == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file);
+        }
+        writer.append(line);
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
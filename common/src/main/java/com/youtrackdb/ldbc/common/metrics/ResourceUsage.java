@@ -0,0 +1,46 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+/**
+ * Client-side bytes allocated and CPU time of all executions of one operation type. Like
+ * {@link LatencyHistogram}, an instance has a single writer and may be read by any thread.
+ */
+public final class ResourceUsage {
+
+    private volatile long count;
+    private volatile long allocatedBytes;
+    private volatile long cpuNanos;
+
+    void add(long bytes, long cpu) {
+        allocatedBytes += bytes;
+        cpuNanos += cpu;
+        count++;
+    }
+
+    void merge(ResourceUsage other) {
+        allocatedBytes += other.allocatedBytes;
+        cpuNanos += other.cpuNanos;
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long cpuNanos() {
+        return cpuNanos;
+    }
+
+    public double meanAllocatedBytes() {
+        long n = count;
+        return n == 0 ? 0 : (double) allocatedBytes / n;
+    }
+
+    public double meanCpuNanos() {
+        long n = count;
+        return n == 0 ? 0 : (double) cpuNanos / n;
+    }
+}
@@ -0,0 +1,122 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.ldbcouncil.snb.driver.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every operation slower than its threshold to a JSON lines file: operation name, parameters,
+ * duration and result size. The file can be replayed with {@code ReplayOperations} in the runner.
+ *
+ * <p>{@value #THRESHOLD} sets the default threshold in milliseconds and
+ * {@value #THRESHOLD}{@code .<OperationName>} overrides it per operation type, e.g.
+ * {@code tinkerpop.slowlog.thresholdMillis.LdbcQuery9=500}. Operations without a positive threshold are
+ * never logged.
+ */
+public final class SlowOperationLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowOperationLog.class);
+
+    public static final String THRESHOLD = "tinkerpop.slowlog.thresholdMillis";
+    public static final String SLOW_OPERATIONS_FILE = "slow-operations.jsonl";
+
+    private final long defaultThresholdNanos;
+    private final Map<String, Long> thresholdNanos = new HashMap<>();
+    private final Path file;
+    private Writer writer;
+
+    /**
+     * A logged operation, as read back by {@link #read(Path)}.
+     */
+    public record Entry(String operation, Map<String, Object> parameters, long durationMicros, int resultSize) {
+    }
+
+    public SlowOperationLog(Map<String, String> properties, Path file) {
+        this.file = file;
+        this.defaultThresholdNanos = millisToNanos(properties.getOrDefault(THRESHOLD, "0"));
+        String prefix = THRESHOLD + ".";
+        properties.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                thresholdNanos.put(key.substring(prefix.length()), millisToNanos(value));
+            }
+        });
+    }
+
+    /**
+     * Logs {@code operation} if it took longer than its threshold. Write failures are logged, never thrown.
+     */
+    public void record(Operation<?> operation, long durationNanos, int resultSize) {
+        String name = operation.getClass().getSimpleName();
+        long threshold = thresholdNanos.getOrDefault(name, defaultThresholdNanos);
+        if (threshold <= 0 || durationNanos < threshold) {
+            return;
+        }
+
+        var json = new StringBuilder(512);
+        json.append("{\"operation\":");
+        Json.appendString(json, name);
+        json.append(",\"timestamp\":").append(System.currentTimeMillis());
+        json.append(",\"durationMicros\":").append(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        json.append(",\"resultSize\":").append(resultSize);
+        json.append(",\"parameters\":");
+        Json.appendValue(json, operation.parameterMap());
+        json.append("}\n");
+
+        try {
+            write(json);
+        } catch (IOException e) {
+            logger.warn("Failed to write slow operation {}", name, e);
+        }
+    }
+
+    private synchronized void write(CharSequence line) throws IOException {
+        if (writer == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file);
+        }
+        writer.append(line);
+        writer.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Entry> read(Path file) throws IOException {
+        var entries = new ArrayList<Entry>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            var json = (Map<String, Object>) Json.parse(line);
+            entries.add(new Entry(
+                    (String) json.get("operation"),
+                    (Map<String, Object>) json.get("parameters"),
+                    ((Number) json.get("durationMicros")).longValue(),
+                    ((Number) json.get("resultSize")).intValue()));
+        }
+        return entries;
+    }
+
+    private static long millisToNanos(String millis) {
+        return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(millis.trim()));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Allocated bytes and CPU time of the current thread from {@code com.sun.management.ThreadMXBean}. Both are
+ * {@code -1} where they are not available: on JVMs without support and on virtual threads.
+ */
+final class ThreadResources {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+    private static final boolean ALLOCATION = THREADS != null && THREADS.isThreadAllocatedMemorySupported()
+            && THREADS.isThreadAllocatedMemoryEnabled();
+    private static final boolean CPU = THREADS != null && THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+
+    private ThreadResources() {
+    }
+
+    static long allocatedBytes() {
+        return ALLOCATION ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    static long cpuNanos() {
+        return CPU ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                ? threads
+                : null;
+    }
+}
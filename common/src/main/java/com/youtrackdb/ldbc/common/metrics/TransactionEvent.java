@@ -0,0 +1,77 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event spanning one {@code GraphProvider} transaction, for providers to emit around
+ * {@code executeInTx}/{@code computeInTx}:
+ *
+ * <pre>{@code
+ * var event = TransactionEvent.start("YtdbGraphProvider");
+ * try {
+ *     R result = traversal.computeInTx(g -> {
+ *         R r = code.apply(g);
+ *         event.bodyDone();
+ *         return r;
+ *     });
+ *     event.committed();
+ *     return result;
+ * } finally {
+ *     event.finish();
+ * }
+ * }</pre>
+ */
+@Name("ldbc.Transaction")
+@Label("LDBC Transaction")
+@Category("LDBC")
+@Description("One GraphProvider transaction")
+@StackTrace(false)
+public class TransactionEvent extends Event {
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Committed")
+    public boolean committed;
+
+    @Label("Commit")
+    @Description("Time from the end of the transaction body to the end of the commit")
+    @Timespan(Timespan.NANOSECONDS)
+    public long commitNanos;
+
+    private transient long bodyEnd;
+
+    public static TransactionEvent start(String provider) {
+        var event = new TransactionEvent();
+        event.provider = provider;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Marks the end of the transaction body; the rest until {@link #finish()} is commit time.
+     */
+    public void bodyDone() {
+        bodyEnd = System.nanoTime();
+    }
+
+    public void committed() {
+        committed = true;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            if (bodyEnd != 0) {
+                commitNanos = System.nanoTime() - bodyEnd;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.apache.commons.lang3.function.FailableSupplier;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.ldbcouncil.snb.driver.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-runs a sampled fraction of read operations with {@code profile()} and appends the
+ * {@link TraversalMetrics} to a JSON lines file, one line per operation with its parameters and the per-step
+ * traverser counts and durations.
+ *
+ * <p>Profiled runs are queued to a single background thread and run in their own transaction after the
+ * operation returned to the driver, so they are not part of the reported latency. They still put extra load on
+ * the database, so keep the rate low in benchmark runs. When {@value #QUEUE_CAPACITY} runs are already waiting,
+ * further samples are dropped. {@link #close} waits for the queued runs.
+ */
+public final class TraversalProfiler implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraversalProfiler.class);
+
+    public static final String SAMPLE_RATE = "tinkerpop.profile.sampleRate";
+    public static final String PROFILES_FILE = "traversal-profiles.jsonl";
+
+    static final int QUEUE_CAPACITY = 256;
+    private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+    private final double sampleRate;
+    private final Path file;
+    private final ExecutorService background;
+    private Writer writer;
+
+    /**
+     * @param sampleRate fraction of operations to profile, {@code 0} disables profiling
+     * @param file       JSON lines output, created on the first sample
+     */
+    public TraversalProfiler(double sampleRate, Path file) {
+        this.sampleRate = sampleRate;
+        this.file = file;
+        this.background = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    var thread = new Thread(runnable, "traversal-profiler");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> logger.debug("Profile queue is full, dropping a sample"));
+    }
+
+    /**
+     * Decides whether the current operation is profiled.
+     */
+    public boolean sample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Queues {@code profiled}, normally {@code buildTraversal(...).profile().next()} in a transaction, to run on
+     * the background thread and write the result. Failures are logged and never fail the operation itself.
+     */
+    public void profile(Operation<?> operation, FailableSupplier<TraversalMetrics, Exception> profiled) {
+        background.execute(() -> {
+            try {
+                write(operation, profiled.get());
+            } catch (Exception e) {
+                logger.warn("Failed to profile {}", operation.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    /**
+     * Combines the profiles of the traversals one operation runs in turn into one, with a top-level step per
+     * traversal, named by its key, that holds its steps as nested steps.
+     */
+    public static TraversalMetrics combine(Map<String, TraversalMetrics> traversals) {
+        List<MutableMetrics> passes = new ArrayList<>(traversals.size());
+        long totalNanos = 0;
+        for (Map.Entry<String, TraversalMetrics> traversal : traversals.entrySet()) {
+            var pass = new MutableMetrics(traversal.getKey(), traversal.getKey());
+            long nanos = traversal.getValue().getDuration(TimeUnit.NANOSECONDS);
+            pass.setDuration(nanos, TimeUnit.NANOSECONDS);
+            Metrics last = null;
+            for (Metrics step : traversal.getValue().getMetrics()) {
+                pass.addNested(new MutableMetrics(step));
+                last = step;
+            }
+            if (last != null) {
+                pass.setCount(TraversalMetrics.TRAVERSER_COUNT_ID, last.getCount(TraversalMetrics.TRAVERSER_COUNT_ID));
+                pass.setCount(TraversalMetrics.ELEMENT_COUNT_ID, last.getCount(TraversalMetrics.ELEMENT_COUNT_ID));
+            }
+            passes.add(pass);
+            totalNanos += nanos;
+        }
+        return new DefaultTraversalMetrics(totalNanos, passes);
+    }
+
+    synchronized void write(Operation<?> operation, TraversalMetrics metrics) throws IOException {
+        var json = new StringBuilder(2048);
+        json.append("{\"operation\":");
+        Json.appendString(json, operation.getClass().getSimpleName());
+        json.append(",\"timestamp\":").append(System.currentTimeMillis());
+        json.append(",\"parameters\":");
+        Json.appendValue(json, operation.parameterMap());
+        json.append(",\"durationMicros\":").append(metrics.getDuration(TimeUnit.MICROSECONDS));
+        json.append(",\"steps\":");
+        appendSteps(json, metrics.getMetrics());
+        json.append("}\n");
+
+        if (writer == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file);
+        }
+        writer.write(json.toString());
+        writer.flush();
+    }
+
+    private static void appendSteps(StringBuilder json, Collection<? extends Metrics> steps) {
+        json.append('[');
+        boolean first = true;
+        for (Metrics step : steps) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"id\":");
+            Json.appendString(json, step.getId());
+            json.append(",\"name\":");
+            Json.appendString(json, step.getName());
+            json.append(",\"traversers\":").append(step.getCount(TraversalMetrics.TRAVERSER_COUNT_ID));
+            json.append(",\"elements\":").append(step.getCount(TraversalMetrics.ELEMENT_COUNT_ID));
+            json.append(",\"durationMicros\":").append(step.getDuration(TimeUnit.MICROSECONDS));
+            if (step.getAnnotation(TraversalMetrics.PERCENT_DURATION_KEY) instanceof Number percent) {
+                json.append(",\"percent\":").append(String.format(Locale.ROOT, "%.2f", percent.doubleValue()));
+            }
+            if (!step.getNested().isEmpty()) {
+                json.append(",\"nested\":");
+                appendSteps(json, step.getNested());
+            }
+            json.append('}');
+        }
+        json.append(']');
+    }
+
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            if (!background.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Queued profiles did not finish within {}s", CLOSE_TIMEOUT_SECONDS);
+                background.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            background.shutdownNow();
+        }
+        closeWriter();
+    }
+
+    private synchronized void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
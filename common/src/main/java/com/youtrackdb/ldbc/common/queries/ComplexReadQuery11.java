@@ -1,17 +1,26 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.PlannerStatistics;
+import com.youtrackdb.ldbc.common.QueryPlanner;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery11;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery11Result;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.identity;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
 
 /**
@@ -20,19 +29,117 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select
  * Given a start Person, find that Person's friends and friends of friends (excluding start Person) who
  * started working in some Company in a given Country before a given date (workFromYear).
  */
-public class ComplexReadQuery11 extends ListQueryHandler<LdbcQuery11, LdbcQuery11Result> {
+public class ComplexReadQuery11 extends PlannedQueryHandler<LdbcQuery11, LdbcQuery11Result> {
+
+    /**
+     * Forces the {@code forward} or the {@code reverse} plan.
+     */
+    static final String PLAN = QueryPlanner.PLAN + ".LdbcQuery11";
+
+    private static final List<QueryPlanner.Plan<LdbcQuery11>> PLANS = List.of(new Forward(), new Reverse());
 
     @Override
-    protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery11 operation, GraphTraversalSource g) {
-        return g.V()
-                .has(PERSON, ID, operation.getPersonIdQ11()).as("start")
-                .repeat(out(KNOWS).simplePath()).times(2).emit()
-                .dedup().as("person")
+    protected List<QueryPlanner.Plan<LdbcQuery11>> plans() {
+        return PLANS;
+    }
+
+    /**
+     * Checks the jobs of every friend.
+     */
+    private static final class Forward implements QueryPlanner.Plan<LdbcQuery11> {
+
+        @Override
+        public String name() {
+            return "forward";
+        }
+
+        @Override
+        public long estimate(LdbcQuery11 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            long friends = statistics.friendsOfFriends(g, operation.getPersonIdQ11());
+            return friends + Math.round(friends * statistics.perPerson(g, Direction.OUT, WORK_AT));
+        }
+
+        @Override
+        public long cardinality(LdbcQuery11 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return friends(operation, g)
+                    .union(identity(), outE(WORK_AT))
+                    .count()
+                    .next();
+        }
+
+        @Override
+        public GraphTraversal<?, Map<String, Object>> traversal(LdbcQuery11 operation, GraphTraversalSource g,
+                                                                PlannerStatistics statistics) {
+            return referrals(operation, friends(operation, g).as("person")
                     .outE(WORK_AT)
                     .has(WORK_FROM, lt(operation.getWorkFromYear())).as("workAt")
                     .inV().as("company")
                         .out(IS_LOCATED_IN)
-                        .has(NAME, operation.getCountryName())
+                        .has(NAME, operation.getCountryName()));
+        }
+    }
+
+    /**
+     * Starts from the country's companies, cached by id in the {@link PlannerStatistics}, takes their employees
+     * that started before the year and keeps the friends among them.
+     */
+    private static final class Reverse implements QueryPlanner.Plan<LdbcQuery11> {
+
+        @Override
+        public String name() {
+            return "reverse";
+        }
+
+        @Override
+        public long estimate(LdbcQuery11 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return statistics.friendsOfFriends(g, operation.getPersonIdQ11())
+                    + statistics.countryEmployments(g, operation.getCountryName());
+        }
+
+        @Override
+        public long cardinality(LdbcQuery11 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return friends(operation, g).count().next()
+                    + companies(operation, g, statistics).inE(WORK_AT).count().next();
+        }
+
+        @Override
+        public GraphTraversal<?, Map<String, Object>> traversal(LdbcQuery11 operation, GraphTraversalSource g,
+                                                                PlannerStatistics statistics) {
+            Set<Object> friendIds = new HashSet<>(friends(operation, g).values(ID).toList());
+            return referrals(operation, companies(operation, g, statistics).as("company")
+                    .inE(WORK_AT)
+                    .has(WORK_FROM, lt(operation.getWorkFromYear())).as("workAt")
+                    .outV()
+                    .has(ID, within(friendIds)).as("person"));
+        }
+    }
+
+    /**
+     * Friends and friends of friends of the start person, excluding the start person.
+     */
+    private static GraphTraversal<Vertex, Vertex> friends(LdbcQuery11 operation, GraphTraversalSource g) {
+        return g.V()
+                .has(PERSON, ID, operation.getPersonIdQ11())
+                .repeat(out(KNOWS).simplePath()).times(2).emit()
+                .dedup();
+    }
+
+    /**
+     * The companies of the country.
+     */
+    private static GraphTraversal<Vertex, Vertex> companies(LdbcQuery11 operation, GraphTraversalSource g,
+                                                            PlannerStatistics statistics) {
+        List<Object> companyIds = statistics.countryCompanies(g, operation.getCountryName());
+        // g.V() without ids would be every vertex
+        return companyIds.isEmpty() ? g.V().limit(0) : g.V(companyIds.toArray());
+    }
+
+    /**
+     * Projects and orders the jobs labelled {@code person}, {@code workAt} and {@code company}.
+     */
+    private static GraphTraversal<?, Map<String, Object>> referrals(LdbcQuery11 operation,
+                                                                  GraphTraversal<?, Vertex> jobs) {
+        return jobs
                 .project("personId", FIRST_NAME, LAST_NAME,
                         "organizationName", "organizationWorkFromYear")
                     .by(select("person").values(ID))
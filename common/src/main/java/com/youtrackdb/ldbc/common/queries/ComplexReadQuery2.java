@@ -1,16 +1,17 @@
 package com.youtrackdb.ldbc.common.queries;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery2;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery2Result;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
-import static org.apache.tinkerpop.gremlin.process.traversal.P.*;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 
 /**
@@ -22,24 +23,20 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 public class ComplexReadQuery2 extends ListQueryHandler<LdbcQuery2, LdbcQuery2Result> {
 
     @Override
+    protected List<LdbcQuery2Result> run(LdbcQuery2 operation, GraphTraversalSource g, TinkerPopConnectionState state,
+                                         OperationTimer timer) {
+        return RecentMessages.run(buildTraversal(operation, g), g, operation.getLimit(), timer, this::toResult);
+    }
+
+    /**
+     * The candidates of {@link RecentMessages}; the handler merges them.
+     */
+    @Override
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery2 operation, GraphTraversalSource g) {
-        return g.V()
-                .has(PERSON, ID, operation.getPersonIdQ2())
-                    .out(KNOWS).as("friend")
-                        .in(HAS_CREATOR)
-                        .hasLabel(POST, COMMENT)
-                        .has(CREATION_DATE, lt(operation.getMaxDate()))
-                .order()
-                    .by(CREATION_DATE, Order.desc)
-                    .by(ID, Order.asc)
-                .limit(operation.getLimit())
-                .project("personId", FIRST_NAME, LAST_NAME, "messageId", "content", CREATION_DATE)
-                    .by(select("friend").values(ID))
-                    .by(select("friend").values(FIRST_NAME))
-                    .by(select("friend").values(LAST_NAME))
-                    .by(ID)
-                    .by(coalesce(values(IMAGE_FILE), values(CONTENT)))
-                    .by(CREATION_DATE);
+        return RecentMessages.candidates(g.V()
+                        .has(PERSON, ID, operation.getPersonIdQ2())
+                        .out(KNOWS),
+                operation.getMaxDate(), operation.getLimit());
     }
 
     @Override
@@ -3,10 +3,12 @@ package com.youtrackdb.ldbc.common.queries;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Column;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery3;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery3Result;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
@@ -23,46 +25,57 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
  */
 public class ComplexReadQuery3 extends ListQueryHandler<LdbcQuery3, LdbcQuery3Result> {
 
+    private static final String COUNTRY_X = "countryX";
+    private static final String COUNTRY_Y = "countryY";
+
+    /**
+     * Resolves the two countries once, at the start of the traversal, and compares the places of persons and
+     * messages by element id. Each person's messages in the window are scanned once, tallying X and Y together.
+     */
     @Override
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery3 operation, GraphTraversalSource g) {
         Date startDate = operation.getStartDate();
         Date endDate = plusDays(startDate, operation.getDurationDays());
 
+        // An unknown country leaves its side effect empty, so no person gets both counts
         return g.V()
+                .has(PLACE, NAME, operation.getCountryXName()).id().aggregate(COUNTRY_X)
+                .fold()
+                .V()
+                .has(PLACE, NAME, operation.getCountryYName()).id().aggregate(COUNTRY_Y)
+                .fold()
+                .V()
                 .has(PERSON, ID, operation.getPersonIdQ3())
                     .repeat(out(KNOWS).simplePath()).times(2).emit()
                 .dedup()
                 .where(
                     out(IS_LOCATED_IN)
                         .out(IS_PART_OF)
-                        .values(NAME)
-                        .is(without(operation.getCountryXName(), operation.getCountryYName()))
+                        .id()
+                        .where(without(COUNTRY_X))
+                        .where(without(COUNTRY_Y))
                 )
-                .project(ID, FIRST_NAME, LAST_NAME, "xCount", "yCount")
-                    .by(ID)
-                    .by(FIRST_NAME)
-                    .by(LAST_NAME)
-                    .by(in(HAS_CREATOR)
-                            .hasLabel(POST, COMMENT)
-                            .has(CREATION_DATE, between(startDate, endDate))
-                            .where(out(IS_LOCATED_IN).has(PLACE, NAME, operation.getCountryXName()))
-                            .count())
+                .project("person", "counts")
+                    .by()
                     .by(in(HAS_CREATOR)
                             .hasLabel(POST, COMMENT)
                             .has(CREATION_DATE, between(startDate, endDate))
-                            .where(out(IS_LOCATED_IN).has(PLACE, NAME, operation.getCountryYName()))
-                            .count())
-                .where(and(
-                    select("xCount").is(gt(0)),
-                    select("yCount").is(gt(0))
-                ))
+                            .out(IS_LOCATED_IN)
+                            .id()
+                            .union(
+                                    where(within(COUNTRY_X)).constant("xCount"),
+                                    where(within(COUNTRY_Y)).constant("yCount"))
+                            .groupCount())
+                // A missing count is zero and drops the person
+                .where(select("counts").select("xCount"))
+                .where(select("counts").select("yCount"))
                 .project("personId", FIRST_NAME, LAST_NAME, "xCount", "yCount", "count")
-                    .by(ID)
-                    .by(FIRST_NAME)
-                    .by(LAST_NAME)
-                    .by("xCount")
-                    .by("yCount")
-                    .by(math("xCount + yCount"))
+                    .by(select("person").values(ID))
+                    .by(select("person").values(FIRST_NAME))
+                    .by(select("person").values(LAST_NAME))
+                    .by(select("counts").select("xCount"))
+                    .by(select("counts").select("yCount"))
+                    .by(select("counts").select(Column.values).unfold().sum())
                 .order()
                     .by("count", Order.desc)
                     .by("personId", Order.asc)
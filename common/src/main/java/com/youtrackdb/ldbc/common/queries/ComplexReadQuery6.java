@@ -1,18 +1,25 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.PlannerStatistics;
+import com.youtrackdb.ldbc.common.QueryPlanner;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery6;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery6Result;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.identity;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inE;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
 
@@ -23,20 +30,112 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select
  * were created by start Person's friends and friends of friends (excluding start Person). Return top 10
  * Tags, and the count of Posts that contain both this Tag and the given Tag.
  */
-public class ComplexReadQuery6 extends ListQueryHandler<LdbcQuery6, LdbcQuery6Result> {
+public class ComplexReadQuery6 extends PlannedQueryHandler<LdbcQuery6, LdbcQuery6Result> {
+
+    /**
+     * Forces the {@code forward} or the {@code reverse} plan.
+     */
+    static final String PLAN = QueryPlanner.PLAN + ".LdbcQuery6";
+
+    private static final String FRIENDS = "friends";
+
+    private static final List<QueryPlanner.Plan<LdbcQuery6>> PLANS = List.of(new Forward(), new Reverse());
 
     @Override
-    protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery6 operation, GraphTraversalSource g) {
+    protected List<QueryPlanner.Plan<LdbcQuery6>> plans() {
+        return PLANS;
+    }
+
+    /**
+     * Checks every post of the friends for the tag.
+     */
+    private static final class Forward implements QueryPlanner.Plan<LdbcQuery6> {
+
+        @Override
+        public String name() {
+            return "forward";
+        }
+
+        @Override
+        public long estimate(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            long friends = statistics.friendsOfFriends(g, operation.getPersonIdQ6());
+            return friends + Math.round(friends * statistics.perPerson(g, Direction.IN, HAS_CREATOR));
+        }
+
+        @Override
+        public long cardinality(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return friends(operation, g)
+                    .union(identity(), inE(HAS_CREATOR))
+                    .count()
+                    .next();
+        }
+
+        @Override
+        public GraphTraversal<?, Map<String, Object>> traversal(LdbcQuery6 operation, GraphTraversalSource g,
+                                                              PlannerStatistics statistics) {
+            return coOccurringTags(operation, friends(operation, g)
+                    .in(HAS_CREATOR)
+                    .hasLabel(POST)
+                    .where(out(HAS_TAG).has(NAME, operation.getTagName())));
+        }
+    }
+
+    /**
+     * Starts from the tag's posts and keeps those of a friend.
+     */
+    private static final class Reverse implements QueryPlanner.Plan<LdbcQuery6> {
+
+        @Override
+        public String name() {
+            return "reverse";
+        }
+
+        @Override
+        public long estimate(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return statistics.friendsOfFriends(g, operation.getPersonIdQ6())
+                    + statistics.tagFrequency(g, operation.getTagName());
+        }
+
+        @Override
+        public long cardinality(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return friends(operation, g).count().next() + g.V()
+                    .has(TAG, NAME, operation.getTagName())
+                    .inE(HAS_TAG)
+                    .count()
+                    .next();
+        }
+
+        @Override
+        public GraphTraversal<?, Map<String, Object>> traversal(LdbcQuery6 operation, GraphTraversalSource g,
+                                                              PlannerStatistics statistics) {
+            // One traversal, so the friends are read while it executes and show up in its profile
+            return coOccurringTags(operation, friends(operation, g)
+                    .aggregate(FRIENDS)
+                    .fold()
+                    .V()
+                    .has(TAG, NAME, operation.getTagName())
+                    .in(HAS_TAG)
+                    .hasLabel(POST)
+                    .where(out(HAS_CREATOR).where(within(FRIENDS))));
+        }
+    }
+
+    /**
+     * Friends and friends of friends of the start person, excluding the start person.
+     */
+    private static GraphTraversal<Vertex, Vertex> friends(LdbcQuery6 operation, GraphTraversalSource g) {
         return g.V()
                 .has(PERSON, ID, operation.getPersonIdQ6())
                 .repeat(out(KNOWS).simplePath()).times(2).emit()
-                .dedup()
-                    .in(HAS_CREATOR)
-                    .hasLabel(POST)
-                    .where(out(HAS_TAG).has(NAME, operation.getTagName()))
-                        .out(HAS_TAG)
-                        .has(NAME, neq(operation.getTagName()))
-                        .values(NAME)
+                .dedup();
+    }
+
+    private static GraphTraversal<?, Map<String, Object>> coOccurringTags(LdbcQuery6 operation,
+                                                                        GraphTraversal<?, Vertex> posts) {
+        return posts
+                .out(HAS_TAG)
+                .has(NAME, neq(operation.getTagName()))
+                .values(NAME)
                 .groupCount()
                 .order(Scope.local)
                     .by(Column.values, Order.desc)
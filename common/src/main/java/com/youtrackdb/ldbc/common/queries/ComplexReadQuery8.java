@@ -1,16 +1,28 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
+import com.youtrackdb.ldbc.common.metrics.TraversalProfiler;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery8;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery8Result;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gte;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 
 /**
  * IC8: Recent replies
@@ -21,27 +33,148 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select
  */
 public class ComplexReadQuery8 extends ListQueryHandler<LdbcQuery8, LdbcQuery8Result> {
 
+    /**
+     * Messages of the start person whose replies are fetched per round trip.
+     */
+    static final String BATCH_SIZE = "tinkerpop.ic8.batchSize";
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final String MESSAGE = "message";
+
+    /**
+     * Streams the replies into a {@link TopMessages} instead of sorting all of them. The start person's messages
+     * are streamed in batches as the database returns them, without collecting or sorting them first. Each batch
+     * only fetches replies at least as recent as the worst one kept so far, at most {@code limit} per message.
+     */
+    @Override
+    protected List<LdbcQuery8Result> run(LdbcQuery8 operation, GraphTraversalSource g, TinkerPopConnectionState state,
+                                         OperationTimer timer) {
+        int batchSize = batchSize(state);
+        GraphTraversal<?, Map<String, Object>> messages = buildTraversal(operation, g);
+        timer.lap(Phase.BUILD);
+
+        var top = new TopMessages(operation.getLimit());
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (operation.getLimit() > 0 && messages.hasNext()) {
+            batch.add(messages.next().get(MESSAGE));
+            if (batch.size() == batchSize || !messages.hasNext()) {
+                offerReplies(replies(g, batch, operation.getLimit(), top.threshold()), top);
+                batch.clear();
+            }
+        }
+        List<TopMessages.Message> comments = top.sorted();
+        timer.lap(Phase.EXECUTE);
+        if (comments.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Object, Map<String, Object>> details = new HashMap<>();
+        details(g, comments).forEachRemaining(record -> details.put(record.get("vertex"), record));
+        timer.lap(Phase.ITERATE);
+
+        List<LdbcQuery8Result> results = new ArrayList<>(comments.size());
+        for (TopMessages.Message comment : comments) {
+            Map<String, Object> record = new HashMap<>(details.get(comment.vertexId()));
+            record.put("commentId", comment.messageId());
+            record.put("commentCreationDate", comment.creationDate());
+            results.add(toResult(record));
+        }
+        timer.lap(Phase.CONVERT);
+        return results;
+    }
+
+    /**
+     * Profiles the message stream, the replies of its first batch and the details of the replies that batch
+     * keeps. The stream and the first batch run twice, once profiled and once for the pass after them.
+     */
+    @Override
+    protected TraversalMetrics profile(LdbcQuery8 operation, GraphTraversalSource g, TinkerPopConnectionState state) {
+        var passes = new LinkedHashMap<String, TraversalMetrics>();
+        passes.put("messages", buildTraversal(operation, g).profile().next());
+
+        List<Object> batch = buildTraversal(operation, g)
+                .limit(batchSize(state))
+                .<Object>map(record -> record.get().get(MESSAGE))
+                .toList();
+        if (!batch.isEmpty() && operation.getLimit() > 0) {
+            passes.put("replies", replies(g, batch, operation.getLimit(), Long.MIN_VALUE).profile().next());
+            var top = new TopMessages(operation.getLimit());
+            offerReplies(replies(g, batch, operation.getLimit(), Long.MIN_VALUE), top);
+            List<TopMessages.Message> comments = top.sorted();
+            if (!comments.isEmpty()) {
+                passes.put("details", details(g, comments).profile().next());
+            }
+        }
+        return TraversalProfiler.combine(passes);
+    }
+
+    /**
+     * The first pass: the vertex ids of the start person's messages, streamed in no particular order.
+     */
     @Override
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery8 operation, GraphTraversalSource g) {
         return g.V()
                 .has(PERSON, ID, operation.getPersonIdQ8())
-                    .in(HAS_CREATOR)
-                        .in(REPLY_OF)
-                        .hasLabel(COMMENT)
-                .order()
-                    .by(CREATION_DATE, Order.desc)
-                    .by(ID, Order.asc)
-                .limit(operation.getLimit())
-                .as("comment")
-                    .out(HAS_CREATOR)
-                .project("personId", FIRST_NAME, LAST_NAME, "commentCreationDate",
-                        "commentId", "commentContent")
-                    .by(ID)
-                    .by(FIRST_NAME)
-                    .by(LAST_NAME)
-                    .by(select("comment").values(CREATION_DATE))
-                    .by(select("comment").values(ID))
-                    .by(select("comment").values(CONTENT));
+                .in(HAS_CREATOR)
+                .project(MESSAGE)
+                    .by(id());
+    }
+
+    private static int batchSize(TinkerPopConnectionState state) {
+        return Integer.parseInt(state.getProperties().getOrDefault(BATCH_SIZE, String.valueOf(DEFAULT_BATCH_SIZE)));
+    }
+
+    /**
+     * The {@code limit} newest replies of each message in {@code batch} dated at or after {@code threshold}, newest
+     * first.
+     */
+    private static GraphTraversal<Vertex, Map<String, Object>> replies(GraphTraversalSource g, List<Object> batch,
+                                                                      int limit, long threshold) {
+        GraphTraversal<Vertex, Vertex> candidates = in(REPLY_OF).hasLabel(COMMENT);
+        if (threshold != Long.MIN_VALUE) {
+            candidates = candidates.has(CREATION_DATE, gte(new Date(threshold)));
+        }
+        return g.V(batch.toArray())
+                .project("replies")
+                    .by(candidates
+                            .order()
+                                .by(CREATION_DATE, Order.desc)
+                                .by(ID, Order.asc)
+                            .limit(limit)
+                            .project("vertex", "commentId", CREATION_DATE)
+                                .by(id())
+                                .by(ID)
+                                .by(CREATION_DATE)
+                            .fold());
+    }
+
+    /**
+     * Offers the replies of one batch to {@code top}, each message's until one no longer makes it.
+     */
+    @SuppressWarnings("unchecked")
+    private static void offerReplies(GraphTraversal<Vertex, Map<String, Object>> replies, TopMessages top) {
+        while (replies.hasNext()) {
+            for (Map<String, Object> reply : (List<Map<String, Object>>) replies.next().get("replies")) {
+                if (!top.offer(new TopMessages.Message(reply.get("vertex"), getLong(reply, "commentId"),
+                        getDateAsMillis(reply, CREATION_DATE)))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * The content and creator of the kept replies.
+     */
+    private static GraphTraversal<Vertex, Map<String, Object>> details(GraphTraversalSource g,
+                                                                      List<TopMessages.Message> comments) {
+        return g.V(comments.stream().map(TopMessages.Message::vertexId).toArray())
+                .project("vertex", "personId", FIRST_NAME, LAST_NAME, "commentContent")
+                    .by(id())
+                    .by(out(HAS_CREATOR).values(ID))
+                    .by(out(HAS_CREATOR).values(FIRST_NAME))
+                    .by(out(HAS_CREATOR).values(LAST_NAME))
+                    .by(values(CONTENT));
     }
 
     @Override
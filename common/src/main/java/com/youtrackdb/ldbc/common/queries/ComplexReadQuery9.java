@@ -1,16 +1,17 @@
 package com.youtrackdb.ldbc.common.queries;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery9;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery9Result;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
-import static org.apache.tinkerpop.gremlin.process.traversal.P.lt;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 
 /**
@@ -23,25 +24,21 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 public class ComplexReadQuery9 extends ListQueryHandler<LdbcQuery9, LdbcQuery9Result> {
 
     @Override
+    protected List<LdbcQuery9Result> run(LdbcQuery9 operation, GraphTraversalSource g, TinkerPopConnectionState state,
+                                         OperationTimer timer) {
+        return RecentMessages.run(buildTraversal(operation, g), g, operation.getLimit(), timer, this::toResult);
+    }
+
+    /**
+     * The candidates of {@link RecentMessages}; the handler merges them.
+     */
+    @Override
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcQuery9 operation, GraphTraversalSource g) {
-        return g.V()
-                .has(PERSON, ID, operation.getPersonIdQ9())
-                .repeat(out(KNOWS).simplePath()).times(2).emit()
-                .dedup().as("person")
-                    .in(HAS_CREATOR)
-                    .has(CREATION_DATE, lt(operation.getMaxDate()))
-                .order()
-                    .by(CREATION_DATE, Order.desc)
-                    .by(ID, Order.asc)
-                .limit(operation.getLimit())
-                .project("personId", FIRST_NAME, LAST_NAME, "messageId",
-                        "messageContent", "messageCreationDate")
-                    .by(select("person").values(ID))
-                    .by(select("person").values(FIRST_NAME))
-                    .by(select("person").values(LAST_NAME))
-                    .by(ID)
-                    .by(coalesce(values(IMAGE_FILE), values(CONTENT)))
-                    .by(CREATION_DATE);
+        return RecentMessages.candidates(g.V()
+                        .has(PERSON, ID, operation.getPersonIdQ9())
+                        .repeat(out(KNOWS).simplePath()).times(2).emit()
+                        .dedup(),
+                operation.getMaxDate(), operation.getLimit());
     }
 
     @Override
@@ -50,8 +47,8 @@ public class ComplexReadQuery9 extends ListQueryHandler<LdbcQuery9, LdbcQuery9Re
         String personFirstName = getString(record, FIRST_NAME);
         String personLastName = getString(record, LAST_NAME);
         long messageId = getLong(record, "messageId");
-        String messageContent = getString(record, "messageContent");
-        long messageCreationDate = getDateAsMillis(record, "messageCreationDate");
+        String messageContent = getString(record, "content");
+        long messageCreationDate = getDateAsMillis(record, CREATION_DATE);
 
         return new LdbcQuery9Result(
                 personId,
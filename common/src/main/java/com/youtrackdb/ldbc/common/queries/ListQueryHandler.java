@@ -1,8 +1,12 @@
 package com.youtrackdb.ldbc.common.queries;
 
 import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
+import com.youtrackdb.ldbc.common.metrics.TraversalProfiler;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.ldbcouncil.snb.driver.DbException;
 import org.ldbcouncil.snb.driver.Operation;
 import org.ldbcouncil.snb.driver.OperationHandler;
@@ -17,17 +21,15 @@ abstract class ListQueryHandler<TOperation extends Operation<List<TResult>>, TRe
 
     @Override
     public void executeOperation(TOperation operation, TinkerPopConnectionState state, ResultReporter resultReporter) throws DbException {
-        try {
-            Map<String, String> properties = state.getProperties();
-            List<TResult> results = state.computeInTx(g -> {
-                GraphTraversal<?, Map<String, Object>> traversal = buildTraversal(operation, g, properties);
-                List<TResult> list = new ArrayList<>();
-                while (traversal.hasNext()) {
-                    list.add(toResult(traversal.next()));
-                }
-                return list;
-            });
+        try (OperationTimer timer = state.getMetrics().start(operation)) {
+            List<TResult> results = execute(operation, state, timer);
+            state.getSlowLog().record(operation, timer.stop(results.size()), results.size());
             resultReporter.report(results.size(), results, operation);
+
+            TraversalProfiler profiler = state.getProfiler();
+            if (profiler.sample()) {
+                profiler.profile(operation, () -> state.computeInTx(g -> profile(operation, g, state)));
+            }
         } catch (DbException e) {
             throw e;
         } catch (Exception e) {
@@ -35,6 +37,57 @@ abstract class ListQueryHandler<TOperation extends Operation<List<TResult>>, TRe
         }
     }
 
+    /**
+     * Runs {@link #run} in a transaction cancelled after the operation's timeout.
+     */
+    protected List<TResult> execute(TOperation operation, TinkerPopConnectionState state, OperationTimer timer)
+            throws Exception {
+        return state.computeInTx(operation, g -> {
+            timer.enterTx();
+            return run(operation, g, state, timer);
+        });
+    }
+
+    /**
+     * Runs the query in the open transaction and records its phases on {@code timer}. Queries that need more
+     * than one traversal override this, and {@link #profile} too if {@link #buildTraversal} is only one of them.
+     */
+    protected List<TResult> run(TOperation operation, GraphTraversalSource g, TinkerPopConnectionState state,
+                                OperationTimer timer) {
+        GraphTraversal<?, Map<String, Object>> traversal = buildTraversal(operation, g, state);
+        timer.lap(Phase.BUILD);
+        boolean hasNext = traversal.hasNext();
+        timer.lap(Phase.EXECUTE);
+
+        List<TResult> list = new ArrayList<>();
+        long convertNanos = 0;
+        while (hasNext) {
+            Map<String, Object> record = traversal.next();
+            long convertStart = System.nanoTime();
+            list.add(toResult(record));
+            convertNanos += System.nanoTime() - convertStart;
+            hasNext = traversal.hasNext();
+        }
+        timer.record(Phase.CONVERT, convertNanos);
+        timer.lap(Phase.ITERATE, convertNanos);
+        return list;
+    }
+
+    /**
+     * Profiles a sampled operation in the open transaction: {@link #buildTraversal} by default.
+     */
+    protected TraversalMetrics profile(TOperation operation, GraphTraversalSource g, TinkerPopConnectionState state) {
+        return buildTraversal(operation, g, state).profile().next();
+    }
+
+    /**
+     * The traversal of {@link #run} and of the sampled profiles.
+     */
+    protected GraphTraversal<?, Map<String, Object>> buildTraversal(TOperation operation, GraphTraversalSource g,
+                                                                    TinkerPopConnectionState state) {
+        return buildTraversal(operation, g, state.getProperties());
+    }
+
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(TOperation operation, GraphTraversalSource g, Map<String, String> properties) {
         return buildTraversal(operation, g);
     }
@@ -0,0 +1,83 @@
+package com.youtrackdb.ldbc.common.queries;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of {@code long} ids for membership checks in queries that post-process traversal results,
+ * without boxing every lookup.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots;
+    private int size;
+    private boolean containsEmpty;
+
+    LongHashSet(int expectedSize) {
+        slots = newSlots(Math.max(4, expectedSize));
+    }
+
+    boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsEmpty;
+            containsEmpty = true;
+            return added;
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+            if (slots[i] == EMPTY) {
+                slots[i] = value;
+                if (++size * 2 > slots.length) {
+                    grow();
+                }
+                return true;
+            }
+        }
+    }
+
+    boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = slots.length - 1;
+        for (int i = slot(value, mask); ; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return true;
+            }
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    int size() {
+        return containsEmpty ? size + 1 : size;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = newSlots(old.length);
+        size = 0;
+        for (long value : old) {
+            if (value != EMPTY) {
+                add(value);
+            }
+        }
+    }
+
+    // At most half full
+    private static long[] newSlots(int expectedSize) {
+        long[] slots = new long[Integer.highestOneBit(expectedSize * 2 - 1) << 1];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int slot(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+}
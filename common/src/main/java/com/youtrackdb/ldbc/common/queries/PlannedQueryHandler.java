@@ -0,0 +1,46 @@
+package com.youtrackdb.ldbc.common.queries;
+
+import com.youtrackdb.ldbc.common.PlannerStatistics;
+import com.youtrackdb.ldbc.common.QueryPlanner;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.ResultReporter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A query with alternative plans, chosen per operation by the {@link QueryPlanner} of the connection state.
+ * Without a planner, in {@link #buildTraversal(Operation, GraphTraversalSource)}, the first plan is used with
+ * statistics of its own.
+ */
+abstract class PlannedQueryHandler<TOperation extends Operation<List<TResult>>, TResult>
+        extends ListQueryHandler<TOperation, TResult> {
+
+    protected abstract List<QueryPlanner.Plan<TOperation>> plans();
+
+    @Override
+    public void executeOperation(TOperation operation, TinkerPopConnectionState state,
+                                 ResultReporter resultReporter) throws DbException {
+        super.executeOperation(operation, state, resultReporter);
+
+        QueryPlanner planner = state.getPlanner();
+        if (planner.sample()) {
+            planner.check(operation, () -> state.computeInTx(g -> planner.measure(operation, g, plans())));
+        }
+    }
+
+    @Override
+    protected GraphTraversal<?, Map<String, Object>> buildTraversal(TOperation operation, GraphTraversalSource g,
+                                                                    TinkerPopConnectionState state) {
+        return state.getPlanner().choose(operation, g, plans()).traversal(operation, g);
+    }
+
+    @Override
+    protected GraphTraversal<?, Map<String, Object>> buildTraversal(TOperation operation, GraphTraversalSource g) {
+        return plans().get(0).traversal(operation, g, new PlannerStatistics());
+    }
+}
@@ -0,0 +1,107 @@
+package com.youtrackdb.ldbc.common.queries;
+
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
+
+/**
+ * Top-N engine for the most recent messages of a set of creators (IC2, IC9). {@code HAS_CREATOR} edges carry the
+ * creation date of their message, so each creator's {@code limit} newest messages are picked from its edges and
+ * only those messages are read, as vertex id, message id and date, to be merged in a {@link TopMessages}. Only the
+ * winners' content and creator are fetched. Both the messages read and the merged volume grow with creators times
+ * {@code limit}.
+ *
+ * <p>Records have the keys {@code personId}, {@code firstName}, {@code lastName}, {@code messageId},
+ * {@code content} and {@code creationDate}.
+ */
+final class RecentMessages {
+
+    private RecentMessages() {
+    }
+
+    /**
+     * Per creator, its {@code limit} most recent messages before {@code maxDate}, newest first. Only the edges are
+     * sorted, so messages of one creator dated exactly like its {@code limit}-th may be cut in any id order.
+     */
+    static GraphTraversal<?, Map<String, Object>> candidates(GraphTraversal<?, Vertex> creators, Date maxDate,
+                                                             int limit) {
+        return creators
+                .project("messages")
+                    .by(inE(HAS_CREATOR)
+                            .has(CREATION_DATE, lt(maxDate))
+                            .order()
+                                .by(CREATION_DATE, Order.desc)
+                            .limit(limit)
+                            .project("vertex", "messageId", CREATION_DATE)
+                                .by(outV().id())
+                                .by(outV().values(ID))
+                                .by(CREATION_DATE)
+                            // Ties in id order, which TopMessages relies on to stop early
+                            .order()
+                                .by(CREATION_DATE, Order.desc)
+                                .by("messageId", Order.asc)
+                            .fold());
+    }
+
+    /**
+     * Merges the lists of {@code candidates} into the {@code limit} most recent messages and converts their
+     * records with {@code toResult}.
+     */
+    @SuppressWarnings("unchecked")
+    static <R> List<R> run(GraphTraversal<?, Map<String, Object>> candidates, GraphTraversalSource g, int limit,
+                           OperationTimer timer, Function<Map<String, Object>, R> toResult) {
+        timer.lap(Phase.BUILD);
+        var top = new TopMessages(limit);
+        while (candidates.hasNext()) {
+            for (Map<String, Object> record : (List<Map<String, Object>>) candidates.next().get("messages")) {
+                var message = new TopMessages.Message(record.get("vertex"), getLong(record, "messageId"),
+                        getDateAsMillis(record, CREATION_DATE));
+                if (!top.offer(message)) {
+                    // The rest of this creator's list is older still
+                    break;
+                }
+            }
+        }
+        List<TopMessages.Message> messages = top.sorted();
+        timer.lap(Phase.EXECUTE);
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Object, Map<String, Object>> details = new HashMap<>();
+        g.V(messages.stream().map(TopMessages.Message::vertexId).toArray())
+                .project("vertex", "personId", FIRST_NAME, LAST_NAME, "content")
+                    .by(id())
+                    .by(out(HAS_CREATOR).values(ID))
+                    .by(out(HAS_CREATOR).values(FIRST_NAME))
+                    .by(out(HAS_CREATOR).values(LAST_NAME))
+                    .by(coalesce(values(IMAGE_FILE), values(CONTENT)))
+                .forEachRemaining(record -> details.put(record.get("vertex"), record));
+        timer.lap(Phase.ITERATE);
+
+        List<R> results = new ArrayList<>(messages.size());
+        for (TopMessages.Message message : messages) {
+            Map<String, Object> record = new HashMap<>(details.get(message.vertexId()));
+            record.put("messageId", message.messageId());
+            record.put(CREATION_DATE, message.creationDate());
+            results.add(toResult.apply(record));
+        }
+        timer.lap(Phase.CONVERT);
+        return results;
+    }
+}
@@ -1,11 +1,16 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.FriendListCache;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery3PersonFriends;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery3PersonFriendsResult;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
@@ -19,6 +24,32 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select
  */
 public class ShortReadQuery3 extends ListQueryHandler<LdbcShortQuery3PersonFriends, LdbcShortQuery3PersonFriendsResult> {
 
+    /**
+     * Serves the friends from the {@link FriendListCache} when enabled, without a transaction, and caches the
+     * friends read on a miss.
+     */
+    @Override
+    protected List<LdbcShortQuery3PersonFriendsResult> execute(LdbcShortQuery3PersonFriends operation,
+                                                               TinkerPopConnectionState state,
+                                                               OperationTimer timer) throws Exception {
+        FriendListCache friendLists = state.getFriendLists();
+        if (!friendLists.isEnabled()) {
+            return super.execute(operation, state, timer);
+        }
+
+        long personId = operation.getPersonIdSQ3();
+        List<LdbcShortQuery3PersonFriendsResult> friends = friendLists.get(personId);
+        if (friends != null) {
+            timer.lap(Phase.EXECUTE);
+            return friends;
+        }
+        // Taken before the transaction starts, so that a friendship committed after its snapshot prevents caching
+        long version = friendLists.version();
+        friends = super.execute(operation, state, timer);
+        friendLists.put(personId, version, friends);
+        return friends;
+    }
+
     @Override
     protected GraphTraversal<?, Map<String, Object>> buildTraversal(LdbcShortQuery3PersonFriends operation, GraphTraversalSource g) {
 
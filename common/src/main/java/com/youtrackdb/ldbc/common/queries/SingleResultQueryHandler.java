@@ -1,6 +1,9 @@
 package com.youtrackdb.ldbc.common.queries;
 
 import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
+import com.youtrackdb.ldbc.common.metrics.TraversalProfiler;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.DbException;
@@ -15,17 +18,32 @@ public abstract class SingleResultQueryHandler<TOperation extends Operation<TOpe
 
     @Override
     public void executeOperation(TOperation operation, TinkerPopConnectionState state, ResultReporter resultReporter) throws DbException {
-        try {
+        try (OperationTimer timer = state.getMetrics().start(operation)) {
             Map<String, String> properties = state.getProperties();
-            TOperationResult result = state.computeInTx(g -> {
+            TOperationResult result = state.computeInTx(operation, g -> {
+                timer.enterTx();
                 GraphTraversal<?, Map<String, Object>> traversal = buildTraversal(operation, g, properties);
-                if (traversal.hasNext()) {
-                    return toResult(traversal.next());
+                timer.lap(Phase.BUILD);
+                boolean hasNext = traversal.hasNext();
+                timer.lap(Phase.EXECUTE);
+                if (hasNext) {
+                    Map<String, Object> record = traversal.next();
+                    timer.lap(Phase.ITERATE);
+                    TOperationResult converted = toResult(record);
+                    timer.lap(Phase.CONVERT);
+                    return converted;
                 } else {
                     throw new DbException("No results for query");
                 }
             });
+            state.getSlowLog().record(operation, timer.stop(1), 1);
             resultReporter.report(0, result, operation);
+
+            TraversalProfiler profiler = state.getProfiler();
+            if (profiler.sample()) {
+                profiler.profile(operation,
+                        () -> state.computeInTx(g -> buildTraversal(operation, g, properties).profile().next()));
+            }
         } catch (DbException e) {
             throw e;
         } catch (Exception e) {
@@ -0,0 +1,56 @@
+package com.youtrackdb.ldbc.common.queries;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code limit} most recent messages offered so far, newest first with ties by ascending message id, as
+ * IC2, IC8 and IC9 order them. Keeps at most {@code limit} entries however many are offered.
+ */
+final class TopMessages {
+
+    record Message(Object vertexId, long messageId, long creationDate) {
+    }
+
+    private static final Comparator<Message> RECENT_FIRST = Comparator.comparingLong(Message::creationDate)
+            .reversed()
+            .thenComparingLong(Message::messageId);
+
+    private final int limit;
+    // Worst kept message on top, so it is the one to evict
+    private final PriorityQueue<Message> heap;
+
+    TopMessages(int limit) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(Math.max(1, limit + 1), RECENT_FIRST.reversed());
+    }
+
+    /**
+     * @return {@code false} if {@code message} does not make the cut, so neither will any older one
+     */
+    boolean offer(Message message) {
+        if (heap.size() == limit && (limit == 0 || RECENT_FIRST.compare(message, heap.peek()) >= 0)) {
+            return false;
+        }
+        heap.add(message);
+        if (heap.size() > limit) {
+            heap.poll();
+        }
+        return true;
+    }
+
+    /**
+     * The creation date a message needs at least to still make the cut; {@link Long#MIN_VALUE} until full.
+     */
+    long threshold() {
+        return heap.size() == limit && limit > 0 ? heap.peek().creationDate() : Long.MIN_VALUE;
+    }
+
+    List<Message> sorted() {
+        List<Message> messages = new ArrayList<>(heap);
+        messages.sort(RECENT_FIRST);
+        return messages;
+    }
+}
@@ -1,5 +1,6 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate1AddPerson;
 
@@ -52,4 +53,9 @@ public class Update1AddPerson extends UpdateHandler<LdbcUpdate1AddPerson> {
 
         traversal.iterate();
     }
+
+    @Override
+    protected void afterCommit(LdbcUpdate1AddPerson operation, Object applied, TinkerPopConnectionState state) {
+        state.getFriendLists().addPerson(operation.getPersonId());
+    }
 }
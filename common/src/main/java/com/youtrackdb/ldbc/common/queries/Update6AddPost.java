@@ -34,6 +34,7 @@ public class Update6AddPost extends UpdateHandler<LdbcUpdate6AddPost> {
                         .addE(HAS_CREATOR)
                             .from("post")
                             .to(V().has(PERSON, ID, operation.getAuthorPersonId()))
+                            .property(CREATION_DATE, operation.getCreationDate())
                         .addE(CONTAINER_OF)
                             .from(V().has(FORUM, ID, operation.getForumId()))
                             .to("post")
@@ -27,6 +27,7 @@ public class Update7AddComment extends UpdateHandler<LdbcUpdate7AddComment> {
                         .addE(HAS_CREATOR)
                             .from("comment")
                             .to(V().has(PERSON, ID, operation.getAuthorPersonId()))
+                            .property(CREATION_DATE, operation.getCreationDate())
                         .addE(IS_LOCATED_IN)
                             .from("comment")
                             .to(V().has(PLACE, ID, operation.getCountryId()));
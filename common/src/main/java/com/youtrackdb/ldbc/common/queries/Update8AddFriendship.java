@@ -1,10 +1,22 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.FriendListCache;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery3PersonFriendsResult;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate8AddFriendship;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
+
+import static com.youtrackdb.ldbc.common.GremlinHelpers.*;
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
-import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.V;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
 
 /**
  * Update 8: Add friendship
@@ -13,12 +25,72 @@ import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.V;
  */
 public class Update8AddFriendship extends UpdateHandler<LdbcUpdate8AddFriendship> {
 
+    private static final Logger logger = LoggerFactory.getLogger(Update8AddFriendship.class);
+
+    /**
+     * The two persons, each as a friend of the other.
+     */
+    private record Friends(LdbcShortQuery3PersonFriendsResult person1, LdbcShortQuery3PersonFriendsResult person2) {
+    }
+
     @Override
     protected void executeUpdate(LdbcUpdate8AddFriendship operation, GraphTraversalSource g) {
-        g.V().has(PERSON, ID, operation.getPerson1Id()).as("p1")
+        addFriendship(operation, g).iterate();
+    }
+
+    /**
+     * Adds the friendship and reads both names for the friend list cache in the same traversal.
+     */
+    @Override
+    protected Friends apply(LdbcUpdate8AddFriendship operation, GraphTraversalSource g) {
+        List<Map<String, Object>> records = addFriendship(operation, g)
+                .project("person1Id", "person1FirstName", "person1LastName",
+                        "person2Id", "person2FirstName", "person2LastName")
+                    .by(select("p1").values(ID))
+                    .by(select("p1").values(FIRST_NAME))
+                    .by(select("p1").values(LAST_NAME))
+                    .by(select("p2").values(ID))
+                    .by(select("p2").values(FIRST_NAME))
+                    .by(select("p2").values(LAST_NAME))
+                .toList();
+        if (records.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> record = records.get(0);
+        long creationDate = operation.getCreationDate().getTime();
+        return new Friends(
+                new LdbcShortQuery3PersonFriendsResult(getLong(record, "person1Id"),
+                        getString(record, "person1FirstName"), getString(record, "person1LastName"), creationDate),
+                new LdbcShortQuery3PersonFriendsResult(getLong(record, "person2Id"),
+                        getString(record, "person2FirstName"), getString(record, "person2LastName"), creationDate));
+    }
+
+    private static GraphTraversal<Vertex, Edge> addFriendship(LdbcUpdate8AddFriendship operation,
+                                                            GraphTraversalSource g) {
+        return g.V().has(PERSON, ID, operation.getPerson1Id()).as("p1")
                 .V().has(PERSON, ID, operation.getPerson2Id()).as("p2")
                 .addE(KNOWS).from("p1").to("p2").property(CREATION_DATE, operation.getCreationDate())
-                .addE(KNOWS).from("p2").to("p1").property(CREATION_DATE, operation.getCreationDate())
-                .iterate();
+                .addE(KNOWS).from("p2").to("p1").property(CREATION_DATE, operation.getCreationDate());
+    }
+
+    /**
+     * Adds each person to the other's cached friend list.
+     */
+    @Override
+    protected void afterCommit(LdbcUpdate8AddFriendship operation, Object applied, TinkerPopConnectionState state) {
+        FriendListCache friendLists = state.getFriendLists();
+        if (!friendLists.isEnabled()) {
+            return;
+        }
+
+        var friends = (Friends) applied;
+        if (friends == null) {
+            logger.warn("Persons {} and {} of a friendship were not found, dropping their cached friend lists",
+                    operation.getPerson1Id(), operation.getPerson2Id());
+            friendLists.addFriendship(operation.getPerson1Id(), null, operation.getPerson2Id(), null);
+            return;
+        }
+        friendLists.addFriendship(operation.getPerson1Id(), friends.person1(),
+                operation.getPerson2Id(), friends.person2());
     }
 }
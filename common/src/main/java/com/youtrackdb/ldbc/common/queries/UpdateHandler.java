@@ -1,6 +1,10 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.GroupCommitExecutor;
 import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
+import com.youtrackdb.ldbc.common.metrics.Phase;
+import org.apache.commons.lang3.function.FailableConsumer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.ldbcouncil.snb.driver.DbException;
 import org.ldbcouncil.snb.driver.Operation;
@@ -8,12 +12,38 @@ import org.ldbcouncil.snb.driver.OperationHandler;
 import org.ldbcouncil.snb.driver.ResultReporter;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcNoResult;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 abstract class UpdateHandler<TOperation extends Operation<LdbcNoResult>> implements OperationHandler<TOperation, TinkerPopConnectionState> {
 
     @Override
     public void executeOperation(TOperation operation, TinkerPopConnectionState state, ResultReporter resultReporter) throws DbException {
-        try {
-            state.executeInTx(g -> executeUpdate(operation, g));
+        try (OperationTimer timer = state.getMetrics().start(operation)) {
+            // What the committed run of the update read for afterCommit
+            var applied = new AtomicReference<>();
+            FailableConsumer<GraphTraversalSource, Exception> update = g -> {
+                timer.enterTx();
+                applied.set(apply(operation, g));
+                timer.lap(Phase.EXECUTE);
+            };
+            GroupCommitExecutor groupCommit = state.getGroupCommit();
+            boolean committed = false;
+            if (groupCommit.isEnabled()) {
+                // Timed on the committer thread; waiting for the batch counts towards no phase but the total
+                GroupCommitExecutor.Outcome batched = groupCommit.execute(g -> applied.set(apply(operation, g)));
+                committed = batched.committed();
+                if (committed) {
+                    timer.delegated(batched.executeNanos(), batched.transactionNanos());
+                } else {
+                    timer.skip();
+                }
+            }
+            if (!committed) {
+                // A failed batch applied nothing, so its updates run alone, with retries
+                state.getRetryPolicy().run(operation, () -> state.executeInTx(update));
+            }
+            afterCommit(operation, applied.get(), state);
+            state.getSlowLog().record(operation, timer.stop(0), 0);
             resultReporter.report(0, LdbcNoResult.INSTANCE, operation);
         } catch (Exception e) {
             throw new DbException("Error executing update", e);
@@ -21,4 +51,22 @@ abstract class UpdateHandler<TOperation extends Operation<LdbcNoResult>> impleme
     }
 
     protected abstract void executeUpdate(TOperation operation, GraphTraversalSource g);
+
+    /**
+     * Runs {@link #executeUpdate} in the open transaction and returns what {@link #afterCommit} needs to know of
+     * it, read by the same traversal rather than in another transaction. The default returns {@code null}.
+     */
+    protected Object apply(TOperation operation, GraphTraversalSource g) {
+        executeUpdate(operation, g);
+        return null;
+    }
+
+    /**
+     * Called once the update is committed, before it is reported, e.g. to update caches.
+     *
+     * @param applied what {@link #apply} returned in the committed transaction
+     */
+    protected void afterCommit(TOperation operation, Object applied, TinkerPopConnectionState state)
+            throws Exception {
+    }
 }
@@ -0,0 +1,83 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery3PersonFriendsResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FriendListCacheTest {
+
+    private final FriendListCache cache = new FriendListCache(Map.of(FriendListCache.SIZE, "2"));
+
+    @Test
+    void addsFriendshipsInPlaceInResultOrder() {
+        cache.put(1L, cache.version(), List.of(friend(2L, 300), friend(3L, 100)));
+        cache.addPerson(9L);
+
+        cache.addFriendship(1L, friend(1L, 200), 4L, friend(4L, 200));
+        cache.addFriendship(1L, friend(1L, 200), 5L, friend(5L, 200));
+        cache.addFriendship(9L, friend(9L, 400), 1L, friend(1L, 400));
+        // Already read from the database after the friendship was committed
+        cache.addFriendship(1L, friend(1L, 300), 2L, friend(2L, 300));
+
+        assertEquals(List.of("1:400"), describe(cache.get(9L)));
+        assertEquals(List.of("9:400", "2:300", "4:200", "5:200", "3:100"), describe(cache.get(1L)));
+        assertNull(cache.get(4L));
+    }
+
+    @Test
+    void skipsListsReadBeforeAFriendshipWasAdded() {
+        long version = cache.version();
+        cache.addFriendship(1L, friend(1L, 100), 2L, friend(2L, 100));
+
+        cache.put(1L, version, List.of());
+        assertNull(cache.get(1L));
+        cache.put(1L, cache.version(), List.of(friend(2L, 100)));
+        assertEquals(List.of("2:100"), describe(cache.get(1L)));
+    }
+
+    @Test
+    void dropsListsWhenTheFriendIsUnknown() {
+        cache.put(1L, cache.version(), List.of());
+        cache.put(2L, cache.version(), List.of());
+
+        cache.addFriendship(1L, friend(1L, 100), 2L, null);
+
+        assertNull(cache.get(1L));
+        assertEquals(List.of("1:100"), describe(cache.get(2L)));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyReadPerson() {
+        cache.addPerson(1L);
+        cache.addPerson(2L);
+        cache.get(1L);
+        cache.addPerson(3L);
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+    }
+
+    @Test
+    void cachesNothingWhenDisabled() {
+        var disabled = new FriendListCache(Map.of());
+        disabled.addPerson(1L);
+        disabled.put(2L, disabled.version(), List.of());
+
+        assertFalse(disabled.isEnabled());
+        assertNull(disabled.get(1L));
+        assertNull(disabled.get(2L));
+    }
+
+    private static LdbcShortQuery3PersonFriendsResult friend(long personId, long creationDate) {
+        return new LdbcShortQuery3PersonFriendsResult(personId, "First" + personId, "Last" + personId, creationDate);
+    }
+
+    private static List<String> describe(List<LdbcShortQuery3PersonFriendsResult> friends) {
+        return friends.stream().map(friend -> friend.getPersonId() + ":" + friend.getFriendshipCreationDate()).toList();
+    }
+}
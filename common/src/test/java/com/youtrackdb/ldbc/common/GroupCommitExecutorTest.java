@@ -0,0 +1,131 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.commons.lang3.function.FailableConsumer;
+import org.apache.commons.lang3.function.FailableFunction;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitExecutorTest {
+
+    /**
+     * Runs every transaction directly on a TinkerGraph and counts them.
+     */
+    private static class CountingProvider implements GraphProvider {
+        private final GraphTraversalSource g = TinkerGraph.open().traversal();
+        private final AtomicInteger transactions = new AtomicInteger();
+
+        @Override
+        public <E extends Exception> void executeInTx(FailableConsumer<GraphTraversalSource, E> code) throws E {
+            transactions.incrementAndGet();
+            code.accept(g);
+        }
+
+        @Override
+        public <E extends Exception, R> R computeInTx(FailableFunction<GraphTraversalSource, R, E> code) throws E {
+            transactions.incrementAndGet();
+            return code.apply(g);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void isOffByDefault() {
+        try (var executor = new GroupCommitExecutor(new CountingProvider(), Map.of())) {
+            assertFalse(executor.isEnabled());
+        }
+    }
+
+    @Test
+    void commitsConcurrentUpdatesTogether() throws Exception {
+        var provider = new CountingProvider();
+        try (var executor = new GroupCommitExecutor(provider, Map.of(
+                GroupCommitExecutor.ENABLED, "true", GroupCommitExecutor.WINDOW, "50000"))) {
+            var threads = Executors.newFixedThreadPool(8);
+            var updates = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                long id = i;
+                updates.add(() -> executor.execute(g -> g.addV("Person").property("id", id).iterate()).committed());
+            }
+            List<Future<Boolean>> results = threads.invokeAll(updates);
+            threads.shutdown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+            assertEquals(8, provider.g.V().count().next());
+            assertEquals(8, executor.batchedUpdates());
+            assertTrue(executor.batches() < 8, "batches " + executor.batches());
+            assertEquals(executor.batches(), provider.transactions.get());
+        }
+    }
+
+    @Test
+    void failedBatchReportsEveryUpdateAsNotCommitted() throws Exception {
+        try (var executor = new GroupCommitExecutor(new CountingProvider(), Map.of(
+                GroupCommitExecutor.ENABLED, "true", GroupCommitExecutor.WINDOW, "0"))) {
+            assertFalse(executor.execute(g -> {
+                throw new IllegalStateException("conflict");
+            }).committed());
+            GroupCommitExecutor.Outcome outcome = executor.execute(g -> {
+                Thread.sleep(20);
+                g.addV("Person").iterate();
+            });
+            assertTrue(outcome.committed());
+            assertTrue(outcome.executeNanos() >= 20_000_000, "execute " + outcome.executeNanos());
+            assertTrue(outcome.transactionNanos() >= 0);
+            assertEquals(1, executor.failedBatches());
+            assertEquals(1, executor.batches());
+        }
+    }
+
+    @Test
+    void errorsFailTheBatchWithoutStoppingTheCommitter() throws Exception {
+        try (var executor = new GroupCommitExecutor(new CountingProvider(), Map.of(
+                GroupCommitExecutor.ENABLED, "true", GroupCommitExecutor.WINDOW, "0"))) {
+            assertFalse(executor.execute(g -> {
+                throw new AssertionError("broken update");
+            }).committed());
+            assertTrue(executor.execute(g -> g.addV("Person").iterate()).committed());
+            assertEquals(1, executor.failedBatches());
+        }
+    }
+
+    @Test
+    void updatesAfterCloseAreNotCommitted() throws Exception {
+        var executor = new GroupCommitExecutor(new CountingProvider(), Map.of(GroupCommitExecutor.ENABLED, "true"));
+        executor.close();
+
+        assertFalse(executor.execute(g -> g.addV("Person").iterate()).committed());
+    }
+
+    @Test
+    void closeCommitsTheQueuedUpdates() throws Exception {
+        var provider = new CountingProvider();
+        var executor = new GroupCommitExecutor(provider, Map.of(
+                GroupCommitExecutor.ENABLED, "true", GroupCommitExecutor.WINDOW, "10000000"));
+        var thread = Executors.newSingleThreadExecutor();
+        Future<Boolean> queued = thread.submit(() -> executor.execute(g -> g.addV("Person").iterate()).committed());
+        // Well within the 10 s window of the batch
+        Thread.sleep(200);
+        executor.close();
+        thread.shutdown();
+
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+        assertEquals(1, provider.g.V().count().next());
+    }
+}
@@ -0,0 +1,71 @@
+package com.youtrackdb.ldbc.common;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery1;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery14;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationTimeoutsTest {
+
+    private final GraphTraversalSource g = TinkerGraph.open().traversal();
+    private final OperationTimeouts timeouts =
+            new OperationTimeouts(Map.of(OperationTimeouts.TIMEOUT + ".LdbcQuery14", "100"), false);
+
+    @AfterEach
+    void close() {
+        timeouts.close();
+    }
+
+    @Test
+    void cancelsTraversalsRunningPastTheLimit() {
+        long start = System.nanoTime();
+        var e = assertThrows(OperationTimeoutException.class, () -> timeouts.run(new LdbcQuery14(1L, 2L),
+                limit -> limit.apply(g).inject(1).repeat(__.identity()).times(Integer.MAX_VALUE).toList()));
+
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+        assertEquals("LdbcQuery14", e.getOperationName());
+        assertEquals(100, e.getTimeoutMillis());
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(Map.of("LdbcQuery14", 1L), timeouts.timedOut());
+    }
+
+    @Test
+    void interruptsTheCallerOnlyForRemoteProviders() throws Exception {
+        try (var remote = new OperationTimeouts(Map.of(OperationTimeouts.TIMEOUT, "100"), true)) {
+            var e = assertThrows(OperationTimeoutException.class, () -> remote.run(new LdbcQuery14(1L, 2L), limit -> {
+                Thread.sleep(10_000);
+                return null;
+            }));
+            assertInstanceOf(InterruptedException.class, e.getCause());
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+
+        var interrupted = assertThrows(OperationTimeoutException.class, () -> timeouts.run(new LdbcQuery14(1L, 2L),
+                limit -> limit.apply(g).inject(1).repeat(__.identity()).times(Integer.MAX_VALUE).toList()));
+        assertInstanceOf(TraversalInterruptedException.class, interrupted.getCause());
+    }
+
+    @Test
+    void leavesOperationsWithoutLimitAlone() throws Exception {
+        GraphTraversalSource source = timeouts.run(new LdbcQuery1(1L, "Jan", 20), limit -> limit.apply(g));
+
+        assertSame(g, source);
+    }
+
+    @Test
+    void passesThroughFailuresBeforeTheLimit() {
+        assertThrows(IllegalStateException.class, () -> timeouts.run(new LdbcQuery14(1L, 2L), limit -> {
+            throw new IllegalStateException("query error");
+        }));
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertTrue(timeouts.timedOut().isEmpty());
+    }
+}
@@ -0,0 +1,232 @@
+package com.youtrackdb.ldbc.common;
+
+import com.youtrackdb.ldbc.common.metrics.Json;
+import com.youtrackdb.ldbc.common.metrics.PlanLog;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery6;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlannerTest {
+
+    @TempDir
+    Path resultsDir;
+
+    private final GraphTraversalSource g = TinkerGraph.open().traversal();
+    private final LdbcQuery6 operation = new LdbcQuery6(1L, "Java", 10);
+
+    private record FixedPlan(String name, long estimate, long cardinality) implements QueryPlanner.Plan<LdbcQuery6> {
+
+        @Override
+        public long estimate(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return estimate;
+        }
+
+        @Override
+        public long cardinality(LdbcQuery6 operation, GraphTraversalSource g, PlannerStatistics statistics) {
+            return cardinality;
+        }
+
+        @Override
+        public GraphTraversal<?, Map<String, Object>> traversal(LdbcQuery6 operation, GraphTraversalSource g,
+                                                              PlannerStatistics statistics) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final List<FixedPlan> PLANS = List.of(
+            new FixedPlan("forward", 50, 80), new FixedPlan("reverse", 20, 25), new FixedPlan("other", 20, 0));
+
+    @Test
+    void choosesTheSmallestEstimateUnlessAPlanIsForced() throws Exception {
+        try (var planner = planner(Map.of())) {
+            QueryPlanner.Choice<LdbcQuery6> choice = planner.choose(operation, g, PLANS);
+            assertEquals("reverse", choice.plan().name());
+            assertEquals(Map.of("forward", 50L, "reverse", 20L, "other", 20L), choice.estimates());
+        }
+        try (var planner = planner(Map.of(QueryPlanner.PLAN + ".LdbcQuery6", "forward"))) {
+            assertEquals("forward", planner.choose(operation, g, PLANS).plan().name());
+            assertEquals(Map.of(), planner.choose(operation, g, PLANS).estimates());
+            QueryPlanner.Sample sample = planner.measure(operation, g, PLANS);
+            assertEquals("forward", sample.plan());
+            assertEquals(Map.of("forward", 50L, "reverse", 20L, "other", 20L), sample.estimates());
+            assertEquals(80, sample.actual());
+        }
+        try (var planner = planner(Map.of(QueryPlanner.PLAN + ".LdbcQuery6", "sideways"))) {
+            assertThrows(IllegalArgumentException.class, () -> planner.choose(operation, g, PLANS));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void logsEstimatesAndActualCardinalityOfCheckedChoices() throws Exception {
+        try (var planner = planner(Map.of(QueryPlanner.SAMPLE_RATE, "1"))) {
+            assertTrue(planner.sample());
+            planner.check(operation, () -> planner.measure(operation, g, PLANS));
+            planner.check(operation, () -> {
+                throw new IllegalStateException("Not logged");
+            });
+        }
+
+        List<String> lines = Files.readAllLines(resultsDir.resolve(PlanLog.PLANS_FILE));
+        assertEquals(1, lines.size());
+        var json = (Map<String, Object>) Json.parse(lines.get(0));
+        assertEquals("LdbcQuery6", json.get("operation"));
+        assertEquals("reverse", json.get("plan"));
+        assertEquals(20L, ((Map<String, Object>) json.get("estimates")).get("reverse"));
+        assertEquals(25L, json.get("actual"));
+        assertEquals("Java", ((Map<String, Object>) json.get("parameters")).get("tagName"));
+    }
+
+    @Test
+    void checksDoNotBlockTheCaller() throws Exception {
+        var release = new CountDownLatch(1);
+        try (var planner = planner(Map.of(QueryPlanner.SAMPLE_RATE, "1"))) {
+            planner.check(operation, () -> {
+                release.await();
+                return planner.measure(operation, g, PLANS);
+            });
+            assertFalse(Files.exists(resultsDir.resolve(PlanLog.PLANS_FILE)));
+            release.countDown();
+        }
+        assertEquals(1, Files.readAllLines(resultsDir.resolve(PlanLog.PLANS_FILE)).size());
+    }
+
+    @Test
+    void countsEachStatisticOnceUnderConcurrentUse() throws Exception {
+        g.addV(POST).next().addEdge(HAS_TAG, g.addV(TAG).property(NAME, "Java").next());
+        var counting = new SlowCountingStrategy();
+        GraphTraversalSource slow = g.withStrategies(counting);
+        var statistics = new PlannerStatistics();
+        var threads = Executors.newFixedThreadPool(8);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(threads.submit(() -> statistics.tagFrequency(slow, "Java")));
+        }
+        for (Future<Long> result : results) {
+            assertEquals(1, result.get());
+        }
+        threads.shutdown();
+
+        assertEquals(1, counting.traversals.get());
+    }
+
+    @Test
+    void waitersComputeAStatisticAgainWhenAnotherCallerFails() throws Exception {
+        g.addV(POST).next().addEdge(HAS_TAG, g.addV(TAG).property(NAME, "Java").next());
+        var started = new CountDownLatch(1);
+        GraphTraversalSource failing = g.withStrategies(new FailingStrategy(started));
+        var statistics = new PlannerStatistics();
+        var thread = Executors.newSingleThreadExecutor();
+        Future<Long> failed = thread.submit(() -> statistics.tagFrequency(failing, "Java"));
+        started.await();
+
+        assertEquals(1, statistics.tagFrequency(g, "Java"));
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        thread.shutdown();
+    }
+
+    /**
+     * Fails each root traversal after a delay, as a caller's timeout would.
+     */
+    private static final class FailingStrategy
+            extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+            implements TraversalStrategy.FinalizationStrategy {
+
+        private final CountDownLatch started;
+
+        private FailingStrategy(CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public void apply(Traversal.Admin<?, ?> traversal) {
+            if (traversal.isRoot()) {
+                started.countDown();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Timed out");
+            }
+        }
+    }
+
+    /**
+     * Counts the root traversals and slows each down, so that concurrent users of a statistic overlap.
+     */
+    private static final class SlowCountingStrategy
+            extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+            implements TraversalStrategy.FinalizationStrategy {
+
+        private final AtomicInteger traversals = new AtomicInteger();
+
+        @Override
+        public void apply(Traversal.Admin<?, ?> traversal) {
+            if (traversal.isRoot()) {
+                traversals.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    @Test
+    void cachesStatisticsForTheRestOfTheRun() {
+        Vertex java = g.addV(TAG).property(NAME, "Java").next();
+        Vertex post = g.addV(POST).next();
+        post.addEdge(HAS_TAG, java);
+        var statistics = new PlannerStatistics();
+
+        assertEquals(1, statistics.tagFrequency(g, "Java"));
+        g.addV(COMMENT).next().addEdge(HAS_TAG, java);
+        assertEquals(1, statistics.tagFrequency(g, "Java"));
+        assertEquals(2, new PlannerStatistics().tagFrequency(g, "Java"));
+        assertEquals(0, statistics.tagFrequency(g, "Rust"));
+    }
+
+    @Test
+    void countsEmploymentsFromTheCachedCompaniesOfTheCountry() {
+        Vertex france = g.addV(PLACE).property(NAME, "France").next();
+        Vertex company = g.addV(ORGANISATION).next();
+        company.addEdge(IS_LOCATED_IN, france);
+        g.addV(POST).next().addEdge(IS_LOCATED_IN, france);
+        g.addV(PERSON).next().addEdge(WORK_AT, company);
+        var statistics = new PlannerStatistics();
+
+        assertEquals(List.of(company.id()), statistics.countryCompanies(g, "France"));
+        g.addV(ORGANISATION).next().addEdge(IS_LOCATED_IN, france);
+        assertEquals(List.of(company.id()), statistics.countryCompanies(g, "France"));
+        assertEquals(1, statistics.countryEmployments(g, "France"));
+        assertEquals(0, statistics.countryEmployments(g, "Spain"));
+    }
+
+    private QueryPlanner planner(Map<String, String> properties) {
+        return new QueryPlanner(properties, resultsDir.resolve(PlanLog.PLANS_FILE));
+    }
+}
@@ -0,0 +1,89 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate2AddPostLike;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate8AddFriendship;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private static final LdbcUpdate2AddPostLike LIKE = new LdbcUpdate2AddPostLike(1L, 2L, new Date(0));
+
+    private static class Conflict extends RuntimeException {
+    }
+
+    private final RetryPolicy policy = new RetryPolicy(
+            Map.of(RetryPolicy.BASE_DELAY, "1", RetryPolicy.MAX_DELAY, "2"), e -> e instanceof Conflict);
+
+    @Test
+    void retriesConflictsUntilTheTransactionSucceeds() throws Exception {
+        var attempts = new AtomicInteger();
+        policy.run(LIKE, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new Conflict();
+            }
+        });
+
+        assertEquals(3, attempts.get());
+        RetryPolicy.Stats stats = policy.stats().get("LdbcUpdate2AddPostLike");
+        assertEquals(1, stats.operations());
+        assertEquals(2, stats.retries());
+        assertEquals(1, stats.recovered());
+        assertEquals(0, stats.exhausted());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        var attempts = new AtomicInteger();
+        assertThrows(Conflict.class, () -> policy.run(LIKE, () -> {
+            attempts.incrementAndGet();
+            throw new Conflict();
+        }));
+
+        assertEquals(5, attempts.get());
+        assertEquals(1, policy.stats().get("LdbcUpdate2AddPostLike").exhausted());
+    }
+
+    @Test
+    void neverRetriesOtherFailures() {
+        var attempts = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> policy.run(LIKE, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, policy.stats().get("LdbcUpdate2AddPostLike").retries());
+    }
+
+    @Test
+    void sharedBudgetLimitsRetries() {
+        var noDeposits = new RetryPolicy(Map.of(RetryPolicy.BASE_DELAY, "0", RetryPolicy.BUDGET, "0"),
+                e -> e instanceof Conflict);
+        var attempts = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            assertThrows(Conflict.class, () -> noDeposits.run(new LdbcUpdate8AddFriendship(1L, 2L, new Date(0)), () -> {
+                attempts.incrementAndGet();
+                throw new Conflict();
+            }));
+        }
+
+        // Only the initial reserve of 10 retries, then every operation fails on its first conflict
+        assertEquals(10 + 10, attempts.get());
+        assertEquals(10, noDeposits.stats().get("LdbcUpdate8AddFriendship").retries());
+        assertEquals(10, noDeposits.stats().get("LdbcUpdate8AddFriendship").exhausted());
+    }
+
+    @Test
+    void backoffStaysWithinTheCap() {
+        for (int attempt = 1; attempt < 40; attempt++) {
+            long delay = policy.backoffMillis(attempt);
+            assertTrue(delay >= 0 && delay <= 2, "attempt " + attempt + ": " + delay);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery13;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery3;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubstitutionParametersTest {
+
+    @TempDir
+    Path parametersDir;
+
+    @Test
+    void readsOperationsWithDriverLimits() throws Exception {
+        Files.writeString(parametersDir.resolve("interactive_3_param.txt"), """
+                personId|countryXName|countryYName|startDate|durationDays
+                4398046511333|Laos|Scotland|1306886400000|28
+                933|India|China|1275350400000|35
+                """);
+
+        List<Operation<?>> operations = SubstitutionParameters.read(parametersDir, "LdbcQuery3");
+
+        assertEquals(2, operations.size());
+        var first = (LdbcQuery3) operations.get(0);
+        assertEquals(4398046511333L, first.getPersonIdQ3());
+        assertEquals("Laos", first.getCountryXName());
+        assertEquals("Scotland", first.getCountryYName());
+        assertEquals(new Date(1306886400000L), first.getStartDate());
+        assertEquals(28, first.getDurationDays());
+        assertEquals(20, first.getLimit());
+    }
+
+    @Test
+    void renamesPairColumns() throws Exception {
+        Files.writeString(parametersDir.resolve("interactive_13_param.txt"), """
+                person1Id|person2Id
+                1|2
+                """);
+
+        var query = (LdbcQuery13) SubstitutionParameters.read(parametersDir, "LdbcQuery13").get(0);
+
+        assertEquals(1L, query.getPerson1IdQ13StartNode());
+        assertEquals(2L, query.getPerson2IdQ13EndNode());
+    }
+
+    @Test
+    void missingFileGivesNoOperations() throws Exception {
+        assertTrue(SubstitutionParameters.read(parametersDir, "LdbcQuery1").isEmpty());
+        assertFalse(SubstitutionParameters.supports("LdbcShortQuery1PersonProfile"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate2AddPostLike;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate6AddPost;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate8AddFriendship;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateDependencyExecutorTest {
+
+    private static LdbcUpdate6AddPost post(long postId, long authorId) {
+        return new LdbcUpdate6AddPost(postId, "", new Date(0), "1.2.3.4", "Firefox", "en", "content", 7,
+                authorId, 1, 1, List.of());
+    }
+
+    private static LdbcUpdate2AddPostLike like(long personId, long postId) {
+        return new LdbcUpdate2AddPostLike(personId, postId, new Date(0));
+    }
+
+    @Test
+    void holdsUpdatesUntilTheirPrerequisiteCommits() throws Exception {
+        var release = new CountDownLatch(1);
+        var applied = new CopyOnWriteArrayList<Operation<?>>();
+        Operation<?> post = post(10, 1);
+        Operation<?> like = like(2, 10);
+        Operation<?> friendship = new LdbcUpdate8AddFriendship(3, 4, new Date(0));
+
+        try (var executor = new UpdateDependencyExecutor(4, 16, update -> {
+            if (update == post) {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            }
+            applied.add(update);
+        })) {
+            executor.submit(post);
+            executor.submit(like);
+            executor.submit(friendship);
+
+            // The friendship does not depend on the blocked post, the like does
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!applied.contains(friendship) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(List.of(friendship), applied);
+
+            release.countDown();
+            executor.awaitCompletion();
+            assertEquals(List.of(friendship, post, like), applied);
+            assertEquals(3, executor.applied());
+            assertEquals(1, executor.held());
+        }
+    }
+
+    @Test
+    void skipsUpdatesWhosePrerequisiteFailed() throws Exception {
+        Operation<?> post = post(10, 1);
+        try (var executor = new UpdateDependencyExecutor(2, 16, update -> {
+            if (update == post) {
+                throw new IllegalStateException("conflict");
+            }
+        })) {
+            executor.submit(post);
+            executor.submit(like(2, 10));
+            executor.submit(like(3, 11));
+            executor.awaitCompletion();
+
+            assertEquals(3, executor.submitted());
+            assertEquals(1, executor.applied());
+            assertEquals(1, executor.failed());
+            assertEquals(1, executor.skipped());
+        }
+    }
+
+    @Test
+    void tracksCreatedAndReferencedEntities() {
+        assertEquals(1, UpdateDependencyExecutor.creates(post(10, 1)).length);
+        assertArrayEquals(UpdateDependencyExecutor.creates(post(10, 1)),
+                new long[] {UpdateDependencyExecutor.references(like(2, 10))[1]});
+        assertEquals(0, UpdateDependencyExecutor.creates(like(2, 10)).length);
+        // Same id, different kind of entity
+        assertNotEquals(UpdateDependencyExecutor.references(like(10, 10))[0],
+                UpdateDependencyExecutor.references(like(10, 10))[1]);
+    }
+}
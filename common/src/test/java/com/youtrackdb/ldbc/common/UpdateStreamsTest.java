@@ -0,0 +1,68 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate1AddPerson;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate2AddPostLike;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate7AddComment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpdateStreamsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergesStreamsInScheduledOrder() throws Exception {
+        Files.writeString(dir.resolve("updateStream_0_0_person.csv"), """
+                1347528982194|1347527977604|1|35184372088850|Jan|Zakrzewski|male|530150400000|1347528982194|\
+                31.192.199.208|Firefox|1085|pl;en|Jan@gmail.com;Jan@yahoo.com|2;89|1928,2008|1186,2009;1187,2011
+                """);
+        Files.writeString(dir.resolve("updateStream_0_0_forum.csv"), """
+                1347528982000|1347527977000|2|35184372088850|481036434045|1347528982000
+                1347529090363|1347528982194|7|1099511997932|1347529090363|1.12.242.179|Opera|0042|4|\
+                26388279068220|1|-1|1099511997926|
+                """);
+        Files.writeString(dir.resolve("updateStream_0_0_unrelated.csv"), "ignored\n");
+
+        var operations = new ArrayList<Operation<?>>();
+        try (var streams = new UpdateStreams(dir)) {
+            for (Operation<?> update = streams.next(); update != null; update = streams.next()) {
+                operations.add(update);
+            }
+        }
+
+        assertEquals(3, operations.size());
+        var like = (LdbcUpdate2AddPostLike) operations.get(0);
+        assertEquals(481036434045L, like.getPostId());
+
+        var person = (LdbcUpdate1AddPerson) operations.get(1);
+        assertEquals("Jan", person.getPersonFirstName());
+        assertEquals(new Date(530150400000L), person.getBirthday());
+        assertEquals(List.of("pl", "en"), person.getLanguages());
+        assertEquals(List.of(2L, 89L), person.getTagIds());
+        assertEquals(1, person.getStudyAt().size());
+        assertEquals(1928L, person.getStudyAt().get(0).getOrganizationId());
+        assertEquals(2008, person.getStudyAt().get(0).getYear());
+        assertEquals(2, person.getWorkAt().size());
+
+        var comment = (LdbcUpdate7AddComment) operations.get(2);
+        assertEquals("0042", comment.getContent());
+        assertEquals(-1L, comment.getReplyToPostId());
+        assertEquals(1099511997926L, comment.getReplyToCommentId());
+        assertEquals(List.of(), comment.getTagIds());
+    }
+
+    @Test
+    void rejectsDirectoriesWithoutStreams() {
+        assertThrows(IllegalArgumentException.class, () -> new UpdateStreams(dir));
+    }
+}
@@ -0,0 +1,75 @@
+package com.youtrackdb.ldbc.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery3;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery2PersonPosts;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate2AddPostLike;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate5AddForumMembership;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate7AddComment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationParametersTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deducesOperationsFromParameterNames() throws Exception {
+        Path file = dir.resolve("validation_params.csv");
+        Files.writeString(file, """
+                {"commentId":1099511997932,"creationDate":1347529090363,"locationIp":"1.12.242.179","browserUsed":"Opera","content":"roflol","length":6,"countryId":1,"replyToPostId":-1,"tagIds":[],"authorPersonId":26388279068220,"replyToCommentId":1099511997926}|"-1"
+                {"personIdSQ2":26388279068220,"limit":10}|[{"messageId":1099511997932,"messageContent":"a|b"}]
+
+                {"forumId":1030792157789,"personId":17592186044532,"joinDate":1347529099239}|"-1"
+                {"personId":35184372090183,"postId":481036434045,"creationDate":1347529219074}|"-1"
+                {"personIdQ3":15393162790207,"countryXName":"Puerto_Rico","countryYName":"Republic_of_Macedonia","startDate":1291161600000,"durationDays":30,"limit":20}|[]
+                """);
+
+        List<ValidationParameters.Entry> entries = ValidationParameters.read(file);
+
+        assertEquals(List.of("LdbcUpdate7AddComment", "LdbcShortQuery2PersonPosts", "LdbcUpdate5AddForumMembership",
+                        "LdbcUpdate2AddPostLike", "LdbcQuery3"),
+                entries.stream().map(ValidationParameters.Entry::operationName).toList());
+        assertEquals(List.of(1, 2, 4, 5, 6), entries.stream().map(ValidationParameters.Entry::line).toList());
+        assertEquals(List.of(true, false, true, true, false),
+                entries.stream().map(ValidationParameters.Entry::isUpdate).toList());
+
+        var comment = (LdbcUpdate7AddComment) entries.get(0).operation();
+        assertEquals(1099511997926L, comment.getReplyToCommentId());
+        assertEquals(-1L, comment.getReplyToPostId());
+        assertEquals(List.of(), comment.getTagIds());
+        assertEquals(new Date(1347529090363L), comment.getCreationDate());
+
+        var posts = (LdbcShortQuery2PersonPosts) entries.get(1).operation();
+        assertEquals(10, posts.getLimit());
+        assertEquals("[{\"messageId\":1099511997932,\"messageContent\":\"a|b\"}]", entries.get(1).expectedResult());
+
+        assertEquals(17592186044532L, ((LdbcUpdate5AddForumMembership) entries.get(2).operation()).getPersonId());
+        assertEquals(481036434045L, ((LdbcUpdate2AddPostLike) entries.get(3).operation()).getPostId());
+        assertEquals("Republic_of_Macedonia", ((LdbcQuery3) entries.get(4).operation()).getCountryYName());
+        assertEquals("[]", entries.get(4).expectedResult());
+    }
+
+    @Test
+    void separatorInsideStringsIsNotAColumnBreak() {
+        var entry = ValidationParameters.parse(1, "{\"personIdQ1\":1,\"firstName\":\"A|\\\"B\",\"limit\":20}|[]");
+
+        assertEquals("A|\"B", entry.operation().parameterMap().get("firstName"));
+        assertEquals("[]", entry.expectedResult());
+    }
+
+    @Test
+    void rejectsUnknownOperations() {
+        var e = assertThrows(IllegalArgumentException.class, () -> ValidationParameters.parse(7, "{\"x\":1}|[]"));
+        assertTrue(e.getMessage().startsWith("Line 7"));
+        assertNull(ValidationParameters.operationName(Map.of("personId", 1L)));
+    }
+}
@@ -0,0 +1,134 @@
+package com.youtrackdb.ldbc.common.loader;
+
+import com.youtrackdb.ldbc.common.GraphProvider;
+import org.apache.commons.lang3.function.FailableConsumer;
+import org.apache.commons.lang3.function.FailableFunction;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.inV;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkLoaderTest {
+
+    @TempDir
+    Path dataset;
+
+    private GraphTraversalSource g;
+    private GraphProvider graphProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        g = TinkerGraph.open().traversal();
+        graphProvider = new GraphProvider() {
+            @Override
+            public <E extends Exception> void executeInTx(FailableConsumer<GraphTraversalSource, E> code) throws E {
+                code.accept(g);
+            }
+
+            @Override
+            public <E extends Exception, R> R computeInTx(FailableFunction<GraphTraversalSource, R, E> code) throws E {
+                return code.apply(g);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        write("static/place_0_0.csv",
+                "id|name|url|type",
+                "100|New York|http://ny|city",
+                "101|USA|http://usa|country");
+        write("static/place_isPartOf_place_0_0.csv",
+                "Place.id|Place.id",
+                "100|101");
+        write("dynamic/person_0_0.csv",
+                "id|firstName|lastName|gender|birthday|creationDate|locationIP|browserUsed|language|email",
+                "1|Alice|Smith|female|100|200|1.1.1.1|Firefox|en;de|alice@example.com",
+                "2|Bob|Jones|male|101|201|2.2.2.2|Chrome||bob@example.com",
+                "3|Carol|Brown|female|102|202|3.3.3.3|Safari|en|carol@example.com",
+                "broken line");
+        write("dynamic/post_0_0.csv",
+                "id|imageFile|creationDate|locationIP|browserUsed|language|content|length",
+                "300||400|1.1.1.1|Firefox|en|Hello|5",
+                "301|photo.jpg|401|1.1.1.1|Firefox|||0");
+        write("dynamic/person_knows_person_0_0.csv",
+                "Person.id|Person.id|creationDate",
+                "1|2|500",
+                "2|3|501",
+                "3|99|502");
+        write("dynamic/post_hasCreator_person_0_0.csv",
+                "Post.id|Person.id",
+                "300|1",
+                "301|1");
+    }
+
+    @Test
+    void loadsVerticesAndEdgesInSmallChunks() throws Exception {
+        var loader = new BulkLoader(graphProvider, new GremlinLoaderHooks(), 2, 1, 2);
+        Map<String, Long> loaded = loader.loadAll(dataset);
+
+        assertEquals(3L, loaded.get("person_0_0.csv"), "Broken lines should be skipped");
+        assertEquals(3L, g.V().hasLabel(PERSON).count().next());
+        assertEquals(2L, g.V().hasLabel(PLACE).count().next());
+        assertEquals(List.of("en", "de"), g.V().has(PERSON, ID, 1L).values(LANGUAGES).next());
+
+        assertFalse(g.V().has(POST, ID, 300L).has(IMAGE_FILE).hasNext(), "Empty imageFile should not be stored");
+        assertEquals("photo.jpg", g.V().has(POST, ID, 301L).values(IMAGE_FILE).next());
+        assertFalse(g.V().has(POST, ID, 301L).has(CONTENT).hasNext(), "Empty content should not be stored");
+
+        assertTrue(g.V().has(PLACE, ID, 100L).out(IS_PART_OF).has(ID, 101L).hasNext());
+        assertEquals(2L, g.V().has(PERSON, ID, 1L).in(HAS_CREATOR).count().next());
+        assertEquals(g.V().has(POST, ID, 301L).values(CREATION_DATE).next(),
+                g.V().has(POST, ID, 301L).outE(HAS_CREATOR).values(CREATION_DATE).next(),
+                "HAS_CREATOR should carry the creation date of its message");
+
+        // KNOWS is loaded in both directions; the edge to the unknown person 99 is dropped
+        assertEquals(4L, g.E().hasLabel(KNOWS).count().next());
+        assertEquals(500L, g.V().has(PERSON, ID, 2L).outE(KNOWS).where(inV().has(ID, 1L))
+                .values(CREATION_DATE).next());
+    }
+
+    @Test
+    void callsHooksAroundPhases() throws Exception {
+        var phases = new ArrayList<String>();
+        var hooks = new GremlinLoaderHooks() {
+            @Override
+            public void beforeLoad(GraphProvider graphProvider) {
+                phases.add("before");
+            }
+
+            @Override
+            public void afterVertices(GraphProvider graphProvider) {
+                phases.add("vertices:" + g.V().count().next() + ",edges:" + g.E().count().next());
+            }
+
+            @Override
+            public void afterLoad(GraphProvider graphProvider) {
+                phases.add("after");
+            }
+        };
+
+        new BulkLoader(graphProvider, hooks, 1000, 1000, 1).loadAll(dataset);
+
+        assertEquals(List.of("before", "vertices:7,edges:0", "after"), phases);
+    }
+
+    private void write(String file, String... lines) throws IOException {
+        Path path = dataset.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.write(path, List.of(lines));
+    }
+}
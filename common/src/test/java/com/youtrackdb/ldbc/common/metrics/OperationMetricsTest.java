@@ -0,0 +1,179 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery1;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMetricsTest {
+
+    @TempDir
+    Path resultsDir;
+
+    @Test
+    void histogramPercentilesStayWithinBucketError() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000, histogram.max());
+        assertEquals(50_000_500, histogram.mean(), 1.0);
+        assertEquals(50_000_000, histogram.valueAtPercentile(50), 50_000_000 * 0.04);
+        assertEquals(99_000_000, histogram.valueAtPercentile(99), 99_000_000 * 0.04);
+        assertEquals(99_900_000, histogram.valueAtPercentile(99.9), 99_900_000 * 0.04);
+        assertEquals(100_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void histogramCountsSmallValuesExactly() {
+        var histogram = new LatencyHistogram();
+        for (long value = 0; value < 64; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(31, histogram.valueAtPercentile(50));
+        assertEquals(63, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void bucketsCoverEveryValueWithoutGaps() {
+        for (long value = 0; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueOf(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    void snapshotMergesRecordingsOfAllThreads() throws Exception {
+        var metrics = new OperationMetrics();
+        var threads = List.of(new Thread(() -> record(metrics)), new Thread(() -> record(metrics)));
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        var phases = metrics.snapshot().get("LdbcQuery1");
+        assertEquals(2000, phases.get(Phase.TOTAL).count());
+        assertEquals(2000, phases.get(Phase.BUILD).count());
+        assertEquals(2000, phases.get(Phase.TRANSACTION).count());
+        assertFalse(phases.containsKey(Phase.CONVERT));
+    }
+
+    @Test
+    void writesOneCsvRowPerOperationAndPhase() throws Exception {
+        var metrics = new OperationMetrics();
+        record(metrics);
+
+        Path file = resultsDir.resolve("nested/latencies.csv");
+        metrics.writeCsv(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("operation,phase,count,mean_us,p50_us,p90_us,p99_us,p99.9_us,max_us", lines.get(0));
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("LdbcQuery1,BUILD,1000,"));
+        assertTrue(lines.get(3).startsWith("LdbcQuery1,TOTAL,1000,"));
+    }
+
+    @Test
+    void accountsAllocationsAndCpuPerOperation() throws Exception {
+        var metrics = new OperationMetrics();
+        long[][] retained = new long[10][];
+        for (int i = 0; i < 10; i++) {
+            OperationTimer timer = metrics.start(new LdbcQuery1(1L, "Jan", 20));
+            retained[i] = new long[128 * 1024];
+            timer.stop(0);
+        }
+
+        ResourceUsage usage = metrics.resources().get("LdbcQuery1");
+        assertEquals(10, usage.count());
+        assertTrue(usage.meanAllocatedBytes() >= 1024 * 1024, "mean " + usage.meanAllocatedBytes());
+        assertTrue(usage.cpuNanos() > 0);
+        assertEquals(10, retained.length);
+
+        Path file = resultsDir.resolve("resources.csv");
+        metrics.writeResourcesCsv(file);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("operation,count,allocated_bytes,mean_allocated_bytes,cpu_ms,mean_cpu_us", lines.get(0));
+        assertTrue(lines.get(1).startsWith("LdbcQuery1,10,"));
+    }
+
+    @Test
+    void emitsJfrEventsWithPhaseTimings() throws Exception {
+        var metrics = new OperationMetrics();
+        Path file = resultsDir.resolve("operations.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("ldbc.Operation").withoutThreshold();
+            recording.enable("ldbc.Transaction").withoutThreshold();
+            recording.start();
+
+            OperationTimer timer = metrics.start(new LdbcQuery1(42L, "Jan", 20));
+            TransactionEvent tx = TransactionEvent.start("test");
+            timer.enterTx();
+            timer.lap(Phase.BUILD);
+            timer.lap(Phase.EXECUTE);
+            tx.bodyDone();
+            tx.committed();
+            tx.finish();
+            timer.stop(7);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent operation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("ldbc.Operation"))
+                .findFirst().orElseThrow();
+        assertEquals("LdbcQuery1", operation.getString("operation"));
+        assertTrue(operation.getString("parameters").contains("42"));
+        assertEquals(7, operation.getInt("rows"));
+        assertTrue(operation.getLong("buildNanos") > 0);
+
+        RecordedEvent transaction = events.stream()
+                .filter(event -> event.getEventType().getName().equals("ldbc.Transaction"))
+                .findFirst().orElseThrow();
+        assertEquals("test", transaction.getString("provider"));
+        assertTrue(transaction.getBoolean("committed"));
+    }
+
+    @Test
+    void reusesRecordersAcrossVirtualThreads() throws Exception {
+        var metrics = new OperationMetrics();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                executor.submit(() -> {
+                    try (OperationTimer timer = metrics.start(new LdbcQuery1(1L, "Jan", 20))) {
+                        timer.enterTx();
+                        timer.stop(0);
+                    }
+                });
+            }
+        }
+
+        assertEquals(10_000, metrics.snapshot().get("LdbcQuery1").get(Phase.TOTAL).count());
+        assertTrue(metrics.recorderCount() < 10_000, "recorders " + metrics.recorderCount());
+    }
+
+    private static void record(OperationMetrics metrics) {
+        for (int i = 0; i < 1000; i++) {
+            OperationTimer timer = metrics.start(new LdbcQuery1(1L, "Jan", 20));
+            timer.enterTx();
+            timer.lap(Phase.BUILD);
+            timer.stop(0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import com.youtrackdb.ldbc.common.OperationCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery1;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery2;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcUpdate8AddFriendship;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowOperationLogTest {
+
+    @TempDir
+    Path resultsDir;
+
+    @Test
+    void logsOnlyOperationsAboveTheirThreshold() throws Exception {
+        Path file = resultsDir.resolve(SlowOperationLog.SLOW_OPERATIONS_FILE);
+        var properties = Map.of(
+                SlowOperationLog.THRESHOLD, "100",
+                SlowOperationLog.THRESHOLD + ".LdbcQuery2", "10");
+
+        try (var log = new SlowOperationLog(properties, file)) {
+            log.record(new LdbcQuery1(1L, "Jan \"J\"", 20), millis(50), 3);
+            log.record(new LdbcQuery1(2L, "Karl", 20), millis(150), 7);
+            log.record(new LdbcQuery2(3L, new Date(1_300_000_000_000L), 20), millis(50), 20);
+        }
+
+        List<SlowOperationLog.Entry> entries = SlowOperationLog.read(file);
+        assertEquals(2, entries.size());
+        assertEquals("LdbcQuery1", entries.get(0).operation());
+        assertEquals(150_000, entries.get(0).durationMicros());
+        assertEquals(7, entries.get(0).resultSize());
+        assertEquals("LdbcQuery2", entries.get(1).operation());
+    }
+
+    @Test
+    void loggedOperationsDecodeToEqualParameters() throws Exception {
+        Path file = resultsDir.resolve(SlowOperationLog.SLOW_OPERATIONS_FILE);
+        var query1 = new LdbcQuery1(1L, "Jan \"J\"\n", 20);
+        var query2 = new LdbcQuery2(3L, new Date(1_300_000_000_000L), 15);
+
+        try (var log = new SlowOperationLog(Map.of(SlowOperationLog.THRESHOLD, "1"), file)) {
+            log.record(query1, millis(2), 0);
+            log.record(query2, millis(2), 0);
+        }
+
+        List<SlowOperationLog.Entry> entries = SlowOperationLog.read(file);
+        var decoded1 = (LdbcQuery1) OperationCodec.decode(entries.get(0).operation(), entries.get(0).parameters());
+        assertEquals(1L, decoded1.getPersonIdQ1());
+        assertEquals("Jan \"J\"\n", decoded1.getFirstName());
+        assertEquals(20, decoded1.getLimit());
+
+        var decoded2 = (LdbcQuery2) OperationCodec.decode(entries.get(1).operation(), entries.get(1).parameters());
+        assertEquals(3L, decoded2.getPersonIdQ2());
+        assertEquals(new Date(1_300_000_000_000L), decoded2.getMaxDate());
+        assertEquals(15, decoded2.getLimit());
+    }
+
+    @Test
+    void noThresholdNoFile() throws Exception {
+        Path file = resultsDir.resolve(SlowOperationLog.SLOW_OPERATIONS_FILE);
+        try (var log = new SlowOperationLog(Map.of(), file)) {
+            log.record(new LdbcQuery1(1L, "Jan", 20), millis(10_000), 0);
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void updatesAreNotDecoded() {
+        var update = new LdbcUpdate8AddFriendship(1L, 2L, new Date(0));
+        assertFalse(OperationCodec.canDecode(update.getClass().getSimpleName()));
+        assertThrows(IllegalArgumentException.class,
+                () -> OperationCodec.decode(update.getClass().getSimpleName(), update.parameterMap()));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,106 @@
+package com.youtrackdb.ldbc.common.metrics;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery1PersonProfile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraversalProfilerTest {
+
+    @TempDir
+    Path resultsDir;
+
+    @Test
+    void writesOneLinePerProfiledOperation() throws Exception {
+        GraphTraversalSource g = TinkerGraph.open().traversal();
+        g.addV("Person").property("id", 1L).as("a")
+                .addV("Person").property("id", 2L).addE("KNOWS").from("a").iterate();
+
+        Path file = resultsDir.resolve(TraversalProfiler.PROFILES_FILE);
+        var operation = new LdbcShortQuery1PersonProfile(1L);
+        try (var profiler = new TraversalProfiler(1.0, file)) {
+            assertTrue(profiler.sample());
+            profiler.profile(operation, () -> g.V().has("Person", "id", 1L).where(out("KNOWS")).profile().next());
+            profiler.profile(operation, () -> g.V().count().profile().next());
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        String line = lines.get(0);
+        assertTrue(line.startsWith("{\"operation\":\"LdbcShortQuery1PersonProfile\""), line);
+        assertTrue(line.contains("\"parameters\":{\"personIdSQ1\":1}"), line);
+        assertTrue(line.contains("\"name\":\"TinkerGraphStep(vertex"), line);
+        assertTrue(line.contains("\"traversers\":1"), line);
+        assertTrue(line.contains("\"nested\":["), line);
+    }
+
+    @Test
+    void combinesTheTraversalsOfOneOperation() {
+        GraphTraversalSource g = TinkerGraph.open().traversal();
+        g.addV("Person").property("id", 1L).addV("Person").property("id", 2L).iterate();
+        TraversalMetrics first = g.V().hasLabel("Person").profile().next();
+        TraversalMetrics second = g.V().count().profile().next();
+
+        var passes = new LinkedHashMap<String, TraversalMetrics>();
+        passes.put("first", first);
+        passes.put("second", second);
+        TraversalMetrics combined = TraversalProfiler.combine(passes);
+
+        List<String> names = combined.getMetrics().stream().map(Metrics::getName).toList();
+        assertEquals(List.of("first", "second"), names);
+        assertEquals(first.getDuration(TimeUnit.NANOSECONDS) + second.getDuration(TimeUnit.NANOSECONDS),
+                combined.getDuration(TimeUnit.NANOSECONDS));
+        Metrics firstPass = combined.getMetrics(0);
+        assertEquals(first.getMetrics().size(), firstPass.getNested().size());
+        assertEquals(2L, firstPass.getCount(TraversalMetrics.TRAVERSER_COUNT_ID));
+        assertEquals(1L, combined.getMetrics(1).getCount(TraversalMetrics.TRAVERSER_COUNT_ID));
+    }
+
+    @Test
+    void profiledRunDoesNotBlockTheCaller() throws Exception {
+        GraphTraversalSource g = TinkerGraph.open().traversal();
+        Path file = resultsDir.resolve(TraversalProfiler.PROFILES_FILE);
+        var release = new CountDownLatch(1);
+        try (var profiler = new TraversalProfiler(1.0, file)) {
+            profiler.profile(new LdbcShortQuery1PersonProfile(1L), () -> {
+                release.await();
+                return g.V().count().profile().next();
+            });
+            assertFalse(Files.exists(file));
+            release.countDown();
+        }
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void failedProfileRunIsIgnored() throws Exception {
+        Path file = resultsDir.resolve(TraversalProfiler.PROFILES_FILE);
+        try (var profiler = new TraversalProfiler(1.0, file)) {
+            profiler.profile(new LdbcShortQuery1PersonProfile(1L), () -> {
+                throw new IllegalStateException("boom");
+            });
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void zeroRateNeverSamples() {
+        var profiler = new TraversalProfiler(0, resultsDir.resolve(TraversalProfiler.PROFILES_FILE));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(profiler.sample());
+        }
+    }
+}
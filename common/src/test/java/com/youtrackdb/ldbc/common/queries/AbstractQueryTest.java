@@ -1,6 +1,7 @@
 package com.youtrackdb.ldbc.common.queries;
 
-import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.OperationTimer;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -9,7 +10,8 @@ import org.ldbcouncil.snb.driver.Operation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -168,8 +170,8 @@ public abstract class AbstractQueryTest {
         Vertex post1 = createPost(POST1_ID, "Hello World!", DATE_2021, newYork);
         Vertex post2 = createPost(POST2_ID, "TinkerPop rocks!", DATE_2022, newYork);
 
-        post1.addEdge(HAS_CREATOR, alice);
-        post2.addEdge(HAS_CREATOR, alice);
+        post1.addEdge(HAS_CREATOR, alice, CREATION_DATE, DATE_2021);
+        post2.addEdge(HAS_CREATOR, alice, CREATION_DATE, DATE_2022);
         post1.addEdge(HAS_TAG, tagJava);
         post2.addEdge(HAS_TAG, tagDb);
 
@@ -178,7 +180,7 @@ public abstract class AbstractQueryTest {
 
         // Create Comment (Bob replies to Alice's post)
         Vertex comment1 = createComment(COMMENT1_ID, "Great post!", DATE_2022, london);
-        comment1.addEdge(HAS_CREATOR, bob);
+        comment1.addEdge(HAS_CREATOR, bob, CREATION_DATE, DATE_2022);
         comment1.addEdge(REPLY_OF, post1);
 
         // Likes
@@ -265,12 +267,18 @@ public abstract class AbstractQueryTest {
 
     protected <TOp extends Operation<List<TResult>>, TResult> List<TResult> executeQuery(
             ListQueryHandler<TOp, TResult> query, TOp operation) {
-        GraphTraversal<?, Map<String, Object>> traversal = query.buildTraversal(operation, g);
-        List<TResult> results = new ArrayList<>();
-        while (traversal.hasNext()) {
-            results.add(query.toResult(traversal.next()));
+        return executeQuery(query, operation, Map.of());
+    }
+
+    protected <TOp extends Operation<List<TResult>>, TResult> List<TResult> executeQuery(
+            ListQueryHandler<TOp, TResult> query, TOp operation, Map<String, String> properties) {
+        try (var state = new TinkerPopConnectionState(null, properties);
+             OperationTimer timer = state.getMetrics().start(operation)) {
+            timer.enterTx();
+            return query.run(operation, g, state, timer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return results;
     }
 
     protected class TestDataBuilder {
@@ -313,7 +321,7 @@ public abstract class AbstractQueryTest {
 
         public Vertex createPost(long id, String content, Date creationDate, Vertex location, Vertex creator) {
             Vertex post = createPost(id, content, creationDate, location);
-            post.addEdge(HAS_CREATOR, creator);
+            post.addEdge(HAS_CREATOR, creator, CREATION_DATE, creationDate);
             return post;
         }
 
@@ -332,7 +340,7 @@ public abstract class AbstractQueryTest {
 
         public Vertex createComment(long id, String content, Date creationDate, Vertex location, Vertex creator) {
             Vertex comment = createComment(id, content, creationDate, location);
-            comment.addEdge(HAS_CREATOR, creator);
+            comment.addEdge(HAS_CREATOR, creator, CREATION_DATE, creationDate);
             return comment;
         }
 
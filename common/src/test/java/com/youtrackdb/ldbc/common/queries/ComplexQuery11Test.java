@@ -7,6 +7,7 @@ import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery11;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery11Result;
 
 import java.util.List;
+import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -145,4 +146,28 @@ class ComplexQuery11Test extends AbstractQueryTest {
 
         assertTrue(results.isEmpty(), "No one worked before 2000");
     }
+
+    @Test
+    void testForwardAndReversePlansAgree() {
+        ComplexReadQuery11 query = new ComplexReadQuery11();
+        // David is three hops from Alice, Alice herself is excluded
+        Vertex google = g.V().has(ORGANISATION, ID, GOOGLE_ID).next();
+        g.V().has(PERSON, ID, DAVID_ID).next().addEdge(WORK_AT, google, WORK_FROM, 2010);
+        g.V().has(PERSON, ID, ALICE_ID).next().addEdge(WORK_AT, google, WORK_FROM, 2011);
+        g.V().has(PERSON, ID, BOB_ID).next().addEdge(WORK_AT, g.V().has(ORGANISATION, ID, APPLE_ID).next(),
+                WORK_FROM, 2015);
+        LdbcQuery11 operation = new LdbcQuery11(ALICE_ID, "United States", 2020, 10);
+
+        List<String> forward = describe(executeQuery(query, operation, Map.of(ComplexReadQuery11.PLAN, "forward")));
+        List<String> reverse = describe(executeQuery(query, operation, Map.of(ComplexReadQuery11.PLAN, "reverse")));
+
+        assertEquals(List.of("2:Google:2015", "2:Apple:2015", "3:Apple:2018"), forward);
+        assertEquals(forward, reverse);
+        assertEquals(forward, describe(executeQuery(query, operation)));
+    }
+
+    private static List<String> describe(List<LdbcQuery11Result> results) {
+        return results.stream().map(result -> result.getPersonId() + ":" + result.getOrganizationName() + ":"
+                + result.getOrganizationWorkFromYear()).toList();
+    }
 }
@@ -265,4 +265,23 @@ class ComplexQuery3Test extends AbstractQueryTest {
 
         assertTrue(results.isEmpty(), "Should have no results for non-existent countries");
     }
+
+    @Test
+    void testCountsOnlyMessagesInTheQueriedCountriesWithinTheWindow() {
+        TestDataBuilder builder = builder();
+        Vertex eve = g.V().has(PERSON, ID, EVE_ID).next();
+        Vertex spain = g.V().has(PLACE, ID, SPAIN_ID).next();
+        Vertex france = g.V().has(PLACE, ID, FRANCE_ID).next();
+        builder.createPost(313L, "Eve at home", new Date(1645000000000L), france, eve);
+        builder.createPost(314L, "Eve in Spain before the window", new Date(1609459200000L), spain, eve);
+
+        List<LdbcQuery3Result> results = executeQuery(new ComplexReadQuery3(),
+                new LdbcQuery3(ALICE_ID, "Spain", "Germany", START_DATE, DURATION_DAYS, 10));
+
+        LdbcQuery3Result result = results.getFirst();
+        assertEquals(EVE_ID, result.getPersonId());
+        assertEquals(2, result.getxCount());
+        assertEquals(1, result.getyCount());
+        assertEquals(3, result.getCount());
+    }
 }
@@ -130,4 +130,27 @@ class ComplexQuery5Test extends AbstractQueryTest {
         // No forum memberships after 2023-01-01
         assertTrue(results.isEmpty(), "Should have no results when minDate is after all join dates");
     }
+
+    @Test
+    void testCountsOnlyPostsOfQualifyingMembersOfThatForum() {
+        TestDataBuilder builder = builder();
+        Vertex alice = g.V().has(PERSON, ID, ALICE_ID).next();
+        Vertex bob = g.V().has(PERSON, ID, BOB_ID).next();
+        Vertex carol = g.V().has(PERSON, ID, CAROL_ID).next();
+        Vertex newYork = g.V().has(PLACE, ID, NEW_YORK_ID).next();
+
+        // Carol joins DevForum before minDate, so her posts there do not count; Alice is not an otherPerson
+        Vertex devForum = g.V().has(FORUM, ID, FORUM_DEV_ID).next();
+        devForum.addEdge(HAS_MEMBER, carol, JOIN_DATE, new Date(1609459200000L)); // 2021-01-01
+        devForum.addEdge(CONTAINER_OF, builder.createPost(373L, "Carol in DevForum", DATE_2020, newYork, carol));
+        devForum.addEdge(CONTAINER_OF, builder.createPost(374L, "Alice in DevForum", DATE_2020, newYork, alice));
+        // Bob's post in MusicForum does not count, he is no member there
+        Vertex musicForum = g.V().has(FORUM, ID, FORUM_MUSIC_ID).next();
+        musicForum.addEdge(CONTAINER_OF, builder.createPost(375L, "Bob in MusicForum", DATE_2020, newYork, bob));
+
+        List<LdbcQuery5Result> results = executeQuery(new ComplexReadQuery5(), new LdbcQuery5(ALICE_ID, MIN_DATE, 10));
+
+        assertEquals(List.of("DevForum", "MusicForum"), results.stream().map(LdbcQuery5Result::getForumTitle).toList());
+        assertEquals(List.of(2, 1), results.stream().map(LdbcQuery5Result::getPostCount).toList());
+    }
 }
@@ -7,6 +7,7 @@ import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery6;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery6Result;
 
 import java.util.List;
+import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -160,4 +161,29 @@ class ComplexQuery6Test extends AbstractQueryTest {
 
         assertTrue(results.isEmpty(), "Should have no results for non-existent tag");
     }
+
+    @Test
+    void testForwardAndReversePlansAgree() {
+        ComplexReadQuery6 query = new ComplexReadQuery6();
+        // Carol's Java post is two hops from Alice, David's would be three
+        Vertex david = g.V().has(PERSON, ID, DAVID_ID).next();
+        Vertex davidPost = builder().createPost(385L, "Java and Go by David", DATE_2022,
+                g.V().has(PLACE, ID, NEW_YORK_ID).next(), david);
+        davidPost.addEdge(HAS_TAG, g.V().has(TAG, ID, TAG_JAVA_ID).next());
+        davidPost.addEdge(HAS_TAG, g.V().has(TAG, ID, TAG_GO_ID).next());
+        LdbcQuery6 operation = new LdbcQuery6(ALICE_ID, "Java", 10);
+
+        List<LdbcQuery6Result> forward = executeQuery(query, operation, Map.of(ComplexReadQuery6.PLAN, "forward"));
+        List<LdbcQuery6Result> reverse = executeQuery(query, operation, Map.of(ComplexReadQuery6.PLAN, "reverse"));
+        List<LdbcQuery6Result> auto = executeQuery(query, operation);
+
+        assertEquals(List.of("Python", "Go", "Rust"), forward.stream().map(LdbcQuery6Result::getTagName).toList());
+        assertEquals(List.of(2, 1, 1), forward.stream().map(LdbcQuery6Result::getPostCount).toList());
+        assertEquals(describe(forward), describe(reverse));
+        assertEquals(describe(forward), describe(auto));
+    }
+
+    private static List<String> describe(List<LdbcQuery6Result> results) {
+        return results.stream().map(result -> result.getTagName() + ":" + result.getPostCount()).toList();
+    }
 }
@@ -1,5 +1,8 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,7 @@ import org.ldbcouncil.snb.driver.workloads.interactive.LdbcQuery8Result;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -155,4 +159,38 @@ class ComplexQuery8Test extends AbstractQueryTest {
                 "Most recent reply (April) should be first");
     }
 
+    @Test
+    void testKeepsTheNewestRepliesAcrossBatches() {
+        Vertex post2 = g.V().has(POST, ID, POST2_ID).next();
+        Vertex carol = g.V().has(PERSON, ID, CAROL_ID).next();
+        builder().createComment(470L, "Carol's April reply", DATE_APR, g.V().has(PLACE, ID, NEW_YORK_ID).next(), carol)
+                .addEdge(REPLY_OF, post2);
+        ComplexReadQuery8 query = new ComplexReadQuery8();
+        LdbcQuery8 operation = new LdbcQuery8(ALICE_ID, 2);
+
+        // One message per batch, so the second batch is pruned by the threshold of the first
+        for (Map<String, String> properties : List.of(Map.<String, String>of(),
+                Map.of(ComplexReadQuery8.BATCH_SIZE, "1"))) {
+            List<LdbcQuery8Result> results = executeQuery(query, operation, properties);
+
+            // The April tie goes to the lower comment id
+            assertEquals(List.of(COMMENT_BOB_REPLY_ID, 470L),
+                    results.stream().map(LdbcQuery8Result::getCommentId).toList());
+            assertEquals(List.of(BOB_ID, CAROL_ID), results.stream().map(LdbcQuery8Result::getPersonId).toList());
+            assertEquals("Carol's April reply", results.get(1).getCommentContent());
+        }
+    }
+
+    @Test
+    void testProfilesEveryPass() throws Exception {
+        ComplexReadQuery8 query = new ComplexReadQuery8();
+        LdbcQuery8 operation = new LdbcQuery8(ALICE_ID, 10);
+
+        try (var state = new TinkerPopConnectionState(null, Map.of())) {
+            TraversalMetrics metrics = query.profile(operation, g, state);
+
+            assertEquals(List.of("messages", "replies", "details"),
+                    metrics.getMetrics().stream().map(Metrics::getName).toList());
+        }
+    }
 }
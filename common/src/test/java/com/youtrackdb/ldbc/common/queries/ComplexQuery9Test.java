@@ -207,4 +207,22 @@ class ComplexQuery9Test extends AbstractQueryTest {
 
         assertFalse(foundAlicePost, "Start person's messages should be excluded");
     }
+
+    @Test
+    void testMergesTheNewestMessagesOfAllCreators() {
+        TestDataBuilder builder = builder();
+        Vertex carol = g.V().has(PERSON, ID, CAROL_ID).next();
+        Vertex newYork = g.V().has(PLACE, ID, NEW_YORK_ID).next();
+        builder.createPost(355L, "Carol post February", DATE_FEB_15, newYork, carol);
+        builder.createPost(356L, "Carol post March", DATE_MAR_01, newYork, carol);
+
+        List<LdbcQuery9Result> results = executeQuery(new ComplexReadQuery9(),
+                new LdbcQuery9(ALICE_ID, DATE_MAR_15, 3));
+
+        // Bob's and Carol's lists interleave; the February tie goes to the lower message id
+        assertEquals(List.of(356L, POST_BOB_2_ID, 355L), results.stream().map(LdbcQuery9Result::getMessageId).toList());
+        assertEquals(List.of(CAROL_ID, BOB_ID, CAROL_ID), results.stream().map(LdbcQuery9Result::getPersonId).toList());
+        assertEquals("Carol post March", results.getFirst().getMessageContent());
+        assertEquals(DATE_MAR_01.getTime(), results.getFirst().getMessageCreationDate());
+    }
 }
@@ -1,10 +1,13 @@
 package com.youtrackdb.ldbc.common.queries;
 
+import com.youtrackdb.ldbc.common.FriendListCache;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
 import org.junit.jupiter.api.Test;
 import org.ldbcouncil.snb.driver.workloads.interactive.*;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static com.youtrackdb.ldbc.common.LdbcSchema.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -178,6 +181,8 @@ class UpdateQueryTest extends AbstractQueryTest {
         // Verify creator edge
         assertTrue(g.V().has(POST, ID, newPostId).out(HAS_CREATOR).has(ID, BOB_ID).hasNext(),
                 "Bob should be creator");
+        assertEquals(operation.getCreationDate(), g.V().has(POST, ID, newPostId).outE(HAS_CREATOR)
+                .values(CREATION_DATE).next(), "Creator edge should carry the creation date");
 
         // Verify forum container edge
         assertTrue(g.V().has(FORUM, ID, TECH_TALK_ID).out(CONTAINER_OF).has(ID, newPostId).hasNext(),
@@ -218,6 +223,8 @@ class UpdateQueryTest extends AbstractQueryTest {
         // Verify creator edge
         assertTrue(g.V().has(COMMENT, ID, newCommentId).out(HAS_CREATOR).has(ID, CAROL_ID).hasNext(),
                 "Carol should be creator");
+        assertEquals(operation.getCreationDate(), g.V().has(COMMENT, ID, newCommentId).outE(HAS_CREATOR)
+                .values(CREATION_DATE).next(), "Creator edge should carry the creation date");
 
         // Verify reply edge to post
         assertTrue(g.V().has(COMMENT, ID, newCommentId).out(REPLY_OF).has(ID, POST1_ID).hasNext(),
@@ -280,4 +287,25 @@ class UpdateQueryTest extends AbstractQueryTest {
         assertTrue(g.V().has(PERSON, ID, DAVID_ID).both(KNOWS).has(ID, ALICE_ID).hasNext(),
                 "both(KNOWS) traversal should find Alice from David");
     }
+
+    @Test
+    void testUpdate8_addsTheFriendsToCachedListsFromItsOwnTraversal() throws Exception {
+        Update8AddFriendship update = new Update8AddFriendship();
+        LdbcUpdate8AddFriendship operation = new LdbcUpdate8AddFriendship(ALICE_ID, DAVID_ID, DATE_2023);
+
+        try (var state = new TinkerPopConnectionState(null, Map.of(FriendListCache.SIZE, "10"))) {
+            FriendListCache friendLists = state.getFriendLists();
+            friendLists.put(ALICE_ID, friendLists.version(), List.of());
+            friendLists.put(DAVID_ID, friendLists.version(), List.of());
+
+            update.afterCommit(operation, update.apply(operation, g), state);
+
+            LdbcShortQuery3PersonFriendsResult david = friendLists.get(ALICE_ID).get(0);
+            assertEquals(DAVID_ID, david.getPersonId());
+            assertEquals("David", david.getFirstName());
+            assertEquals(DATE_2023.getTime(), david.getFriendshipCreationDate());
+            assertEquals("Alice", friendLists.get(DAVID_ID).get(0).getFirstName());
+        }
+        assertTrue(g.V().has(PERSON, ID, ALICE_ID).out(KNOWS).has(ID, DAVID_ID).hasNext());
+    }
 }
@@ -0,0 +1,134 @@
+package com.youtrackdb.ldbc.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams an LDBC CSV file in blocks of {@code batchSize} lines. Blocks are split and parsed on the
+ * given executor while the calling thread keeps reading, and parsed batches are handed to the consumer
+ * on the calling thread in file order. At most {@code maxInFlight} blocks are buffered at a time.
+ * Without an executor, blocks are parsed on the calling thread as they are read.
+ */
+public final class CsvProcessor<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvProcessor.class);
+    private static final String DELIMITER = "\\|";
+
+    private final int batchSize;
+    private final ExecutorService parsers;
+    private final int maxInFlight;
+
+    public CsvProcessor(int batchSize) {
+        this(batchSize, null, 1);
+    }
+
+    public CsvProcessor(int batchSize, ExecutorService parsers, int maxInFlight) {
+        this.batchSize = batchSize;
+        this.parsers = parsers;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public long process(Path csvFile,
+                        Function<String[], T> parser,
+                        Consumer<List<T>> batchConsumer) throws IOException {
+
+        log.debug("Processing CSV file: {}", csvFile.getFileName());
+
+        var inFlight = new ArrayDeque<Future<List<T>>>();
+        long count = 0;
+
+        try (Stream<String> lines = Files.lines(csvFile)) {
+            var block = new ArrayList<String>(batchSize);
+
+            // Skip header and process lines
+            var iterator = lines.skip(1).iterator();
+
+            while (iterator.hasNext()) {
+                block.add(iterator.next());
+
+                if (block.size() >= batchSize) {
+                    inFlight.add(submit(csvFile, block, parser));
+                    block = new ArrayList<>(batchSize);
+
+                    if (inFlight.size() >= maxInFlight) {
+                        count += consume(inFlight.poll(), batchConsumer);
+                    }
+                }
+            }
+
+            if (!block.isEmpty()) {
+                inFlight.add(submit(csvFile, block, parser));
+            }
+
+            while (!inFlight.isEmpty()) {
+                count += consume(inFlight.poll(), batchConsumer);
+            }
+
+            return count;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private Future<List<T>> submit(Path csvFile, List<String> block, Function<String[], T> parser) {
+        if (parsers == null) {
+            return CompletableFuture.completedFuture(parse(csvFile, block, parser));
+        }
+        return parsers.submit(() -> parse(csvFile, block, parser));
+    }
+
+    private List<T> parse(Path csvFile, List<String> block, Function<String[], T> parser) {
+        var batch = new ArrayList<T>(block.size());
+        for (String line : block) {
+            try {
+                batch.add(parser.apply(line.split(DELIMITER, -1)));
+            } catch (Exception e) {
+                log.warn("Failed to parse line in {}: {}", csvFile.getFileName(), e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private long consume(Future<List<T>> future, Consumer<List<T>> batchConsumer) throws IOException {
+        List<T> batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing CSV");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse CSV block", e.getCause());
+        }
+
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(List.copyOf(batch));
+        }
+        return batch.size();
+    }
+
+    public static String parseString(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    public static List<String> parseList(String value) {
+        if (value.isEmpty()) {
+            return List.of();
+        }
+        return List.of(value.split(";"));
+    }
+}
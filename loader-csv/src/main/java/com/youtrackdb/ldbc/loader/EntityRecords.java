@@ -1,12 +1,12 @@
-package com.youtrackdb.ldbc.ytdb.loader;
+package com.youtrackdb.ldbc.loader;
 
 import java.util.List;
 
-import static com.youtrackdb.ldbc.ytdb.loader.CsvProcessor.parseList;
-import static com.youtrackdb.ldbc.ytdb.loader.CsvProcessor.parseString;
+import static com.youtrackdb.ldbc.loader.CsvProcessor.parseList;
+import static com.youtrackdb.ldbc.loader.CsvProcessor.parseString;
 
 /**
- * Record types for LDBC SNB entities and relationships.
+ * Record types for LDBC SNB entities and relationships, each parsed from the fields of one CSV line.
  */
 public final class EntityRecords {
 
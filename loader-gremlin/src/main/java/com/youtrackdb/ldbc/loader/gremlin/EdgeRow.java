@@ -0,0 +1,9 @@
+package com.youtrackdb.ldbc.loader.gremlin;
+
+import java.util.Map;
+
+/**
+ * Edge to insert between two endpoints returned by {@link GremlinInserts#resolveVertices}.
+ */
+public record EdgeRow(Object from, Object to, Map<String, Object> properties) {
+}
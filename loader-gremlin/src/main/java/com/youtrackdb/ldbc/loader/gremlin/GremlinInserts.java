@@ -0,0 +1,128 @@
+package com.youtrackdb.ldbc.loader.gremlin;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.unfold;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
+
+/**
+ * Batched insert traversals that only use Gremlin steps. A chunk of rows becomes a single
+ * {@code inject(rows).unfold().addV()} or {@code addE()} traversal, so a remote backend pays one round trip
+ * per chunk instead of one per row. Endpoints are resolved with {@code has(label, idKey, within(ids))},
+ * which is only fast with an index on {@code idKey} for every vertex label.
+ */
+public final class GremlinInserts {
+
+    private static final String ROW = "row";
+    private static final String OUT_VERTEX = "_out";
+    private static final String IN_VERTEX = "_in";
+
+    private GremlinInserts() {
+    }
+
+    /**
+     * Builds a property map from alternating keys and values, leaving out null values.
+     */
+    public static Map<String, Object> row(Object... keyValues) {
+        var row = new LinkedHashMap<String, Object>(keyValues.length);
+        for (int i = 0; i < keyValues.length; i += 2) {
+            if (keyValues[i + 1] != null) {
+                row.put((String) keyValues[i], keyValues[i + 1]);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Splits {@code rows} into views of at most {@code chunkSize} rows.
+     */
+    public static <R> List<List<R>> chunks(List<R> rows, int chunkSize) {
+        var chunks = new ArrayList<List<R>>((rows.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            chunks.add(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+        }
+        return chunks;
+    }
+
+    public static void insertVertices(GraphTraversalSource g, String label, List<Map<String, Object>> rows) {
+        // property(key, select(key)) fails on rows missing the key, so rows are sent per key set
+        for (var group : groupByKeys(rows).entrySet()) {
+            var addV = g.inject((Object) group.getValue()).unfold().as(ROW).addV(label);
+            for (String key : group.getKey()) {
+                addV.property(key, select(ROW).select(key));
+            }
+            addV.iterate();
+        }
+    }
+
+    /**
+     * Looks up the vertices of {@code label} whose {@code idKey} is one of {@code ids}. Ids without a vertex
+     * are missing from the result.
+     */
+    public static Map<Long, Object> resolveVertices(GraphTraversalSource g, String label, String idKey,
+                                                    Set<Long> ids) {
+        Map<Object, Object> found = g.V().has(label, idKey, P.within(ids))
+                .group().by(idKey).by(unfold())
+                .next();
+
+        var vertices = new HashMap<Long, Object>(found.size());
+        found.forEach((id, vertex) -> vertices.put(((Number) id).longValue(), vertex));
+        return vertices;
+    }
+
+    /**
+     * Reads {@code key} of the vertices of {@code label} whose {@code idKey} is one of {@code ids}. Ids without a
+     * vertex or a value are missing from the result.
+     */
+    public static Map<Long, Object> resolveValues(GraphTraversalSource g, String label, String idKey, String key,
+                                                  Set<Long> ids) {
+        Map<Object, Object> found = g.V().has(label, idKey, P.within(ids))
+                .has(key)
+                .group().by(idKey).by(values(key))
+                .next();
+
+        var values = new HashMap<Long, Object>(found.size());
+        found.forEach((id, value) -> values.put(((Number) id).longValue(), value));
+        return values;
+    }
+
+    public static void insertEdges(GraphTraversalSource g, String label, List<EdgeRow> rows) {
+        var maps = new ArrayList<Map<String, Object>>(rows.size());
+        for (EdgeRow row : rows) {
+            var map = new LinkedHashMap<String, Object>(row.properties());
+            map.put(OUT_VERTEX, row.from());
+            map.put(IN_VERTEX, row.to());
+            maps.add(map);
+        }
+
+        for (var group : groupByKeys(maps).entrySet()) {
+            var addE = g.inject((Object) group.getValue()).unfold().as(ROW)
+                    .addE(label)
+                    .from(select(ROW).select(OUT_VERTEX))
+                    .to(select(ROW).select(IN_VERTEX));
+            for (String key : group.getKey()) {
+                if (!key.equals(OUT_VERTEX) && !key.equals(IN_VERTEX)) {
+                    addE.property(key, select(ROW).select(key));
+                }
+            }
+            addE.iterate();
+        }
+    }
+
+    private static Map<List<String>, List<Map<String, Object>>> groupByKeys(List<Map<String, Object>> rows) {
+        var groups = new LinkedHashMap<List<String>, List<Map<String, Object>>>();
+        for (Map<String, Object> row : rows) {
+            groups.computeIfAbsent(List.copyOf(row.keySet()), keys -> new ArrayList<>()).add(row);
+        }
+        return groups;
+    }
+}
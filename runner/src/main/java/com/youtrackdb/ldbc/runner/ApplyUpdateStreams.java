@@ -0,0 +1,92 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Injector;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.UpdateDependencyExecutor;
+import com.youtrackdb.ldbc.common.UpdateStreams;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the update streams in {@code ldbc.snb.interactive.updates_dir} as fast as the database allows, on
+ * {@code tinkerpop.updates.threads} threads (default: available processors) with an
+ * {@link UpdateDependencyExecutor}, so each update still runs after the updates creating what it references.
+ * Useful for measuring write throughput without the driver's schedule, or for bringing a database to the state
+ * after the streams.
+ *
+ * <p>Usage: {@code ApplyUpdateStreams <properties>...}, earlier files taking precedence.
+ * {@code tinkerpop.updates.maxInFlight} bounds the submitted but unfinished updates (default 64 per thread).
+ */
+public class ApplyUpdateStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplyUpdateStreams.class);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = ToolBootstrap.loadProperties(args, 0);
+
+        String vendor = properties.get("tinkerpop.vendor");
+        String updatesDir = properties.get("ldbc.snb.interactive.updates_dir");
+        if (updatesDir == null || updatesDir.isBlank()) {
+            throw new IllegalArgumentException("ldbc.snb.interactive.updates_dir is not set");
+        }
+        int threads = Integer.parseInt(properties.getOrDefault("tinkerpop.updates.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int maxInFlight = Integer.parseInt(properties.getOrDefault("tinkerpop.updates.maxInFlight",
+                String.valueOf(64 * threads)));
+
+        System.out.println("LDBC SNB Update Streams");
+        System.out.println("  Vendor:  " + vendor);
+        System.out.println("  Updates: " + updatesDir);
+        System.out.println("  Threads: " + threads);
+
+        Injector injector = ToolBootstrap.injector(properties);
+        Map<String, OperationHandler<Operation<?>, TinkerPopConnectionState>> handlers = new ConcurrentHashMap<>();
+
+        long start = System.nanoTime();
+        UpdateDependencyExecutor executor;
+        try (var state = new TinkerPopConnectionState(injector.getInstance(GraphProvider.class), properties);
+             var streams = new UpdateStreams(Path.of(updatesDir))) {
+            executor = new UpdateDependencyExecutor(threads, maxInFlight, update -> {
+                try {
+                    handler(handlers, injector, update).executeOperation(update, state,
+                            new ResultReporter.SimpleResultReporter(new ConcurrentErrorReporter()));
+                } catch (Exception e) {
+                    logger.warn("{} failed: {}", update.getClass().getSimpleName(), update.parameterMap(), e);
+                    throw e;
+                }
+            });
+            try (executor) {
+                for (Operation<?> update = streams.next(); update != null; update = streams.next()) {
+                    executor.submit(update);
+                }
+                executor.awaitCompletion();
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%nApplied %,d of %,d updates in %.1f s (%,.0f updates/s)%n", executor.applied(),
+                executor.submitted(), seconds, executor.applied() / seconds);
+        System.out.printf("  held for a prerequisite: %,d%n", executor.held());
+        System.out.printf("  failed:                  %,d%n", executor.failed());
+        System.out.printf("  skipped:                 %,d%n", executor.skipped());
+        if (executor.failed() > 0 || executor.skipped() > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static OperationHandler<Operation<?>, TinkerPopConnectionState> handler(
+            Map<String, OperationHandler<Operation<?>, TinkerPopConnectionState>> handlers, Injector injector,
+            Operation<?> update) {
+        return handlers.computeIfAbsent(update.getClass().getSimpleName(),
+                name -> ToolBootstrap.handler(injector, name));
+    }
+}
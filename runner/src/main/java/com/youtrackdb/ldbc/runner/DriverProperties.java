@@ -0,0 +1,34 @@
+package com.youtrackdb.ldbc.runner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Loads driver properties files outside of the LDBC driver, for tools that run next to it.
+ */
+public final class DriverProperties {
+
+    private DriverProperties() {}
+
+    /**
+     * Reads the given files into one map. Files listed first take precedence, the same as the
+     * driver's {@code -P "vendor.properties|defaults.properties"} argument.
+     */
+    public static Map<String, String> load(Path... files) throws IOException {
+        var properties = new HashMap<String, String>();
+        for (int i = files.length - 1; i >= 0; i--) {
+            var fileProperties = new Properties();
+            try (Reader reader = Files.newBufferedReader(files[i])) {
+                fileProperties.load(reader);
+            }
+            fileProperties.stringPropertyNames()
+                    .forEach(name -> properties.put(name, fileProperties.getProperty(name)));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,60 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import com.youtrackdb.ldbc.common.DefaultQueryModule;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.loader.BulkLoader;
+import com.youtrackdb.ldbc.common.loader.DefaultLoaderModule;
+import com.youtrackdb.ldbc.common.loader.LoaderHooks;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Loads an LDBC SNB CSV dataset into the configured vendor with {@link BulkLoader}.
+ *
+ * <p>Usage: {@code LoadDataset <properties>...}, earlier files taking precedence. Reads
+ * {@code tinkerpop.vendor} and the {@code tinkerpop.loader.*} properties.
+ */
+public class LoadDataset {
+
+    public static void main(String[] args) throws Exception {
+        Path[] files = args.length > 0
+                ? Arrays.stream(args).map(Path::of).toArray(Path[]::new)
+                : new Path[] {Path.of("ldbc-driver.properties")};
+        Map<String, String> properties = DriverProperties.load(files);
+
+        String vendor = properties.get("tinkerpop.vendor");
+        String dataset = properties.get("tinkerpop.loader.dataset");
+        if (dataset == null || dataset.isBlank()) {
+            throw new IllegalArgumentException("tinkerpop.loader.dataset is not set");
+        }
+        int batchSize = Integer.parseInt(properties.getOrDefault("tinkerpop.loader.batchSize", "50000"));
+        int chunkSize = Integer.parseInt(properties.getOrDefault("tinkerpop.loader.chunkSize", "1000"));
+        int parserThreads = Integer.parseInt(properties.getOrDefault("tinkerpop.loader.parserThreads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        System.out.println("LDBC SNB Bulk Loader");
+        System.out.println("  Vendor:     " + vendor);
+        System.out.println("  Dataset:    " + dataset);
+
+        Injector injector = Guice.createInjector(
+                Modules.override(new DefaultQueryModule(), new DefaultLoaderModule())
+                        .with(VendorModules.create(vendor, properties))
+        );
+
+        try (GraphProvider graphProvider = injector.getInstance(GraphProvider.class)) {
+            var loader = new BulkLoader(graphProvider, injector.getInstance(LoaderHooks.class),
+                    batchSize, chunkSize, parserThreads);
+            Map<String, Long> loaded = loader.loadAll(Path.of(dataset));
+
+            System.out.println("\nLoaded rows:");
+            loaded.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> System.out.printf("  %-45s: %,d%n", entry.getKey(), entry.getValue()));
+        }
+    }
+}
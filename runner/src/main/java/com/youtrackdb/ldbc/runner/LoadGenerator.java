@@ -0,0 +1,293 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Injector;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.SubstitutionParameters;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.LatencyHistogram;
+import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator, independent of the LDBC driver: issues the enabled complex reads at a fixed
+ * target rate and raises the rate step by step until a latency SLO fails, to find the sustainable throughput.
+ *
+ * <p>Operations are scheduled at fixed intervals and each one runs on its own virtual thread, so a slow
+ * operation never delays the ones after it. Latency is measured from the intended start time rather than the
+ * actual one, which corrects for coordinated omission: when the database falls behind, the queueing delay
+ * shows up in the percentiles instead of silently lowering the offered load. Service time (from the actual
+ * start) is reported next to it.
+ *
+ * <p>Usage: {@code LoadGenerator <properties>...}, earlier files taking precedence. Parameters come from the
+ * substitution parameter files; query types are mixed round-robin by {@code tinkerpop.loadgen.weight.<Name>}
+ * (default 1, 0 = off). A step fails when the {@code slo.percentile} latency exceeds {@code slo.millis}, the
+ * error rate exceeds {@code maxErrorRate}, or more than {@code maxInFlight} operations are outstanding.
+ * Results go to {@value #LOAD_CURVE_FILE} in {@code results_dir}, the per-phase latencies of all steps to
+ * {@value TinkerPopDb#LATENCIES_FILE}.
+ */
+public class LoadGenerator {
+
+    static final String LOAD_CURVE_FILE = "load-curve.csv";
+
+    private static final String PREFIX = "tinkerpop.loadgen.";
+    private static final List<String> COMPLEX_READS = List.of(
+            "LdbcQuery1", "LdbcQuery2", "LdbcQuery3", "LdbcQuery4", "LdbcQuery5", "LdbcQuery6", "LdbcQuery7",
+            "LdbcQuery8", "LdbcQuery9", "LdbcQuery10", "LdbcQuery11", "LdbcQuery12", "LdbcQuery13", "LdbcQuery14");
+
+    private final TinkerPopConnectionState state;
+    private final List<QueryStream> mix;
+    private final double sloPercentile;
+    private final long sloNanos;
+    private final double maxErrorRate;
+    private final int maxInFlight;
+    private final long stepNanos;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long issued;
+
+    private LoadGenerator(TinkerPopConnectionState state, List<QueryStream> mix, Map<String, String> properties) {
+        this.state = state;
+        this.mix = mix;
+        this.sloPercentile = Double.parseDouble(properties.getOrDefault(PREFIX + "slo.percentile", "99"));
+        this.sloNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(properties.getOrDefault(PREFIX + "slo.millis", "1000")));
+        this.maxErrorRate = Double.parseDouble(properties.getOrDefault(PREFIX + "maxErrorRate", "0.01"));
+        this.maxInFlight = Integer.parseInt(properties.getOrDefault(PREFIX + "maxInFlight", "10000"));
+        this.stepNanos = TimeUnit.SECONDS.toNanos(
+                Long.parseLong(properties.getOrDefault(PREFIX + "stepSeconds", "30")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = ToolBootstrap.loadProperties(args, 0);
+
+        String vendor = properties.get("tinkerpop.vendor");
+        double startRate = Double.parseDouble(properties.getOrDefault(PREFIX + "startRate", "10"));
+        double rateStep = Double.parseDouble(properties.getOrDefault(PREFIX + "rateStep", String.valueOf(startRate)));
+        double maxRate = Double.parseDouble(properties.getOrDefault(PREFIX + "maxRate", "0"));
+        if (startRate <= 0 || rateStep <= 0) {
+            throw new IllegalArgumentException(PREFIX + "startRate and " + PREFIX + "rateStep must be positive");
+        }
+
+        Injector injector = ToolBootstrap.injector(properties);
+        List<QueryStream> mix = mix(injector, properties);
+        if (mix.isEmpty()) {
+            throw new IllegalStateException("No substitution parameters found for the enabled complex reads");
+        }
+
+        try (var state = new TinkerPopConnectionState(injector.getInstance(GraphProvider.class), properties)) {
+            var generator = new LoadGenerator(state, mix, properties);
+
+            System.out.println("LDBC SNB Open-Loop Load Generator");
+            System.out.println("  Vendor:     " + vendor);
+            System.out.println("  Mix:        " + mix.stream().map(stream -> stream.name).distinct().toList());
+            System.out.printf(Locale.ROOT, "  SLO:        p%s <= %d ms, errors <= %.2f%%%n",
+                    generator.sloPercentile, TimeUnit.NANOSECONDS.toMillis(generator.sloNanos),
+                    generator.maxErrorRate * 100);
+
+            Path curveFile = state.getResultsDir().resolve(LOAD_CURVE_FILE);
+            Files.createDirectories(curveFile.toAbsolutePath().getParent());
+            try (Writer curve = Files.newBufferedWriter(curveFile)) {
+                curve.write(Step.HEADER + "\n");
+                System.out.printf("%n%s%n", Step.HEADER);
+                for (double rate = startRate; maxRate <= 0 || rate <= maxRate; rate += rateStep) {
+                    Step step = generator.run(rate);
+                    curve.write(step.toCsv() + "\n");
+                    curve.flush();
+                    System.out.println(step.toCsv());
+                    String failure = generator.failure(step);
+                    if (failure != null) {
+                        System.out.printf(Locale.ROOT, "%nSLO failed at %.1f ops/s: %s%n", rate, failure);
+                        break;
+                    }
+                }
+            } finally {
+                generator.executor.close();
+            }
+            state.getMetrics().writeCsv(state.getResultsDir().resolve(TinkerPopDb.LATENCIES_FILE));
+            System.out.println("Load curve written to " + curveFile);
+        }
+    }
+
+    private static List<QueryStream> mix(Injector injector, Map<String, String> properties) throws Exception {
+        Path parametersDir = Path.of(properties.getOrDefault("ldbc.snb.interactive.parameters_dir", "."));
+        var mix = new ArrayList<QueryStream>();
+        for (String name : COMPLEX_READS) {
+            boolean enabled = Boolean.parseBoolean(
+                    properties.getOrDefault("ldbc.snb.interactive." + name + "_enable", "true"));
+            int weight = Integer.parseInt(properties.getOrDefault(PREFIX + "weight." + name, "1"));
+            if (!enabled || weight <= 0) {
+                continue;
+            }
+            List<Operation<?>> operations = SubstitutionParameters.read(parametersDir, name);
+            if (operations.isEmpty()) {
+                continue;
+            }
+            var stream = new QueryStream(name, ToolBootstrap.handler(injector, name), operations);
+            for (int i = 0; i < weight; i++) {
+                mix.add(stream);
+            }
+        }
+        return mix;
+    }
+
+    /**
+     * Issues operations at {@code rate} per second for one step and waits for them to complete.
+     */
+    private Step run(double rate) throws InterruptedException {
+        var step = new Step(rate);
+        double intervalNanos = 1e9 / rate;
+        long operations = (long) (rate * stepNanos / 1e9);
+        long start = System.nanoTime();
+
+        for (long i = 0; i < operations; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                step.overloaded = true;
+                break;
+            }
+            QueryStream stream = mix.get((int) (issued++ % mix.size()));
+            Operation<?> operation = stream.next();
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    step.record(intended, execute(stream, operation));
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        // Operations still running after another step length count as overload, not as a hang
+        long deadline = System.nanoTime() + stepNanos;
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                step.overloaded = true;
+                break;
+            }
+            Thread.sleep(10);
+        }
+        step.finish(start);
+        return step;
+    }
+
+    /**
+     * Returns the service time, or -1 if the operation failed.
+     */
+    private long execute(QueryStream stream, Operation<?> operation) {
+        var reporter = new ResultReporter.SimpleResultReporter(new ConcurrentErrorReporter());
+        long start = System.nanoTime();
+        try {
+            stream.handler.executeOperation(operation, state, reporter);
+            return System.nanoTime() - start;
+        } catch (DbException e) {
+            return -1;
+        }
+    }
+
+    private String failure(Step step) {
+        if (step.overloaded) {
+            return "more than " + maxInFlight + " operations in flight";
+        }
+        if (step.count() == 0) {
+            return "no operations completed";
+        }
+        long latency = step.corrected.valueAtPercentile(sloPercentile);
+        if (latency > sloNanos) {
+            return String.format(Locale.ROOT, "p%s latency %.1f ms", sloPercentile, latency / 1e6);
+        }
+        double errorRate = (double) step.errors / step.count();
+        if (errorRate > maxErrorRate) {
+            return String.format(Locale.ROOT, "error rate %.2f%%", errorRate * 100);
+        }
+        return null;
+    }
+
+    private static final class QueryStream {
+        private final String name;
+        private final OperationHandler<Operation<?>, TinkerPopConnectionState> handler;
+        private final List<Operation<?>> operations;
+        private int next;
+
+        private QueryStream(String name, OperationHandler<Operation<?>, TinkerPopConnectionState> handler,
+                            List<Operation<?>> operations) {
+            this.name = name;
+            this.handler = handler;
+            this.operations = operations;
+        }
+
+        private Operation<?> next() {
+            return operations.get(next++ % operations.size());
+        }
+    }
+
+    /**
+     * Latencies of one rate step. Written by many virtual threads, so recording is synchronized.
+     */
+    private static final class Step {
+        static final String HEADER = "target_rate,achieved_rate,count,errors,"
+                + "p50_ms,p90_ms,p99_ms,p99.9_ms,max_ms,service_p99_ms";
+
+        private final double rate;
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private long errors;
+        private long lastCompletion;
+        private double achievedRate;
+        private volatile boolean overloaded;
+
+        private Step(double rate) {
+            this.rate = rate;
+        }
+
+        private synchronized void record(long intended, long serviceNanos) {
+            long now = System.nanoTime();
+            lastCompletion = now;
+            if (serviceNanos < 0) {
+                errors++;
+                return;
+            }
+            corrected.record(now - intended);
+            service.record(serviceNanos);
+        }
+
+        private synchronized long count() {
+            return corrected.count() + errors;
+        }
+
+        private synchronized void finish(long start) {
+            long elapsed = lastCompletion - start;
+            achievedRate = elapsed > 0 ? count() * 1e9 / elapsed : 0;
+        }
+
+        private synchronized String toCsv() {
+            return String.format(Locale.ROOT, "%.1f,%.1f,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                    rate, achievedRate, count(), errors,
+                    corrected.valueAtPercentile(50) / 1e6,
+                    corrected.valueAtPercentile(90) / 1e6,
+                    corrected.valueAtPercentile(99) / 1e6,
+                    corrected.valueAtPercentile(99.9) / 1e6,
+                    corrected.max() / 1e6,
+                    service.valueAtPercentile(99) / 1e6);
+        }
+    }
+}
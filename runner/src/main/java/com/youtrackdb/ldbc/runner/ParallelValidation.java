@@ -0,0 +1,185 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Injector;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.ValidationParameters;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs the {@code validate_database} parameters file through the query handlers like the driver does, but with
+ * the read operations in parallel.
+ *
+ * <p>Updates are the barriers: all reads between two updates run concurrently on
+ * {@code tinkerpop.validation.threads} threads (default: available processors), and each update is applied
+ * alone, in file order, once the reads before it have finished. Every read therefore sees exactly the database
+ * state it was recorded against. Results are compared with {@link Object#equals} against
+ * {@link Operation#deserializeResult}, as in the driver.
+ *
+ * <p>Usage: {@code ParallelValidation <properties>...}, earlier files taking precedence. Mismatches go to
+ * {@value #FAILURES_FILE} in {@code results_dir}; the exit code is {@code 1} if there are any.
+ */
+public class ParallelValidation {
+
+    static final String FAILURES_FILE = "validation-failures.txt";
+
+    private static final int PASSED = 0;
+    private static final int FAILED = 1;
+
+    private final Injector injector;
+    private final TinkerPopConnectionState state;
+    private final Map<String, OperationHandler<Operation<?>, TinkerPopConnectionState>> handlers =
+            new ConcurrentHashMap<>();
+    private final Map<String, AtomicIntegerArray> counts = new ConcurrentHashMap<>();
+    private final List<Failure> failures = new ArrayList<>();
+
+    private record Failure(int line, String description) {
+    }
+
+    private ParallelValidation(Injector injector, TinkerPopConnectionState state) {
+        this.injector = injector;
+        this.state = state;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> properties = ToolBootstrap.loadProperties(args, 0);
+
+        String vendor = properties.get("tinkerpop.vendor");
+        String parametersFile = properties.get("validate_database");
+        if (parametersFile == null || parametersFile.isBlank()) {
+            throw new IllegalArgumentException("validate_database is not set");
+        }
+        int threads = Integer.parseInt(properties.getOrDefault("tinkerpop.validation.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        List<ValidationParameters.Entry> entries = ValidationParameters.read(Path.of(parametersFile));
+        long updates = entries.stream().filter(ValidationParameters.Entry::isUpdate).count();
+
+        System.out.println("LDBC SNB Parallel Validation");
+        System.out.println("  Vendor:     " + vendor);
+        System.out.println("  Parameters: " + parametersFile);
+        System.out.println("  Operations: " + entries.size() + " (" + updates + " updates)");
+        System.out.println("  Threads:    " + threads);
+
+        Injector injector = ToolBootstrap.injector(properties);
+
+        long start = System.nanoTime();
+        ParallelValidation validation;
+        try (var state = new TinkerPopConnectionState(injector.getInstance(GraphProvider.class), properties)) {
+            validation = new ParallelValidation(injector, state);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                validation.run(entries, executor);
+            } finally {
+                executor.shutdownNow();
+            }
+            validation.writeFailures(state.getResultsDir().resolve(FAILURES_FILE));
+        }
+
+        System.out.printf("%nValidated in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        validation.printSummary();
+        if (!validation.failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private void run(List<ValidationParameters.Entry> entries, ExecutorService executor) throws Exception {
+        var reads = new ArrayList<Callable<Void>>();
+        for (ValidationParameters.Entry entry : entries) {
+            if (entry.isUpdate()) {
+                runAll(reads, executor);
+                validate(entry);
+            } else {
+                reads.add(() -> {
+                    validate(entry);
+                    return null;
+                });
+            }
+        }
+        runAll(reads, executor);
+    }
+
+    private static void runAll(List<Callable<Void>> reads, ExecutorService executor) throws Exception {
+        for (Future<Void> future : executor.invokeAll(reads)) {
+            future.get();
+        }
+        reads.clear();
+    }
+
+    private void validate(ValidationParameters.Entry entry) {
+        var reporter = new ResultReporter.SimpleResultReporter(new ConcurrentErrorReporter());
+        String failure;
+        try {
+            handler(entry.operationName()).executeOperation(entry.operation(), state, reporter);
+            Object actual = reporter.result();
+            if (entry.isUpdate()) {
+                failure = null;
+            } else {
+                Object expected = entry.operation().deserializeResult(entry.expectedResult());
+                failure = Objects.equals(expected, actual)
+                        ? null
+                        : "expected: " + entry.expectedResult() + "\nactual:   " + actual;
+            }
+        } catch (Exception e) {
+            failure = "error:    " + e;
+        }
+
+        counts.computeIfAbsent(entry.operationName(), name -> new AtomicIntegerArray(2))
+                .incrementAndGet(failure == null ? PASSED : FAILED);
+        if (failure != null) {
+            synchronized (failures) {
+                failures.add(new Failure(entry.line(), String.format("line %d: %s %s%n%s%n", entry.line(),
+                        entry.operationName(), entry.operation().parameterMap(), failure)));
+            }
+        }
+    }
+
+    private OperationHandler<Operation<?>, TinkerPopConnectionState> handler(String name) {
+        return handlers.computeIfAbsent(name, key -> ToolBootstrap.handler(injector, key));
+    }
+
+    private void writeFailures(Path file) throws Exception {
+        Files.deleteIfExists(file);
+        if (failures.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        // Reads finish in any order; sort by line so the file is stable between runs
+        failures.sort(Comparator.comparingInt(Failure::line));
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (Failure failure : failures) {
+                writer.write(failure.description());
+                writer.write('\n');
+            }
+        }
+        System.out.println("Failures written to " + file);
+    }
+
+    private void printSummary() {
+        System.out.printf("%n  %-32s %8s %8s%n", "Operation", "Passed", "Failed");
+        new TreeMap<>(counts).forEach((name, count) ->
+                System.out.printf("  %-32s %8d %8d%n", name, count.get(PASSED), count.get(FAILED)));
+        System.out.println(failures.isEmpty()
+                ? "\nValidation PASSED"
+                : "\nValidation FAILED: " + failures.size() + " operations");
+    }
+}
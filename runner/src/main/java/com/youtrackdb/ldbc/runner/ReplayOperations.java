@@ -0,0 +1,73 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Injector;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.OperationCodec;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.SlowOperationLog;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-executes the operations of a slow-operation log ({@link SlowOperationLog}) one at a time against the
+ * configured vendor and prints the original and replayed latencies, for tuning single queries in isolation.
+ *
+ * <p>Usage: {@code ReplayOperations <slow-operations.jsonl> <properties>...}, earlier properties files taking
+ * precedence. {@code tinkerpop.replay.repeat} sets how often each operation runs (default 3). Updates in the
+ * log are skipped.
+ */
+public class ReplayOperations {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: ReplayOperations <slow-operations.jsonl> [properties...]");
+        }
+        Path logFile = Path.of(args[0]);
+        // The replay itself must not append to a slow log or sample profiles
+        Map<String, String> properties = ToolBootstrap.loadProperties(args, 1);
+        int repeat = Integer.parseInt(properties.getOrDefault("tinkerpop.replay.repeat", "3"));
+
+        List<SlowOperationLog.Entry> entries = SlowOperationLog.read(logFile);
+        String vendor = properties.get("tinkerpop.vendor");
+
+        System.out.println("LDBC SNB Operation Replay");
+        System.out.println("  Vendor:     " + vendor);
+        System.out.println("  Operations: " + entries.size() + " from " + logFile);
+        System.out.println("  Repeat:     " + repeat);
+
+        Injector injector = ToolBootstrap.injector(properties);
+
+        try (var state = new TinkerPopConnectionState(injector.getInstance(GraphProvider.class), properties)) {
+            for (SlowOperationLog.Entry entry : entries) {
+                if (!OperationCodec.canDecode(entry.operation())) {
+                    System.out.printf("%n%s: skipped, only read operations are replayed%n", entry.operation());
+                    continue;
+                }
+                Operation<?> operation = OperationCodec.decode(entry.operation(), entry.parameters());
+                OperationHandler<Operation<?>, TinkerPopConnectionState> handler =
+                        ToolBootstrap.handler(injector, entry.operation());
+
+                System.out.printf("%n%s %s%n", entry.operation(), entry.parameters());
+                System.out.printf("  logged:   %,10.1f ms  (%d results)%n", entry.durationMicros() / 1000.0, entry.resultSize());
+                for (int run = 1; run <= repeat; run++) {
+                    var reporter = new ResultReporter.SimpleResultReporter(new ConcurrentErrorReporter());
+                    long start = System.nanoTime();
+                    handler.executeOperation(operation, state, reporter);
+                    long nanos = System.nanoTime() - start;
+                    System.out.printf("  run %-4d %,10.1f ms  (%d results)%n", run, nanos / 1_000_000.0,
+                            resultSize(reporter.result()));
+                }
+            }
+        }
+    }
+
+    private static int resultSize(Object result) {
+        return result instanceof List<?> list ? list.size() : 1;
+    }
+}
@@ -7,9 +7,10 @@ import com.google.inject.Module;
 import com.google.inject.name.Names;
 import com.google.inject.util.Modules;
 import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.GroupCommitExecutor;
+import com.youtrackdb.ldbc.common.QueryPlanner;
 import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
 import com.youtrackdb.ldbc.common.DefaultQueryModule;
-import com.youtrackdb.ldbc.ytdb.YtdbModule;
 import org.ldbcouncil.snb.driver.Db;
 import org.ldbcouncil.snb.driver.DbConnectionState;
 import org.ldbcouncil.snb.driver.DbException;
@@ -19,9 +20,18 @@ import org.ldbcouncil.snb.driver.control.LoggingService;
 import org.ldbcouncil.snb.driver.workloads.interactive.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class TinkerPopDb extends Db {
+    static final String LATENCIES_FILE = "operation-latencies.csv";
+    private static final String RESOURCES_FILE = "operation-resources.csv";
+    private static final String RETRIES_FILE = "operation-retries.csv";
+    private static final List<String> PLANNED_QUERIES = List.of(
+            LdbcQuery6.class.getSimpleName(), LdbcQuery11.class.getSimpleName());
+
     private TinkerPopConnectionState connectionState;
     private Injector injector;
     private LoggingService loggingService;
@@ -34,7 +44,7 @@ public class TinkerPopDb extends Db {
         String vendor = properties.get("tinkerpop.vendor");
         loggingService.info("Selected vendor: " + vendor);
 
-        Module vendorModule = createVendorModule(vendor, properties);
+        Module vendorModule = VendorModules.create(vendor, properties);
         this.injector = Guice.createInjector(
             Modules.override(new DefaultQueryModule())
                    .with(vendorModule)
@@ -45,14 +55,33 @@ public class TinkerPopDb extends Db {
 
         registerAllOperationHandlers();
 
+        QueryPlanner planner = connectionState.getPlanner();
+        if (estimatesPlans(properties, planner)) {
+            try {
+                long start = System.nanoTime();
+                connectionState.executeInTx(g -> planner.getStatistics().prime(g));
+                loggingService.info("Planner statistics counted in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            } catch (Exception e) {
+                throw new DbException("Failed to count the planner statistics", e);
+            }
+        }
+
+        var warmUp = new WarmUp(injector, properties, loggingService);
+        if (warmUp.isEnabled()) {
+            warmUp.run(graphProvider, planner.getStatistics());
+        }
+
         loggingService.info("TinkerPop LDBC SNB initialization complete");
     }
 
-    private Module createVendorModule(String vendor, Map<String, String> properties) throws DbException {
-        return switch (vendor.toLowerCase()) {
-            case "ytdb" -> new YtdbModule(properties);
-            default -> throw new DbException("Unknown vendor: " + vendor + ". Supported: ytdb");
-        };
+    /**
+     * Whether any enabled query of {@link #PLANNED_QUERIES} estimates its plans, i.e. has none forced, and so
+     * uses the global counts of the planner statistics.
+     */
+    private static boolean estimatesPlans(Map<String, String> properties, QueryPlanner planner) {
+        return PLANNED_QUERIES.stream().anyMatch(name -> !planner.isForced(name) && Boolean.parseBoolean(
+                properties.getOrDefault("ldbc.snb.interactive." + name + "_enable", "true")));
     }
 
     private void registerAllOperationHandlers() throws DbException {
@@ -118,6 +147,24 @@ public class TinkerPopDb extends Db {
     @Override
     protected void onClose() throws IOException {
         if (connectionState != null) {
+            Path latencies = connectionState.getResultsDir().resolve(LATENCIES_FILE);
+            connectionState.getMetrics().writeCsv(latencies);
+            loggingService.info("Operation phase latencies written to " + latencies);
+            Path resources = connectionState.getResultsDir().resolve(RESOURCES_FILE);
+            connectionState.getMetrics().writeResourcesCsv(resources);
+            loggingService.info("Operation allocation and CPU time written to " + resources);
+            Path retries = connectionState.getResultsDir().resolve(RETRIES_FILE);
+            connectionState.getRetryPolicy().writeCsv(retries);
+            loggingService.info("Update retries written to " + retries);
+            GroupCommitExecutor groupCommit = connectionState.getGroupCommit();
+            if (groupCommit.isEnabled()) {
+                loggingService.info(String.format("Group commit: %d updates in %d transactions, %d failed batches",
+                        groupCommit.batchedUpdates(), groupCommit.batches(), groupCommit.failedBatches()));
+            }
+            Map<String, Long> timedOut = connectionState.getTimeouts().timedOut();
+            if (!timedOut.isEmpty()) {
+                loggingService.info("Timed out operations: " + timedOut);
+            }
             connectionState.close();
         }
         if (injector != null) {
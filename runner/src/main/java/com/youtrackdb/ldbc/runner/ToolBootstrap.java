@@ -0,0 +1,74 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import com.youtrackdb.ldbc.common.DefaultQueryModule;
+import com.youtrackdb.ldbc.common.QueryPlanner;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import com.youtrackdb.ldbc.common.metrics.SlowOperationLog;
+import com.youtrackdb.ldbc.common.metrics.TraversalProfiler;
+import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Start-up shared by the tools that run the query handlers next to the LDBC driver: {@link LoadGenerator},
+ * {@link ReplayOperations}, {@link ParallelValidation}, {@link ApplyUpdateStreams} and {@link WarmUp}.
+ */
+final class ToolBootstrap {
+
+    private static final String DEFAULT_PROPERTIES = "ldbc-driver.properties";
+
+    private ToolBootstrap() {}
+
+    /**
+     * Loads the properties files named by {@code args} from index {@code first} on, earlier files taking
+     * precedence, or {@value #DEFAULT_PROPERTIES} when there are none. See {@link #withoutSampling}.
+     */
+    static Map<String, String> loadProperties(String[] args, int first) throws IOException {
+        Path[] files = args.length > first
+                ? Arrays.stream(args, first, args.length).map(Path::of).toArray(Path[]::new)
+                : new Path[] {Path.of(DEFAULT_PROPERTIES)};
+        return withoutSampling(DriverProperties.load(files));
+    }
+
+    /**
+     * A copy of {@code properties} without slow operation logging, traversal profiling and plan sampling. They
+     * would distort the tool's own latencies and append to the result files of the measured run.
+     */
+    static Map<String, String> withoutSampling(Map<String, String> properties) {
+        var copy = new HashMap<>(properties);
+        copy.keySet().removeIf(key -> key.startsWith(SlowOperationLog.THRESHOLD));
+        copy.remove(TraversalProfiler.SAMPLE_RATE);
+        copy.remove(QueryPlanner.SAMPLE_RATE);
+        return copy;
+    }
+
+    /**
+     * The default handlers, overridden by the module of {@code tinkerpop.vendor}.
+     */
+    static Injector injector(Map<String, String> properties) throws DbException {
+        return Guice.createInjector(
+                Modules.override(new DefaultQueryModule())
+                        .with(VendorModules.create(properties.get("tinkerpop.vendor"), properties))
+        );
+    }
+
+    /**
+     * The handler bound for the operation's simple class name, e.g. {@code LdbcQuery1}.
+     */
+    @SuppressWarnings("unchecked")
+    static OperationHandler<Operation<?>, TinkerPopConnectionState> handler(Injector injector, String name) {
+        return (OperationHandler<Operation<?>, TinkerPopConnectionState>)
+                injector.getInstance(Key.get(OperationHandler.class, Names.named(name)));
+    }
+}
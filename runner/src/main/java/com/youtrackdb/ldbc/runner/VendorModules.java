@@ -0,0 +1,25 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Module;
+import com.youtrackdb.ldbc.ytdb.YtdbModule;
+import org.ldbcouncil.snb.driver.DbException;
+
+import java.util.Map;
+
+/**
+ * Maps the {@code tinkerpop.vendor} property to the vendor's Guice module.
+ */
+public final class VendorModules {
+
+    private VendorModules() {}
+
+    public static Module create(String vendor, Map<String, String> properties) throws DbException {
+        if (vendor == null) {
+            throw new DbException("tinkerpop.vendor is not set. Supported: ytdb");
+        }
+        return switch (vendor.toLowerCase()) {
+            case "ytdb" -> new YtdbModule(properties);
+            default -> throw new DbException("Unknown vendor: " + vendor + ". Supported: ytdb");
+        };
+    }
+}
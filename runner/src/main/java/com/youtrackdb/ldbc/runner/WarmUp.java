@@ -0,0 +1,284 @@
+package com.youtrackdb.ldbc.runner;
+
+import com.google.inject.Injector;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.PlannerStatistics;
+import com.youtrackdb.ldbc.common.SubstitutionParameters;
+import com.youtrackdb.ldbc.common.TinkerPopConnectionState;
+import org.ldbcouncil.snb.driver.DbException;
+import org.ldbcouncil.snb.driver.Operation;
+import org.ldbcouncil.snb.driver.OperationHandler;
+import org.ldbcouncil.snb.driver.ResultReporter;
+import org.ldbcouncil.snb.driver.control.LoggingService;
+import org.ldbcouncil.snb.driver.runtime.ConcurrentErrorReporter;
+import org.ldbcouncil.snb.driver.workloads.interactive.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs the enabled read queries before the measured run so JIT compilation and database caches are warm.
+ *
+ * <p>Complex reads take their parameters from the second half of each substitution parameter file, while the
+ * driver starts at the top, so the two stay disjoint as long as the measured run uses at most the first half.
+ * {@value #PARAMETERS_DIR} points to separate parameter files instead, all of which are used. IS1-IS3 use the person ids of IC1, IS4-IS7 the message ids
+ * returned by IS2. Query types run round-robin until each one is stable, has run
+ * {@value #OPERATIONS} times, or {@value #DURATION} seconds have passed. A type is stable once the median
+ * latency of two consecutive windows of {@value #WINDOW} operations differs by less than {@value #TOLERANCE}.
+ *
+ * <p>Warm-up operations run against a separate connection state on the same {@link GraphProvider}, so they
+ * are not part of the latency, slow operation and profile output of the measured run. They share its
+ * {@link PlannerStatistics}, so the statistics they compute are not computed again by the measured operations.
+ */
+final class WarmUp {
+
+    static final String OPERATIONS = "tinkerpop.warmup.operations";
+    static final String DURATION = "tinkerpop.warmup.durationSeconds";
+    static final String WINDOW = "tinkerpop.warmup.window";
+    static final String TOLERANCE = "tinkerpop.warmup.tolerance";
+    static final String PARAMETERS_DIR = "tinkerpop.warmup.parametersDir";
+
+    private static final List<String> COMPLEX_READS = List.of(
+            "LdbcQuery1", "LdbcQuery2", "LdbcQuery3", "LdbcQuery4", "LdbcQuery5", "LdbcQuery6", "LdbcQuery7",
+            "LdbcQuery8", "LdbcQuery9", "LdbcQuery10", "LdbcQuery11", "LdbcQuery12", "LdbcQuery13", "LdbcQuery14");
+
+    private final Injector injector;
+    private final Map<String, String> properties;
+    private final LoggingService loggingService;
+    private final int maxOperations;
+    private final long durationNanos;
+    private final int window;
+    private final double tolerance;
+
+    WarmUp(Injector injector, Map<String, String> properties, LoggingService loggingService) {
+        this.injector = injector;
+        this.properties = properties;
+        this.loggingService = loggingService;
+        this.maxOperations = Integer.parseInt(properties.getOrDefault(OPERATIONS, "0"));
+        this.durationNanos = Long.parseLong(properties.getOrDefault(DURATION, "0")) * 1_000_000_000L;
+        this.window = Integer.parseInt(properties.getOrDefault(WINDOW, "20"));
+        this.tolerance = Double.parseDouble(properties.getOrDefault(TOLERANCE, "0.1"));
+    }
+
+    boolean isEnabled() {
+        return maxOperations > 0 || durationNanos > 0;
+    }
+
+    /**
+     * @param statistics of the measured run's planner, so that the warm-up fills its cache
+     */
+    void run(GraphProvider graphProvider, PlannerStatistics statistics) throws DbException {
+        try (var state = new TinkerPopConnectionState(graphProvider, ToolBootstrap.withoutSampling(properties),
+                false, statistics)) {
+            run(state);
+        } catch (IOException e) {
+            throw new DbException("Failed to close the warm-up connection state", e);
+        }
+    }
+
+    private void run(TinkerPopConnectionState state) throws DbException {
+        List<QueryStream> streams = streams();
+        if (streams.isEmpty()) {
+            loggingService.info("Warm-up skipped: no substitution parameters found");
+            return;
+        }
+        loggingService.info(String.format("Warm-up: %d query types, up to %s operations each, %s",
+                streams.size(), maxOperations > 0 ? maxOperations : "unlimited",
+                durationNanos > 0 ? "at most " + durationNanos / 1_000_000_000L + " s" : "no time limit"));
+
+        long start = System.nanoTime();
+        boolean active = true;
+        while (active && (durationNanos <= 0 || System.nanoTime() - start < durationNanos)) {
+            active = false;
+            for (QueryStream stream : streams) {
+                if (stream.isDone()) {
+                    continue;
+                }
+                Operation<?> operation = stream.operations.get();
+                if (operation == null) {
+                    continue;
+                }
+                active = true;
+                stream.execute(operation, state);
+            }
+        }
+
+        loggingService.info(String.format("Warm-up finished after %.1f s", (System.nanoTime() - start) / 1e9));
+        for (QueryStream stream : streams) {
+            loggingService.info("  " + stream.summary());
+        }
+    }
+
+    private List<QueryStream> streams() throws DbException {
+        String separateDir = properties.get(PARAMETERS_DIR);
+        boolean separate = separateDir != null && !separateDir.isBlank();
+        Path parametersDir = separate
+                ? Path.of(separateDir)
+                : Path.of(properties.getOrDefault("ldbc.snb.interactive.parameters_dir", "."));
+        var streams = new ArrayList<QueryStream>();
+        List<Long> personIds = new ArrayList<>();
+        var messageIds = new ArrayDeque<Long>();
+
+        for (String name : COMPLEX_READS) {
+            if (!isEnabled(name)) {
+                continue;
+            }
+            List<Operation<?>> operations = read(parametersDir, name, separate);
+            if (name.equals("LdbcQuery1")) {
+                operations.forEach(operation -> personIds.add(((LdbcQuery1) operation).getPersonIdQ1()));
+            }
+            if (!operations.isEmpty()) {
+                streams.add(new QueryStream(name, handler(name), cycle(operations), null));
+            }
+        }
+
+        if (!personIds.isEmpty()) {
+            addShortRead(streams, "LdbcShortQuery1PersonProfile",
+                    cycle(personIds, LdbcShortQuery1PersonProfile::new), null);
+            addShortRead(streams, "LdbcShortQuery2PersonPosts",
+                    cycle(personIds, id -> new LdbcShortQuery2PersonPosts(id, 10)),
+                    result -> {
+                        for (Object row : (List<?>) result) {
+                            if (messageIds.size() < 10_000) {
+                                messageIds.add(((LdbcShortQuery2PersonPostsResult) row).getMessageId());
+                            }
+                        }
+                    });
+            addShortRead(streams, "LdbcShortQuery3PersonFriends",
+                    cycle(personIds, LdbcShortQuery3PersonFriends::new), null);
+            addShortRead(streams, "LdbcShortQuery4MessageContent",
+                    fromQueue(messageIds, LdbcShortQuery4MessageContent::new), null);
+            addShortRead(streams, "LdbcShortQuery5MessageCreator",
+                    fromQueue(messageIds, LdbcShortQuery5MessageCreator::new), null);
+            addShortRead(streams, "LdbcShortQuery6MessageForum",
+                    fromQueue(messageIds, LdbcShortQuery6MessageForum::new), null);
+            addShortRead(streams, "LdbcShortQuery7MessageReplies",
+                    fromQueue(messageIds, LdbcShortQuery7MessageReplies::new), null);
+        }
+        return streams;
+    }
+
+    private void addShortRead(List<QueryStream> streams, String name, Supplier<Operation<?>> operations,
+                              Consumer<Object> resultListener) {
+        if (isEnabled(name)) {
+            streams.add(new QueryStream(name, handler(name), operations, resultListener));
+        }
+    }
+
+    private boolean isEnabled(String name) {
+        return Boolean.parseBoolean(properties.getOrDefault("ldbc.snb.interactive." + name + "_enable", "true"));
+    }
+
+    /**
+     * @param separate whether {@code parametersDir} holds warm-up parameters only; otherwise the measured run
+     *                 reads the same files from the top, and warm-up takes their second half
+     */
+    private static List<Operation<?>> read(Path parametersDir, String name, boolean separate) throws DbException {
+        try {
+            List<Operation<?>> operations = SubstitutionParameters.read(parametersDir, name);
+            return separate ? operations : List.copyOf(operations.subList(operations.size() / 2, operations.size()));
+        } catch (IOException | RuntimeException e) {
+            throw new DbException("Failed to read substitution parameters for " + name, e);
+        }
+    }
+
+    private OperationHandler<Operation<?>, TinkerPopConnectionState> handler(String name) {
+        return ToolBootstrap.handler(injector, name);
+    }
+
+    private static Supplier<Operation<?>> cycle(List<Operation<?>> operations) {
+        int[] next = {0};
+        return () -> operations.get(next[0]++ % operations.size());
+    }
+
+    private static Supplier<Operation<?>> cycle(List<Long> ids, LongFunction<Operation<?>> factory) {
+        int[] next = {0};
+        return () -> factory.apply(ids.get(next[0]++ % ids.size()));
+    }
+
+    private static Supplier<Operation<?>> fromQueue(ArrayDeque<Long> ids, LongFunction<Operation<?>> factory) {
+        return () -> {
+            Long id = ids.poll();
+            if (id == null) {
+                return null;
+            }
+            // Put it back so every short read type sees the same message ids
+            ids.add(id);
+            return factory.apply(id);
+        };
+    }
+
+    private final class QueryStream {
+        private final String name;
+        private final OperationHandler<Operation<?>, TinkerPopConnectionState> handler;
+        private final Supplier<Operation<?>> operations;
+        private final Consumer<Object> resultListener;
+        private final long[] current = new long[window];
+        private long previousMedian = -1;
+        private int executed;
+        private int failed;
+        private int stableAfter = -1;
+
+        private QueryStream(String name, OperationHandler<Operation<?>, TinkerPopConnectionState> handler,
+                            Supplier<Operation<?>> operations, Consumer<Object> resultListener) {
+            this.name = name;
+            this.handler = handler;
+            this.operations = operations;
+            this.resultListener = resultListener;
+        }
+
+        private boolean isDone() {
+            return stableAfter >= 0 || (maxOperations > 0 && executed >= maxOperations);
+        }
+
+        private void execute(Operation<?> operation, TinkerPopConnectionState state) {
+            var reporter = new ResultReporter.SimpleResultReporter(new ConcurrentErrorReporter());
+            long start = System.nanoTime();
+            try {
+                handler.executeOperation(operation, state, reporter);
+            } catch (DbException e) {
+                // e.g. short reads on ids without results; the latency still counts as a warm-up run
+                failed++;
+            }
+            long nanos = System.nanoTime() - start;
+            if (resultListener != null && reporter.result() != null) {
+                resultListener.accept(reporter.result());
+            }
+
+            current[executed % window] = nanos;
+            executed++;
+            if (executed % window == 0) {
+                long median = median(current);
+                if (previousMedian > 0 && Math.abs(median - previousMedian) < tolerance * previousMedian) {
+                    stableAfter = executed;
+                    loggingService.info(String.format(Locale.ROOT,
+                            "Warm-up: %s stable after %d operations (median %.2f ms)", name, executed, median / 1e6));
+                }
+                previousMedian = median;
+            }
+        }
+
+        private String summary() {
+            String state = stableAfter >= 0
+                    ? "stable after " + stableAfter
+                    : "NOT stable after " + executed;
+            return String.format(Locale.ROOT, "%-32s %s operations, last window median %.2f ms%s",
+                    name, state, Math.max(previousMedian, 0) / 1e6, failed > 0 ? ", " + failed + " failed" : "");
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
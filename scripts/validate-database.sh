@@ -0,0 +1,34 @@
+#!/bin/bash
+# Validate the vendor against the validate_database parameters file with reads run in parallel.
+# Uses the same properties files as ldbc-driver.sh: vendor overrides first, then defaults.
+set -eu
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+REPO_ROOT="$(cd "${SCRIPT_DIR}/.." && pwd)"
+RUNNER_JAR="${REPO_ROOT}/runner/target/runner-1.0-SNAPSHOT.jar"
+DEFAULT_PROPS="${REPO_ROOT}/runner/ldbc-driver.properties"
+
+# Validate required files
+[[ -f "$RUNNER_JAR" ]] || { echo "Error: Runner JAR not found. Run 'mvn package' first."; exit 1; }
+[[ -f "$DEFAULT_PROPS" ]] || { echo "Error: Default properties not found: $DEFAULT_PROPS"; exit 1; }
+
+# Read vendor from default properties
+VENDOR=$(grep -E '^tinkerpop\.vendor=' "$DEFAULT_PROPS" | cut -d= -f2 | tr -d '[:space:]')
+[[ -n "$VENDOR" ]] || { echo "Error: tinkerpop.vendor not set in $DEFAULT_PROPS"; exit 1; }
+
+VENDOR_DIR="${REPO_ROOT}/${VENDOR}"
+VENDOR_PROPS="${VENDOR_DIR}/ldbc-driver.properties"
+
+PROPS_ARGS=("$DEFAULT_PROPS")
+if [[ -f "$VENDOR_PROPS" ]]; then
+    PROPS_ARGS=("$VENDOR_PROPS" "$DEFAULT_PROPS")
+fi
+
+# Relative paths in the properties resolve from the vendor directory, as for the driver
+if [[ -d "$VENDOR_DIR" ]]; then
+    cd "$VENDOR_DIR"
+fi
+
+exec java -cp "$RUNNER_JAR" \
+    com.youtrackdb.ldbc.runner.ParallelValidation \
+    "${PROPS_ARGS[@]}"
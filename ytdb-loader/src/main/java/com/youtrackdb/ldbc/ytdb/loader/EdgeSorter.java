@@ -0,0 +1,295 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * External sort of edge rows by (source id, target id), so that consecutive inserts touch the same
+ * vertices and their adjacency pages stay hot.
+ *
+ * <p>Every edge record is reduced to three longs (source, target, one property) through a {@link Codec}.
+ * Up to {@code maxRowsInMemory} rows are buffered and sorted in place; the buffer starts small and doubles as
+ * rows arrive, so small files never allocate the full limit. When the buffer is full at the limit it is written
+ * to a sorted run file in {@code tempDir}. {@link #drain} then k-way merges the runs (or just emits the buffer if
+ * nothing was spilled) and hands the rows out in batches.
+ */
+public final class EdgeSorter<T> implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(EdgeSorter.class);
+
+    private static final int FIELDS = 3;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int INITIAL_ROWS = 1024;
+
+    /**
+     * Maps an edge record to and from (source, target, payload).
+     */
+    public interface Codec<T> {
+        long from(T edge);
+
+        long to(T edge);
+
+        long payload(T edge);
+
+        T decode(long from, long to, long payload);
+    }
+
+    private final Codec<T> codec;
+    private final Path tempDir;
+    private final int maxRowsInMemory;
+    private final List<Path> runs = new ArrayList<>();
+
+    private long[] buffer;
+
+    private int rows;
+    private Path runDir;
+
+    public EdgeSorter(Codec<T> codec, Path tempDir, int maxRowsInMemory) {
+        this.codec = codec;
+        this.tempDir = tempDir;
+        this.maxRowsInMemory = Math.max(1, maxRowsInMemory);
+        this.buffer = new long[Math.min(this.maxRowsInMemory, INITIAL_ROWS) * FIELDS];
+    }
+
+    public void addAll(List<T> edges) {
+        for (T edge : edges) {
+            add(codec.from(edge), codec.to(edge), codec.payload(edge));
+        }
+    }
+
+    public void add(long from, long to, long payload) {
+        if (rows * FIELDS == buffer.length) {
+            if (rows < maxRowsInMemory) {
+                buffer = Arrays.copyOf(buffer, (int) Math.min((long) rows * 2, maxRowsInMemory) * FIELDS);
+            } else {
+                try {
+                    spill();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to spill sorted edge run", e);
+                }
+            }
+        }
+        int i = rows * FIELDS;
+        buffer[i] = from;
+        buffer[i + 1] = to;
+        buffer[i + 2] = payload;
+        rows++;
+    }
+
+    /**
+     * Emits all rows added so far in (source, target) order and resets the sorter.
+     *
+     * @return the number of rows emitted
+     */
+    public long drain(int batchSize, Consumer<List<T>> batchConsumer) throws IOException {
+        sort(0, rows - 1);
+
+        var batch = new ArrayList<T>(batchSize);
+        long count = 0;
+
+        if (runs.isEmpty()) {
+            for (int r = 0; r < rows; r++) {
+                int i = r * FIELDS;
+                batch.add(codec.decode(buffer[i], buffer[i + 1], buffer[i + 2]));
+                count++;
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        } else {
+            if (rows > 0) {
+                spill();
+            }
+            log.debug("Merging {} sorted edge runs", runs.size());
+            count = merge(batchSize, batch, batchConsumer);
+        }
+
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(List.copyOf(batch));
+        }
+
+        rows = 0;
+        deleteRuns();
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deleteRuns();
+    }
+
+    // ==================== SPILL / MERGE ====================
+
+    private void spill() throws IOException {
+        sort(0, rows - 1);
+
+        if (runDir == null) {
+            Files.createDirectories(tempDir);
+            runDir = Files.createTempDirectory(tempDir, "edge-sort-");
+        }
+        Path run = runDir.resolve("run-" + runs.size() + ".bin");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            for (int i = 0; i < rows * FIELDS; i++) {
+                out.writeLong(buffer[i]);
+            }
+        }
+        runs.add(run);
+        log.debug("Spilled {} edge rows to {}", rows, run);
+        rows = 0;
+    }
+
+    private long merge(int batchSize, List<T> batch, Consumer<List<T>> batchConsumer) throws IOException {
+        var queue = new PriorityQueue<RunReader>(runs.size(),
+                Comparator.<RunReader>comparingLong(reader -> reader.from).thenComparingLong(reader -> reader.to));
+        var readers = new ArrayList<RunReader>(runs.size());
+        long count = 0;
+
+        try {
+            for (Path run : runs) {
+                var reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                batch.add(codec.decode(reader.from, reader.to, reader.payload));
+                count++;
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+        return count;
+    }
+
+    private void deleteRuns() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+        if (runDir != null) {
+            Files.deleteIfExists(runDir);
+            runDir = null;
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long from;
+        private long to;
+        private long payload;
+
+        private RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16));
+        }
+
+        private boolean next() throws IOException {
+            try {
+                from = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            to = in.readLong();
+            payload = in.readLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // ==================== IN-MEMORY SORT ====================
+
+    /**
+     * Quicksort over the row triplets in {@link #buffer}, inclusive bounds.
+     */
+    private void sort(int low, int high) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int pivot = partition(low, high);
+            // Recurse into the smaller half to keep the stack shallow
+            if (pivot - low < high - pivot) {
+                sort(low, pivot - 1);
+                low = pivot + 1;
+            } else {
+                sort(pivot + 1, high);
+                high = pivot - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(j - 1, j) > 0; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private int partition(int low, int high) {
+        int middle = (low + high) >>> 1;
+        if (compare(middle, low) < 0) {
+            swap(middle, low);
+        }
+        if (compare(high, low) < 0) {
+            swap(high, low);
+        }
+        if (compare(high, middle) < 0) {
+            swap(high, middle);
+        }
+        swap(middle, high);
+
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (compare(i, high) < 0) {
+                swap(i, store++);
+            }
+        }
+        swap(store, high);
+        return store;
+    }
+
+    private int compare(int a, int b) {
+        int i = a * FIELDS;
+        int j = b * FIELDS;
+        int bySource = Long.compare(buffer[i], buffer[j]);
+        return bySource != 0 ? bySource : Long.compare(buffer[i + 1], buffer[j + 1]);
+    }
+
+    private void swap(int a, int b) {
+        int i = a * FIELDS;
+        int j = b * FIELDS;
+        for (int f = 0; f < FIELDS; f++) {
+            long tmp = buffer[i + f];
+            buffer[i + f] = buffer[j + f];
+            buffer[j + f] = tmp;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistics collected by {@link YtdbLoader} while it inserts: exact vertex and edge counts per label,
+ * per-vertex degree distributions and per-file throughput. Written as JSON with {@link #writeJson(Path)},
+ * so nobody has to scan a freshly loaded database to find out what it contains.
+ */
+public final class LoadStats {
+
+    public static final String OUT = "out";
+    public static final String IN = "in";
+
+    private final Map<String, Long> vertexCounts = new TreeMap<>();
+    private final Map<String, Long> edgeCounts = new TreeMap<>();
+    private final Map<String, Degrees> degrees = new LinkedHashMap<>();
+    private final List<FileStats> files = new ArrayList<>();
+    private long durationMillis;
+
+    /**
+     * Throughput of one input file. {@code rows} is what was read, {@code inserted} what was written;
+     * they differ for skipped lines, edges with a missing endpoint, and KNOWS (stored in both directions).
+     */
+    public record FileStats(String file, String label, long rows, long inserted, long millis) {
+        public double rowsPerSecond() {
+            return millis == 0 ? rows : rows * 1000.0 / millis;
+        }
+    }
+
+    /**
+     * Per-vertex edge counts for one edge label and direction, keyed by LDBC id.
+     */
+    private static final class Degrees {
+        private final String vertexLabel;
+        private final String direction;
+        private final Map<Long, Integer> byVertex = new HashMap<>();
+
+        private Degrees(String vertexLabel, String direction) {
+            this.vertexLabel = vertexLabel;
+            this.direction = direction;
+        }
+    }
+
+    public Map<String, Long> vertexCounts() {
+        return Map.copyOf(vertexCounts);
+    }
+
+    public Map<String, Long> edgeCounts() {
+        return Map.copyOf(edgeCounts);
+    }
+
+    /**
+     * Vertex and edge counts in one map, keyed by label.
+     */
+    public Map<String, Long> counts() {
+        var counts = new TreeMap<>(vertexCounts);
+        counts.putAll(edgeCounts);
+        return counts;
+    }
+
+    public List<FileStats> files() {
+        return List.copyOf(files);
+    }
+
+    synchronized void addVertices(String label, long count) {
+        vertexCounts.merge(label, count, Long::sum);
+    }
+
+    synchronized void addEdges(String label, long count) {
+        edgeCounts.merge(label, count, Long::sum);
+    }
+
+    synchronized long vertexCount(String label) {
+        return vertexCounts.getOrDefault(label, 0L);
+    }
+
+    synchronized long edgeCount(String label) {
+        return edgeCounts.getOrDefault(label, 0L);
+    }
+
+    /**
+     * Declares a degree distribution to collect, e.g. {@code (KNOWS, PERSON, OUT)}.
+     */
+    synchronized void trackDegree(String edgeLabel, String vertexLabel, String direction) {
+        degrees.putIfAbsent(edgeLabel, new Degrees(vertexLabel, direction));
+    }
+
+    synchronized void addDegree(String edgeLabel, long fromId, long toId) {
+        Degrees distribution = degrees.get(edgeLabel);
+        if (distribution != null) {
+            long vertexId = OUT.equals(distribution.direction) ? fromId : toId;
+            distribution.byVertex.merge(vertexId, 1, Integer::sum);
+        }
+    }
+
+    synchronized void addFile(FileStats fileStats) {
+        files.add(fileStats);
+    }
+
+    synchronized void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public synchronized void writeJson(Path file) throws IOException {
+        var json = new StringBuilder(4096);
+        json.append("{\n");
+        json.append("  \"durationMillis\": ").append(durationMillis).append(",\n");
+        json.append("  \"vertices\": ");
+        appendCounts(json, vertexCounts);
+        json.append(",\n  \"edges\": ");
+        appendCounts(json, edgeCounts);
+
+        json.append(",\n  \"degrees\": {");
+        boolean first = true;
+        for (var entry : degrees.entrySet()) {
+            json.append(first ? "\n" : ",\n");
+            first = false;
+            appendDegrees(json, entry.getKey(), entry.getValue());
+        }
+        json.append(degrees.isEmpty() ? "}" : "\n  }");
+
+        json.append(",\n  \"files\": [");
+        for (int i = 0; i < files.size(); i++) {
+            FileStats f = files.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"file\": ").append(quote(f.file()))
+                    .append(", \"label\": ").append(quote(f.label()))
+                    .append(", \"rows\": ").append(f.rows())
+                    .append(", \"inserted\": ").append(f.inserted())
+                    .append(", \"millis\": ").append(f.millis())
+                    .append(", \"rowsPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", f.rowsPerSecond()))
+                    .append('}');
+        }
+        json.append(files.isEmpty() ? "]" : "\n  ]");
+        json.append("\n}\n");
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, json);
+    }
+
+    private void appendDegrees(StringBuilder json, String edgeLabel, Degrees distribution) {
+        // Vertices without any edge of this label have degree 0 and never show up in byVertex
+        long vertices = Math.max(vertexCounts.getOrDefault(distribution.vertexLabel, 0L), distribution.byVertex.size());
+        var sorted = new int[(int) vertices];
+        int i = sorted.length - distribution.byVertex.size();
+        long edges = 0;
+        for (int degree : distribution.byVertex.values()) {
+            sorted[i++] = degree;
+            edges += degree;
+        }
+        Arrays.sort(sorted);
+
+        var histogram = new TreeMap<Integer, Integer>();
+        for (int degree : sorted) {
+            histogram.merge(degree, 1, Integer::sum);
+        }
+
+        json.append("    ").append(quote(edgeLabel)).append(": {")
+                .append("\"vertexLabel\": ").append(quote(distribution.vertexLabel))
+                .append(", \"direction\": ").append(quote(distribution.direction))
+                .append(", \"vertices\": ").append(vertices)
+                .append(", \"edges\": ").append(edges);
+        if (sorted.length > 0) {
+            json.append(", \"min\": ").append(sorted[0])
+                    .append(", \"mean\": ").append(String.format(Locale.ROOT, "%.2f", (double) edges / sorted.length))
+                    .append(", \"p50\": ").append(percentile(sorted, 0.50))
+                    .append(", \"p90\": ").append(percentile(sorted, 0.90))
+                    .append(", \"p99\": ").append(percentile(sorted, 0.99))
+                    .append(", \"max\": ").append(sorted[sorted.length - 1]);
+        }
+        json.append(", \"histogram\": {");
+        boolean first = true;
+        for (var bucket : histogram.entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            json.append(quote(String.valueOf(bucket.getKey()))).append(": ").append(bucket.getValue());
+        }
+        json.append("}}");
+    }
+
+    private static int percentile(int[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static void appendCounts(StringBuilder json, Map<String, Long> counts) {
+        json.append('{');
+        boolean first = true;
+        for (var entry : counts.entrySet()) {
+            if (!first) {
+                json.append(", ");
+            }
+            first = false;
+            json.append(quote(entry.getKey())).append(": ").append(entry.getValue());
+        }
+        json.append('}');
+    }
+
+    private static String quote(String value) {
+        var quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                default -> quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
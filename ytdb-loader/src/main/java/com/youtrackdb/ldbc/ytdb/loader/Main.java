@@ -31,6 +31,19 @@ public class Main {
         // Dataset path - where the LDBC CSV files are located (client-side)
         Path datasetPath = Paths.get(getConfig("YTDB_DATASET_PATH", props, "ytdb.dataset.path", null));
 
+        // Rows per batched insert traversal in remote mode (0 = one traversal per row)
+        int insertChunkSize = Integer.parseInt(getConfig("YTDB_INSERT_CHUNK_SIZE", props, "ytdb.insert.chunk.size", "1000"));
+
+        // Insert edges in (source, target) order, sorting externally with at most this many rows in memory
+        boolean sortEdges = Boolean.parseBoolean(getConfig("YTDB_SORT_EDGES", props, "ytdb.sort.edges", "false"));
+        int sortMemoryRows = Integer.parseInt(getConfig("YTDB_SORT_MEMORY_ROWS", props, "ytdb.sort.memory.rows", "5000000"));
+        Path sortTempDir = Paths.get(getConfig("YTDB_SORT_TEMP_DIR", props, "ytdb.sort.temp.dir",
+                System.getProperty("java.io.tmpdir")));
+
+        // Load statistics (exact counts, degree distributions, per-file throughput)
+        Path statsPath = Paths.get(getConfig("YTDB_STATS_PATH", props, "ytdb.stats.path", "load-stats.json"));
+        boolean verifyCounts = Boolean.parseBoolean(getConfig("YTDB_VERIFY_COUNTS", props, "ytdb.verify.counts", "false"));
+
         // Backup path (optional, server-side path where backups are stored)
         String backupPath = getConfig("YTDB_BACKUP_PATH", props, "ytdb.backup.path", null);
         boolean backupEnabled = backupPath != null && !backupPath.isBlank();
@@ -66,15 +79,33 @@ public class Main {
 
                 new SchemaCreator(traversal).createSchema();
 
-                YtdbLoader loader = new YtdbLoader(traversal);
+                // Embedded inserts have no round trip to save, so only remote mode batches them
+                YtdbLoader loader = new YtdbLoader(traversal,
+                        "remote".equalsIgnoreCase(mode) ? insertChunkSize : 0);
+                if (sortEdges) {
+                    loader.enableEdgeSorting(sortTempDir, sortMemoryRows);
+                }
                 loader.loadAll(datasetPath);
 
                 System.out.println("\nLoaded entities:");
-                Map<String, Long> counts = loader.counts();
+                Map<String, Long> counts = loader.stats().counts();
                 counts.entrySet().stream()
                         .sorted(Map.Entry.comparingByKey())
                         .forEach(entry -> System.out.printf("  %-20s: %,d%n", entry.getKey(), entry.getValue()));
 
+                loader.stats().writeJson(statsPath);
+                System.out.println("Load statistics written to " + statsPath);
+
+                if (verifyCounts) {
+                    System.out.println("\nVerifying counts with full scans...");
+                    YouTrackDB database = db;
+                    if (!loader.verifyCounts(Runtime.getRuntime().availableProcessors(),
+                            () -> database.openTraversal(dbName, databaseUser, databasePassword))) {
+                        throw new IllegalStateException("Loaded counts do not match the database, see log for details");
+                    }
+                    System.out.println("All counts match.");
+                }
+
                 if (backupEnabled) {
                     System.out.println("\nCreating backup at " + backupPath + "...");
                     String backupFile = traversal.backup(Paths.get(backupPath));
@@ -124,7 +155,7 @@ public class Main {
         }
     }
 
-    private static String getConfig(String envVar, Properties props, String propKey, String defaultValue) {
+    static String getConfig(String envVar, Properties props, String propKey, String defaultValue) {
         String envValue = System.getenv(envVar);
         if (envValue != null && !envValue.isBlank()) {
             return envValue;
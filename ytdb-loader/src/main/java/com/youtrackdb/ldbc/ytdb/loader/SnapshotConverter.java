@@ -0,0 +1,120 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.ColumnType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static com.youtrackdb.ldbc.ytdb.loader.SnapshotRecords.*;
+
+/**
+ * One-time conversion of an LDBC CSV dataset into binary snapshots (see {@link SnapshotFormat}).
+ * Each {@code <name>.csv} becomes {@code <name>.bin} under the same {@code static/} or {@code dynamic/}
+ * directory of the target path. {@link YtdbLoader} picks up a snapshot file in place of its CSV.
+ */
+public class SnapshotConverter {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotConverter.class);
+
+    private static final String DELIMITER = "\\|";
+    private static final int ROW_GROUP_SIZE = 50000;
+
+    private static final Map<String, ColumnType[]> FILES = new LinkedHashMap<>();
+
+    static {
+        FILES.put("static/place_0_0.csv", PLACE_COLUMNS);
+        FILES.put("static/organisation_0_0.csv", ORGANISATION_COLUMNS);
+        FILES.put("static/tagclass_0_0.csv", TAG_CLASS_COLUMNS);
+        FILES.put("static/tag_0_0.csv", TAG_COLUMNS);
+        FILES.put("static/place_isPartOf_place_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("static/organisation_isLocatedIn_place_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("static/tagclass_isSubclassOf_tagclass_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("static/tag_hasType_tagclass_0_0.csv", SIMPLE_EDGE_COLUMNS);
+
+        FILES.put("dynamic/person_0_0.csv", PERSON_COLUMNS);
+        FILES.put("dynamic/forum_0_0.csv", FORUM_COLUMNS);
+        FILES.put("dynamic/post_0_0.csv", POST_COLUMNS);
+        FILES.put("dynamic/comment_0_0.csv", COMMENT_COLUMNS);
+        FILES.put("dynamic/person_knows_person_0_0.csv", KNOWS_EDGE_COLUMNS);
+        FILES.put("dynamic/person_isLocatedIn_place_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/person_hasInterest_tag_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/person_studyAt_organisation_0_0.csv", STUDY_AT_EDGE_COLUMNS);
+        FILES.put("dynamic/person_workAt_organisation_0_0.csv", WORK_AT_EDGE_COLUMNS);
+        FILES.put("dynamic/person_likes_post_0_0.csv", LIKES_EDGE_COLUMNS);
+        FILES.put("dynamic/person_likes_comment_0_0.csv", LIKES_EDGE_COLUMNS);
+        FILES.put("dynamic/forum_hasModerator_person_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/forum_containerOf_post_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/forum_hasTag_tag_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/forum_hasMember_person_0_0.csv", HAS_MEMBER_EDGE_COLUMNS);
+        FILES.put("dynamic/post_hasCreator_person_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/post_isLocatedIn_place_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/post_hasTag_tag_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/comment_hasCreator_person_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/comment_isLocatedIn_place_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/comment_replyOf_post_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/comment_replyOf_comment_0_0.csv", SIMPLE_EDGE_COLUMNS);
+        FILES.put("dynamic/comment_hasTag_tag_0_0.csv", SIMPLE_EDGE_COLUMNS);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties props = new Properties();
+        try (var in = SnapshotConverter.class.getResourceAsStream("/loader.properties")) {
+            props.load(in);
+        }
+
+        String datasetPath = Main.getConfig("YTDB_DATASET_PATH", props, "ytdb.dataset.path", null);
+        Path source = Paths.get(datasetPath);
+        Path target = Paths.get(Main.getConfig("YTDB_SNAPSHOT_PATH", props, "ytdb.snapshot.path", datasetPath));
+
+        System.out.println("LDBC SNB Snapshot Converter");
+        System.out.println("  Dataset:    " + source);
+        System.out.println("  Snapshot:   " + target);
+
+        long startTime = System.currentTimeMillis();
+        convertAll(source, target);
+        long duration = System.currentTimeMillis() - startTime;
+        System.out.println("\nCompleted in " + duration + "ms (" + (duration / 1000.0) + "s)");
+    }
+
+    public static void convertAll(Path datasetRoot, Path snapshotRoot) throws IOException {
+        for (var entry : FILES.entrySet()) {
+            Path csvFile = datasetRoot.resolve(entry.getKey());
+            if (!Files.exists(csvFile)) {
+                log.warn("File not found: {}", csvFile);
+                continue;
+            }
+
+            Path snapshotFile = SnapshotFormat.snapshotFileFor(snapshotRoot.resolve(entry.getKey()));
+            Files.createDirectories(snapshotFile.getParent());
+            long count = convert(csvFile, snapshotFile, entry.getValue());
+            log.info("Converted {} rows of {} ({} -> {} bytes)", count, entry.getKey(),
+                    Files.size(csvFile), Files.size(snapshotFile));
+        }
+    }
+
+    public static long convert(Path csvFile, Path snapshotFile, ColumnType[] columns) throws IOException {
+        try (Stream<String> lines = Files.lines(csvFile);
+             var writer = new SnapshotWriter(snapshotFile, csvFile, columns, ROW_GROUP_SIZE)) {
+
+            var iterator = lines.skip(1).iterator();
+            while (iterator.hasNext()) {
+                String[] fields = iterator.next().split(DELIMITER, -1);
+                try {
+                    writer.append(fields);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to convert line in {}: {}", csvFile.getFileName(), e.getMessage());
+                }
+            }
+
+            return writer.rowCount();
+        }
+    }
+}
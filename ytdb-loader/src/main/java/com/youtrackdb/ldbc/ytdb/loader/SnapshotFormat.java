@@ -0,0 +1,57 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import java.nio.file.Path;
+
+/**
+ * Binary snapshot layout shared by {@link SnapshotWriter} and {@link SnapshotReader}.
+ *
+ * <pre>
+ * file      := MAGIC:int VERSION:int sourceSize:long sourceModified:long columnCount:int type:byte[columnCount]
+ *              rowGroup*
+ * rowGroup  := rowCount:int byteLength:int column[columnCount]
+ * column    := byteLength:int encoding:byte payload
+ *
+ * LONG         payload := value:long[rowCount]
+ * INT          payload := value:int[rowCount]
+ * STRING plain payload := offset:int[rowCount + 1] heap:byte[]
+ * STRING dict  payload := dictSize:int offset:int[dictSize + 1] heap:byte[] code:int[rowCount]
+ * STRING_LIST  payload := listOffset:int[rowCount + 1] elements:STRING plain payload
+ * </pre>
+ *
+ * All numbers are big-endian, strings are UTF-8. Dates are stored as epoch millis in LONG columns.
+ * {@code sourceSize} and {@code sourceModified} (epoch millis) describe the CSV file the snapshot was converted
+ * from, so a snapshot older than its CSV is detected.
+ */
+public final class SnapshotFormat {
+
+    private SnapshotFormat() {}
+
+    public static final int MAGIC = 0x4C534E42; // "LSNB"
+    public static final int VERSION = 2;
+
+    public static final String CSV_EXTENSION = ".csv";
+    public static final String SNAPSHOT_EXTENSION = ".bin";
+
+    public static final byte ENCODING_PLAIN = 0;
+    public static final byte ENCODING_DICTIONARY = 1;
+
+    /**
+     * A string column is dictionary-encoded when a row group holds at least this many rows per distinct value.
+     */
+    public static final int DICTIONARY_MIN_ROWS_PER_VALUE = 4;
+
+    public enum ColumnType {
+        LONG,
+        INT,
+        STRING,
+        STRING_LIST
+    }
+
+    public static Path snapshotFileFor(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        if (name.endsWith(CSV_EXTENSION)) {
+            name = name.substring(0, name.length() - CSV_EXTENSION.length());
+        }
+        return csvFile.resolveSibling(name + SNAPSHOT_EXTENSION);
+    }
+}
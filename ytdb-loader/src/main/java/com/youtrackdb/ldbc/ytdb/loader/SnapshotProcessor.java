@@ -0,0 +1,56 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import com.youtrackdb.ldbc.loader.CsvProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Snapshot counterpart of {@link CsvProcessor}: reads typed rows from a binary snapshot and hands
+ * them to the consumer in batches, without any text splitting or number parsing.
+ */
+public final class SnapshotProcessor<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotProcessor.class);
+
+    private final int batchSize;
+
+    public SnapshotProcessor(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long process(Path snapshotFile,
+                        Function<SnapshotReader.Row, T> decoder,
+                        Consumer<List<T>> batchConsumer) throws IOException {
+
+        log.debug("Processing snapshot file: {}", snapshotFile.getFileName());
+
+        try (var reader = new SnapshotReader(snapshotFile)) {
+            var row = reader.row();
+            var batch = new ArrayList<T>(batchSize);
+            long count = 0;
+
+            while (reader.next()) {
+                batch.add(decoder.apply(row));
+                count++;
+
+                if (batch.size() >= batchSize) {
+                    batchConsumer.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(List.copyOf(batch));
+            }
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.ColumnType;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.*;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter} one row group at a time. Each row group is
+ * memory-mapped and decoded into column arrays; {@link #row()} is a cursor over the current group.
+ */
+public final class SnapshotReader implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ColumnType[] columns;
+    private final long sourceSize;
+    private final long sourceModifiedMillis;
+
+    private final long[][] longColumns;
+    private final int[][] intColumns;
+    private final String[][] stringColumns;
+    private final List<String>[][] listColumns;
+
+    private final Row row = new Row();
+
+    private long position;
+    private int groupRows;
+    private int index = -1;
+
+    @SuppressWarnings("unchecked")
+    public SnapshotReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(8);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            header = read(20);
+            this.sourceSize = header.getLong();
+            this.sourceModifiedMillis = header.getLong();
+            int columnCount = header.getInt();
+
+            ByteBuffer types = read(columnCount);
+            this.columns = new ColumnType[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                columns[c] = ColumnType.values()[types.get()];
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.longColumns = new long[columns.length][];
+        this.intColumns = new int[columns.length][];
+        this.stringColumns = new String[columns.length][];
+        this.listColumns = new List[columns.length][];
+    }
+
+    /**
+     * Whether {@code snapshotFile} was converted from {@code csvFile} as it is now: same size and modification
+     * time. Also true when the CSV file is gone; false for snapshots that cannot be read.
+     */
+    public static boolean isCurrent(Path snapshotFile, Path csvFile) {
+        try (var reader = new SnapshotReader(snapshotFile)) {
+            return !Files.exists(csvFile)
+                    || reader.sourceSize == Files.size(csvFile)
+                    && reader.sourceModifiedMillis == Files.getLastModifiedTime(csvFile).toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public ColumnType[] columns() {
+        return columns.clone();
+    }
+
+    public Row row() {
+        return row;
+    }
+
+    /**
+     * Advances the cursor to the next row, loading the next row group when the current one is exhausted.
+     */
+    public boolean next() throws IOException {
+        if (++index < groupRows) {
+            return true;
+        }
+        if (position >= channel.size()) {
+            return false;
+        }
+        loadRowGroup();
+        index = 0;
+        return groupRows > 0 || next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void loadRowGroup() throws IOException {
+        ByteBuffer groupHeader = read(8);
+        groupRows = groupHeader.getInt();
+        int byteLength = groupHeader.getInt();
+
+        if (position + byteLength > channel.size()) {
+            throw new EOFException("Truncated row group in " + file);
+        }
+        ByteBuffer group = channel.map(FileChannel.MapMode.READ_ONLY, position, byteLength);
+        position += byteLength;
+
+        for (int c = 0; c < columns.length; c++) {
+            int columnLength = group.getInt();
+            ByteBuffer column = group.slice(group.position(), columnLength);
+            group.position(group.position() + columnLength);
+
+            byte encoding = column.get();
+            switch (columns[c]) {
+                case LONG -> longColumns[c] = readLongs(column);
+                case INT -> intColumns[c] = readInts(column);
+                case STRING -> stringColumns[c] = encoding == ENCODING_DICTIONARY
+                    ? readDictionaryStrings(column)
+                    : readPlainStrings(column, groupRows);
+                case STRING_LIST -> listColumns[c] = readStringLists(column);
+            }
+        }
+    }
+
+    private long[] readLongs(ByteBuffer column) {
+        var values = new long[groupRows];
+        column.asLongBuffer().get(values);
+        return values;
+    }
+
+    private int[] readInts(ByteBuffer column) {
+        var values = new int[groupRows];
+        column.asIntBuffer().get(values);
+        return values;
+    }
+
+    private String[] readDictionaryStrings(ByteBuffer column) {
+        int dictionarySize = column.getInt();
+        String[] dictionary = readPlainStrings(column, dictionarySize);
+        var values = new String[groupRows];
+        for (int r = 0; r < groupRows; r++) {
+            values[r] = dictionary[column.getInt()];
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String>[] readStringLists(ByteBuffer column) {
+        var listOffsets = new int[groupRows + 1];
+        column.asIntBuffer().get(listOffsets);
+        column.position(column.position() + listOffsets.length * Integer.BYTES);
+
+        List<String> elements = List.of(readPlainStrings(column, listOffsets[groupRows]));
+        var values = new List[groupRows];
+        for (int r = 0; r < groupRows; r++) {
+            values[r] = elements.subList(listOffsets[r], listOffsets[r + 1]);
+        }
+        return values;
+    }
+
+    private static String[] readPlainStrings(ByteBuffer column, int count) {
+        var offsets = new int[count + 1];
+        column.asIntBuffer().get(offsets);
+        column.position(column.position() + offsets.length * Integer.BYTES);
+
+        var heap = new byte[offsets[count]];
+        column.get(heap);
+
+        var values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = new String(heap, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private ByteBuffer read(int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of snapshot " + file);
+            }
+        }
+        position += length;
+        return buffer.flip();
+    }
+
+    /**
+     * Cursor over the current row. Values are only valid until the next call to {@link #next()}.
+     */
+    public final class Row {
+
+        private Row() {}
+
+        public long getLong(int column) {
+            return longColumns[column][index];
+        }
+
+        public int getInt(int column) {
+            return intColumns[column][index];
+        }
+
+        public String getString(int column) {
+            return stringColumns[column][index];
+        }
+
+        public List<String> getStringList(int column) {
+            return listColumns[column][index];
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.ColumnType;
+
+import static com.youtrackdb.ldbc.loader.CsvProcessor.parseString;
+import static com.youtrackdb.ldbc.loader.EntityRecords.*;
+
+/**
+ * Snapshot side of the shared {@code EntityRecords}: the column types each CSV file is converted with by
+ * {@link SnapshotConverter}, and the decoders that turn a snapshot row back into the record.
+ */
+public final class SnapshotRecords {
+
+    private SnapshotRecords() {}
+
+    public static final ColumnType[] PLACE_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING
+    };
+
+    public static Place place(SnapshotReader.Row row) {
+        return new Place(
+            row.getLong(0),
+            row.getString(1),
+            row.getString(2),
+            row.getString(3)
+        );
+    }
+
+    public static final ColumnType[] ORGANISATION_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING
+    };
+
+    public static Organisation organisation(SnapshotReader.Row row) {
+        return new Organisation(
+            row.getLong(0),
+            row.getString(1),
+            row.getString(2),
+            row.getString(3)
+        );
+    }
+
+    public static final ColumnType[] TAG_CLASS_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING
+    };
+
+    public static TagClass tagClass(SnapshotReader.Row row) {
+        return new TagClass(
+            row.getLong(0),
+            row.getString(1),
+            row.getString(2)
+        );
+    }
+
+    public static final ColumnType[] TAG_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING
+    };
+
+    public static Tag tag(SnapshotReader.Row row) {
+        return new Tag(
+            row.getLong(0),
+            row.getString(1),
+            row.getString(2)
+        );
+    }
+
+    public static final ColumnType[] PERSON_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.LONG,
+        ColumnType.LONG, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING_LIST, ColumnType.STRING_LIST
+    };
+
+    public static Person person(SnapshotReader.Row row) {
+        return new Person(
+            row.getLong(0),
+            row.getString(1),
+            row.getString(2),
+            row.getString(3),
+            row.getLong(4),
+            row.getLong(5),
+            row.getString(6),
+            row.getString(7),
+            row.getStringList(8),
+            row.getStringList(9)
+        );
+    }
+
+    public static final ColumnType[] FORUM_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.LONG
+    };
+
+    public static Forum forum(SnapshotReader.Row row) {
+        return new Forum(
+            row.getLong(0),
+            row.getString(1),
+            row.getLong(2)
+        );
+    }
+
+    public static final ColumnType[] POST_COLUMNS = {
+        ColumnType.LONG, ColumnType.STRING, ColumnType.LONG, ColumnType.STRING, ColumnType.STRING,
+        ColumnType.STRING, ColumnType.STRING, ColumnType.INT
+    };
+
+    public static Post post(SnapshotReader.Row row) {
+        return new Post(
+            row.getLong(0),
+            parseString(row.getString(1)),
+            row.getLong(2),
+            row.getString(3),
+            row.getString(4),
+            row.getString(5),
+            parseString(row.getString(6)),
+            row.getInt(7)
+        );
+    }
+
+    public static final ColumnType[] COMMENT_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INT
+    };
+
+    public static Comment comment(SnapshotReader.Row row) {
+        return new Comment(
+            row.getLong(0),
+            row.getLong(1),
+            row.getString(2),
+            row.getString(3),
+            row.getString(4),
+            row.getInt(5)
+        );
+    }
+
+    public static final ColumnType[] SIMPLE_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG
+    };
+
+    public static SimpleEdge simpleEdge(SnapshotReader.Row row) {
+        return new SimpleEdge(
+            row.getLong(0),
+            row.getLong(1)
+        );
+    }
+
+    public static final ColumnType[] KNOWS_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.LONG
+    };
+
+    public static KnowsEdge knowsEdge(SnapshotReader.Row row) {
+        return new KnowsEdge(
+            row.getLong(0),
+            row.getLong(1),
+            row.getLong(2)
+        );
+    }
+
+    public static final ColumnType[] STUDY_AT_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.INT
+    };
+
+    public static StudyAtEdge studyAtEdge(SnapshotReader.Row row) {
+        return new StudyAtEdge(
+            row.getLong(0),
+            row.getLong(1),
+            row.getInt(2)
+        );
+    }
+
+    public static final ColumnType[] WORK_AT_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.INT
+    };
+
+    public static WorkAtEdge workAtEdge(SnapshotReader.Row row) {
+        return new WorkAtEdge(
+            row.getLong(0),
+            row.getLong(1),
+            row.getInt(2)
+        );
+    }
+
+    public static final ColumnType[] HAS_MEMBER_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.LONG
+    };
+
+    public static HasMemberEdge hasMemberEdge(SnapshotReader.Row row) {
+        return new HasMemberEdge(
+            row.getLong(0),
+            row.getLong(1),
+            row.getLong(2)
+        );
+    }
+
+    public static final ColumnType[] LIKES_EDGE_COLUMNS = {
+        ColumnType.LONG, ColumnType.LONG, ColumnType.LONG
+    };
+
+    public static LikesEdge likesEdge(SnapshotReader.Row row) {
+        return new LikesEdge(
+            row.getLong(0),
+            row.getLong(1),
+            row.getLong(2)
+        );
+    }
+}
@@ -0,0 +1,205 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import com.youtrackdb.ldbc.loader.CsvProcessor;
+import com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.ColumnType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.youtrackdb.ldbc.ytdb.loader.SnapshotFormat.*;
+
+/**
+ * Writes typed CSV rows into the columnar snapshot format described in {@link SnapshotFormat}.
+ * Rows are buffered per column and flushed as one row group every {@code rowGroupSize} rows.
+ */
+public final class SnapshotWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final ColumnType[] columns;
+    private final int rowGroupSize;
+
+    private final long[][] longColumns;
+    private final int[][] intColumns;
+    private final String[][] stringColumns;
+    private final List<?>[][] listColumns;
+
+    private final ByteArrayOutputStream groupBytes = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream columnBytes = new ByteArrayOutputStream();
+
+    private int rows;
+    private long totalRows;
+
+    /**
+     * @param source the CSV file the rows come from, whose size and modification time go into the header
+     */
+    public SnapshotWriter(Path file, Path source, ColumnType[] columns, int rowGroupSize) throws IOException {
+        this.columns = columns.clone();
+        this.rowGroupSize = rowGroupSize;
+        this.longColumns = new long[columns.length][];
+        this.intColumns = new int[columns.length][];
+        this.stringColumns = new String[columns.length][];
+        this.listColumns = new List<?>[columns.length][];
+
+        for (int c = 0; c < columns.length; c++) {
+            switch (columns[c]) {
+                case LONG -> longColumns[c] = new long[rowGroupSize];
+                case INT -> intColumns[c] = new int[rowGroupSize];
+                case STRING -> stringColumns[c] = new String[rowGroupSize];
+                case STRING_LIST -> listColumns[c] = new List<?>[rowGroupSize];
+            }
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(Files.size(source));
+        out.writeLong(Files.getLastModifiedTime(source).toMillis());
+        out.writeInt(columns.length);
+        for (ColumnType column : columns) {
+            out.writeByte(column.ordinal());
+        }
+    }
+
+    /**
+     * Appends one CSV row. A row that fails to parse throws before it is counted, so the
+     * partially filled slot is simply overwritten by the next row.
+     */
+    public void append(String[] fields) throws IOException {
+        for (int c = 0; c < columns.length; c++) {
+            String field = fields[c];
+            switch (columns[c]) {
+                case LONG -> longColumns[c][rows] = Long.parseLong(field);
+                case INT -> intColumns[c][rows] = Integer.parseInt(field);
+                case STRING -> stringColumns[c][rows] = field;
+                case STRING_LIST -> listColumns[c][rows] = CsvProcessor.parseList(field);
+            }
+        }
+
+        rows++;
+        if (rows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long rowCount() {
+        return totalRows + rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushRowGroup();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        groupBytes.reset();
+        var group = new DataOutputStream(groupBytes);
+
+        for (int c = 0; c < columns.length; c++) {
+            columnBytes.reset();
+            var column = new DataOutputStream(columnBytes);
+            switch (columns[c]) {
+                case LONG -> writeLongs(column, longColumns[c]);
+                case INT -> writeInts(column, intColumns[c]);
+                case STRING -> writeStrings(column, stringColumns[c]);
+                case STRING_LIST -> writeStringLists(column, listColumns[c]);
+            }
+            column.flush();
+            group.writeInt(columnBytes.size());
+            columnBytes.writeTo(group);
+        }
+        group.flush();
+
+        out.writeInt(rows);
+        out.writeInt(groupBytes.size());
+        groupBytes.writeTo(out);
+
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void writeLongs(DataOutputStream column, long[] values) throws IOException {
+        column.writeByte(ENCODING_PLAIN);
+        for (int r = 0; r < rows; r++) {
+            column.writeLong(values[r]);
+        }
+    }
+
+    private void writeInts(DataOutputStream column, int[] values) throws IOException {
+        column.writeByte(ENCODING_PLAIN);
+        for (int r = 0; r < rows; r++) {
+            column.writeInt(values[r]);
+        }
+    }
+
+    private void writeStrings(DataOutputStream column, String[] values) throws IOException {
+        var dictionary = new HashMap<String, Integer>();
+        for (int r = 0; r < rows; r++) {
+            dictionary.putIfAbsent(values[r], dictionary.size());
+        }
+
+        if ((long) dictionary.size() * DICTIONARY_MIN_ROWS_PER_VALUE <= rows) {
+            column.writeByte(ENCODING_DICTIONARY);
+            var entries = new String[dictionary.size()];
+            for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                entries[entry.getValue()] = entry.getKey();
+            }
+            column.writeInt(entries.length);
+            writePlainStrings(column, entries, entries.length);
+            for (int r = 0; r < rows; r++) {
+                column.writeInt(dictionary.get(values[r]));
+            }
+        } else {
+            column.writeByte(ENCODING_PLAIN);
+            writePlainStrings(column, values, rows);
+        }
+    }
+
+    private void writeStringLists(DataOutputStream column, List<?>[] values) throws IOException {
+        column.writeByte(ENCODING_PLAIN);
+
+        int elementCount = 0;
+        column.writeInt(0);
+        for (int r = 0; r < rows; r++) {
+            elementCount += values[r].size();
+            column.writeInt(elementCount);
+        }
+
+        var elements = new String[elementCount];
+        int e = 0;
+        for (int r = 0; r < rows; r++) {
+            for (Object element : values[r]) {
+                elements[e++] = (String) element;
+            }
+        }
+        writePlainStrings(column, elements, elementCount);
+    }
+
+    private static void writePlainStrings(DataOutputStream column, String[] values, int count) throws IOException {
+        var encoded = new byte[count][];
+        int offset = 0;
+        column.writeInt(0);
+        for (int i = 0; i < count; i++) {
+            encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+            offset += encoded[i].length;
+            column.writeInt(offset);
+        }
+        for (int i = 0; i < count; i++) {
+            column.write(encoded[i]);
+        }
+    }
+}
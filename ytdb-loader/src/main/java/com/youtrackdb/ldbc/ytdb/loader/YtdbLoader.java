@@ -1,16 +1,33 @@
 package com.youtrackdb.ldbc.ytdb.loader;
 
 import com.jetbrains.youtrackdb.api.gremlin.YTDBGraphTraversalSource;
+import com.youtrackdb.ldbc.loader.CsvProcessor;
+import com.youtrackdb.ldbc.loader.gremlin.EdgeRow;
+import com.youtrackdb.ldbc.loader.gremlin.GremlinInserts;
 import static com.youtrackdb.ldbc.ytdb.loader.LdbcSchema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-
-import static com.youtrackdb.ldbc.ytdb.loader.EntityRecords.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+import static com.youtrackdb.ldbc.loader.EntityRecords.*;
+import static com.youtrackdb.ldbc.loader.gremlin.GremlinInserts.*;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.V;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
 
 public class YtdbLoader {
 
@@ -18,10 +35,71 @@ public class YtdbLoader {
 
     private static final int BATCH_SIZE = 50000;
 
+    private static final List<String> VERTEX_LABELS = List.of(
+            PERSON,
+            PLACE,
+            ORGANISATION,
+            TAG_CLASS,
+            TAG,
+            FORUM,
+            POST,
+            COMMENT
+    );
+
+    private static final List<String> EDGE_LABELS = List.of(
+            KNOWS,
+            HAS_CREATOR,
+            IS_LOCATED_IN,
+            HAS_INTEREST,
+            HAS_MEMBER,
+            LIKES,
+            HAS_TAG,
+            REPLY_OF,
+            STUDY_AT,
+            WORK_AT,
+            HAS_MODERATOR,
+            CONTAINER_OF,
+            IS_PART_OF,
+            IS_SUBCLASS_OF,
+            HAS_TYPE
+    );
+
+    private static final EdgeSorter.Codec<SimpleEdge> SIMPLE_EDGE_CODEC =
+            codec(SimpleEdge::fromId, SimpleEdge::toId, edge -> 0L, (from, to, payload) -> new SimpleEdge(from, to));
+    private static final EdgeSorter.Codec<KnowsEdge> KNOWS_EDGE_CODEC =
+            codec(KnowsEdge::person1Id, KnowsEdge::person2Id, KnowsEdge::creationDate, KnowsEdge::new);
+    private static final EdgeSorter.Codec<StudyAtEdge> STUDY_AT_EDGE_CODEC =
+            codec(StudyAtEdge::personId, StudyAtEdge::organisationId, StudyAtEdge::classYear,
+                    (from, to, payload) -> new StudyAtEdge(from, to, (int) payload));
+    private static final EdgeSorter.Codec<WorkAtEdge> WORK_AT_EDGE_CODEC =
+            codec(WorkAtEdge::personId, WorkAtEdge::organisationId, WorkAtEdge::workFrom,
+                    (from, to, payload) -> new WorkAtEdge(from, to, (int) payload));
+    private static final EdgeSorter.Codec<HasMemberEdge> HAS_MEMBER_EDGE_CODEC =
+            codec(HasMemberEdge::forumId, HasMemberEdge::personId, HasMemberEdge::joinDate, HasMemberEdge::new);
+    private static final EdgeSorter.Codec<LikesEdge> LIKES_EDGE_CODEC =
+            codec(LikesEdge::personId, LikesEdge::contentId, LikesEdge::creationDate, LikesEdge::new);
+
     private final YTDBGraphTraversalSource traversal;
+    private final int chunkSize;
+    private final LoadStats stats = new LoadStats();
+
+    private Path edgeSortDir;
+    private int edgeSortMemoryRows;
 
     public YtdbLoader(YTDBGraphTraversalSource traversal) {
+        this(traversal, 0);
+    }
+
+    /**
+     * @param chunkSize rows sent per {@code inject(rows).unfold()} insert traversal; {@code 0} inserts
+     *                  every row with its own traversal, which is cheapest when there is no round trip
+     */
+    public YtdbLoader(YTDBGraphTraversalSource traversal, int chunkSize) {
         this.traversal = traversal;
+        this.chunkSize = chunkSize;
+
+        stats.trackDegree(KNOWS, PERSON, LoadStats.OUT);
+        stats.trackDegree(HAS_CREATOR, PERSON, LoadStats.IN);
     }
 
     public void loadAll(Path datasetRoot) throws Exception {
@@ -36,10 +114,10 @@ public class YtdbLoader {
 
         // Phase 1: Load static entities
         log.info("Loading static entities...");
-        loadEntities(staticDir, "place_0_0.csv", PLACE, Place::parse, this::insertPlace);
-        loadEntities(staticDir, "organisation_0_0.csv", ORGANISATION, Organisation::parse, this::insertOrganisation);
-        loadEntities(staticDir, "tagclass_0_0.csv", TAG_CLASS, TagClass::parse, this::insertTagClass);
-        loadEntities(staticDir, "tag_0_0.csv", TAG, Tag::parse, this::insertTag);
+        loadEntities(staticDir, "place_0_0.csv", PLACE, Place::parse, SnapshotRecords::place, this::insertPlace);
+        loadEntities(staticDir, "organisation_0_0.csv", ORGANISATION, Organisation::parse, SnapshotRecords::organisation, this::insertOrganisation);
+        loadEntities(staticDir, "tagclass_0_0.csv", TAG_CLASS, TagClass::parse, SnapshotRecords::tagClass, this::insertTagClass);
+        loadEntities(staticDir, "tag_0_0.csv", TAG, Tag::parse, SnapshotRecords::tag, this::insertTag);
 
         // Phase 2: Load static relationships
         log.info("Loading static relationships...");
@@ -50,10 +128,10 @@ public class YtdbLoader {
 
         // Phase 3: Load dynamic entities
         log.info("Loading dynamic entities...");
-        loadEntities(dynamicDir, "person_0_0.csv", PERSON, Person::parse, this::insertPerson);
-        loadEntities(dynamicDir, "forum_0_0.csv", FORUM, Forum::parse, this::insertForum);
-        loadEntities(dynamicDir, "post_0_0.csv", POST, Post::parse, this::insertPost);
-        loadEntities(dynamicDir, "comment_0_0.csv", COMMENT, Comment::parse, this::insertComment);
+        loadEntities(dynamicDir, "person_0_0.csv", PERSON, Person::parse, SnapshotRecords::person, this::insertPerson);
+        loadEntities(dynamicDir, "forum_0_0.csv", FORUM, Forum::parse, SnapshotRecords::forum, this::insertForum);
+        loadEntities(dynamicDir, "post_0_0.csv", POST, Post::parse, SnapshotRecords::post, this::insertPost);
+        loadEntities(dynamicDir, "comment_0_0.csv", COMMENT, Comment::parse, SnapshotRecords::comment, this::insertComment);
 
         // Phase 4: Load dynamic relationships
         log.info("Loading dynamic relationships...");
@@ -62,70 +140,112 @@ public class YtdbLoader {
         loadContentRelationships(dynamicDir);
 
         long duration = System.currentTimeMillis() - startTime;
+        stats.setDurationMillis(duration);
         log.info("Data loading completed in {}ms ({} seconds)", duration, duration / 1000.0);
     }
 
-    public Map<String, Long> counts() {
-        var counts = new HashMap<String, Long>();
-        try {
-            List<String> vertexLabels = List.of(
-                    PERSON,
-                    PLACE,
-                    ORGANISATION,
-                    TAG_CLASS,
-                    TAG,
-                    FORUM,
-                    POST,
-                    COMMENT
-            );
+    /**
+     * Inserts every edge file in (source id, target id) order instead of file order, so consecutive inserts
+     * update the adjacency of the same vertices. Rows are sorted externally: at most {@code maxRowsInMemory}
+     * rows (24 bytes each) are kept in memory, the rest is spilled to sorted runs under {@code tempDir}.
+     */
+    public void enableEdgeSorting(Path tempDir, int maxRowsInMemory) {
+        this.edgeSortDir = tempDir;
+        this.edgeSortMemoryRows = maxRowsInMemory;
+    }
 
-            for (String label : vertexLabels) {
-                counts.put(label, traversal.V().hasLabel(label).count().next());
+    /**
+     * Statistics collected during {@link #loadAll(Path)}.
+     */
+    public LoadStats stats() {
+        return stats;
+    }
+
+    /**
+     * Counts every vertex and edge label with a full scan, running the scans in parallel.
+     * Only needed to double-check {@link #stats()}; the loader already knows the exact counts.
+     *
+     * @param sessions opens a traversal source; every worker thread gets its own, since a source and its
+     *                 transaction must not be shared between threads
+     */
+    public Map<String, Long> scanCounts(int threads, Supplier<YTDBGraphTraversalSource> sessions) {
+        var pending = new ConcurrentLinkedQueue<String>();
+        pending.addAll(VERTEX_LABELS);
+        pending.addAll(EDGE_LABELS);
+
+        var counts = new ConcurrentHashMap<String, Long>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            var workers = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    try (YTDBGraphTraversalSource session = sessions.get()) {
+                        for (String label = pending.poll(); label != null; label = pending.poll()) {
+                            scanCount(session, label, counts);
+                        }
+                    }
+                    return null;
+                }));
             }
 
-            List<String> edgeLabels = List.of(
-                    KNOWS,
-                    HAS_CREATOR,
-                    IS_LOCATED_IN,
-                    HAS_INTEREST,
-                    HAS_MEMBER,
-                    LIKES,
-                    HAS_TAG,
-                    REPLY_OF,
-                    STUDY_AT,
-                    WORK_AT,
-                    HAS_MODERATOR,
-                    CONTAINER_OF,
-                    IS_PART_OF,
-                    HAS_TYPE
-            );
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    log.error("Error computing counts", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while computing counts", e);
+        }
+        return new TreeMap<>(counts);
+    }
+
+    private static void scanCount(YTDBGraphTraversalSource session, String label, Map<String, Long> counts) {
+        try {
+            counts.put(label, session.computeInTx(g -> VERTEX_LABELS.contains(label)
+                    ? g.V().hasLabel(label).count().next()
+                    : g.E().hasLabel(label).count().next()));
+        } catch (RuntimeException e) {
+            log.error("Error counting {}", label, e);
+        }
+    }
 
-            for (String edgeLabel : edgeLabels) {
-                counts.put(edgeLabel, traversal.E().hasLabel(edgeLabel).count().next());
+    /**
+     * Compares the collected counts with a parallel full scan and logs every difference.
+     *
+     * @return {@code true} when all counts match
+     * @see #scanCounts(int, Supplier)
+     */
+    public boolean verifyCounts(int threads, Supplier<YTDBGraphTraversalSource> sessions) {
+        Map<String, Long> expected = stats.counts();
+        Map<String, Long> actual = scanCounts(threads, sessions);
+
+        boolean matches = true;
+        for (String label : actual.keySet()) {
+            long expectedCount = expected.getOrDefault(label, 0L);
+            if (expectedCount != actual.get(label)) {
+                log.warn("Count mismatch for {}: loaded {}, found {}", label, expectedCount, actual.get(label));
+                matches = false;
             }
-        } catch (Exception e) {
-            log.error("Error computing counts", e);
         }
-        return counts;
+        return matches;
     }
 
     // ==================== ENTITY LOADERS ====================
 
     private <T> void loadEntities(Path dir, String filename, String entityLabel,
-                                  java.util.function.Function<String[], T> parser,
-                                  java.util.function.Consumer<List<T>> inserter) {
+                                  Function<String[], T> parser,
+                                  Function<SnapshotReader.Row, T> decoder,
+                                  Consumer<List<T>> inserter) {
         try {
             Path csvFile = dir.resolve(filename);
-            if (!Files.exists(csvFile)) {
+            if (!inputExists(csvFile)) {
                 log.warn("File not found: {}", csvFile);
                 return;
             }
 
-            var processor = new CsvProcessor<T>(BATCH_SIZE);
-            long count = processor.process(csvFile,
-                    parser::apply,
-                    inserter::accept
-            );
+            long count = process(csvFile, entityLabel, parser, decoder, inserter);
 
             log.info("Loaded {} {} entities", count, entityLabel);
         } catch (Exception e) {
@@ -135,122 +255,93 @@ public class YtdbLoader {
     }
 
     private void insertPlace(List<Place> batch) {
-        traversal.executeInTx(g -> {
-            for (Place place : batch) {
-                g.addV(PLACE)
-                        .property(ID, place.id())
-                        .property(NAME, place.name())
-                        .property(URL, place.url())
-                        .property(TYPE, place.type())
-                        .iterate();
-            }
-        });
+        addVertices(PLACE, batch.stream()
+                .map(place -> row(
+                        ID, place.id(),
+                        NAME, place.name(),
+                        URL, place.url(),
+                        TYPE, place.type()))
+                .toList());
     }
 
     private void insertOrganisation(List<Organisation> batch) {
-        traversal.executeInTx(g -> {
-            for (Organisation org : batch) {
-                g.addV(ORGANISATION)
-                        .property(ID, org.id())
-                        .property(TYPE, org.type())
-                        .property(NAME, org.name())
-                        .property(URL, org.url())
-                        .iterate();
-            }
-        });
+        addVertices(ORGANISATION, batch.stream()
+                .map(org -> row(
+                        ID, org.id(),
+                        TYPE, org.type(),
+                        NAME, org.name(),
+                        URL, org.url()))
+                .toList());
     }
 
     private void insertTagClass(List<TagClass> batch) {
-        traversal.executeInTx(g -> {
-            for (TagClass tagClass : batch) {
-                g.addV(TAG_CLASS)
-                        .property(ID, tagClass.id())
-                        .property(NAME, tagClass.name())
-                        .property(URL, tagClass.url())
-                        .iterate();
-            }
-        });
+        addVertices(TAG_CLASS, batch.stream()
+                .map(tagClass -> row(
+                        ID, tagClass.id(),
+                        NAME, tagClass.name(),
+                        URL, tagClass.url()))
+                .toList());
     }
 
     private void insertTag(List<Tag> batch) {
-        traversal.executeInTx(g -> {
-            for (Tag tag : batch) {
-                g.addV(TAG)
-                        .property(ID, tag.id())
-                        .property(NAME, tag.name())
-                        .property(URL, tag.url())
-                        .iterate();
-            }
-        });
+        addVertices(TAG, batch.stream()
+                .map(tag -> row(
+                        ID, tag.id(),
+                        NAME, tag.name(),
+                        URL, tag.url()))
+                .toList());
     }
 
     private void insertPerson(List<Person> batch) {
-        traversal.executeInTx(g -> {
-            for (Person person : batch) {
-                g.addV(PERSON)
-                        .property(ID, person.id())
-                        .property(FIRST_NAME, person.firstName())
-                        .property(LAST_NAME, person.lastName())
-                        .property(GENDER, person.gender())
-                        .property(BIRTHDAY, person.birthday())
-                        .property(CREATION_DATE, person.creationDate())
-                        .property(LOCATION_IP, person.locationIP())
-                        .property(BROWSER_USED, person.browserUsed())
-                        .property(LANGUAGES, person.languages())
-                        .property(EMAILS, person.emails())
-                        .iterate();
-            }
-        });
+        addVertices(PERSON, batch.stream()
+                .map(person -> row(
+                        ID, person.id(),
+                        FIRST_NAME, person.firstName(),
+                        LAST_NAME, person.lastName(),
+                        GENDER, person.gender(),
+                        BIRTHDAY, person.birthday(),
+                        CREATION_DATE, person.creationDate(),
+                        LOCATION_IP, person.locationIP(),
+                        BROWSER_USED, person.browserUsed(),
+                        LANGUAGES, person.languages(),
+                        EMAILS, person.emails()))
+                .toList());
     }
 
     private void insertForum(List<Forum> batch) {
-        traversal.executeInTx(g -> {
-            for (Forum forum : batch) {
-                g.addV(FORUM)
-                        .property(ID, forum.id())
-                        .property(TITLE, forum.title())
-                        .property(CREATION_DATE, forum.creationDate())
-                        .iterate();
-            }
-        });
+        addVertices(FORUM, batch.stream()
+                .map(forum -> row(
+                        ID, forum.id(),
+                        TITLE, forum.title(),
+                        CREATION_DATE, forum.creationDate()))
+                .toList());
     }
 
     private void insertPost(List<Post> batch) {
-        traversal.executeInTx(g -> {
-            for (Post post : batch) {
-                var traversal = g.addV(POST)
-                        .property(ID, post.id())
-                        .property(CREATION_DATE, post.creationDate())
-                        .property(LOCATION_IP, post.locationIP())
-                        .property(BROWSER_USED, post.browserUsed())
-                        .property(LANGUAGE, post.language())
-                        .property(LENGTH, post.length());
-
-                if (post.imageFile() != null) {
-                    traversal.property(IMAGE_FILE, post.imageFile());
-                }
-                if (post.content() != null) {
-                    traversal.property(CONTENT, post.content());
-                }
-
-                traversal.iterate();
-            }
-        });
+        // imageFile and content are optional; row() leaves absent values out
+        addVertices(POST, batch.stream()
+                .map(post -> row(
+                        ID, post.id(),
+                        CREATION_DATE, post.creationDate(),
+                        LOCATION_IP, post.locationIP(),
+                        BROWSER_USED, post.browserUsed(),
+                        LANGUAGE, post.language(),
+                        LENGTH, post.length(),
+                        IMAGE_FILE, post.imageFile(),
+                        CONTENT, post.content()))
+                .toList());
     }
 
     private void insertComment(List<Comment> batch) {
-        traversal.executeInTx(g -> {
-            for (Comment comment : batch) {
-                g.addV(COMMENT)
-                        .property(ID, comment.id())
-                        .property(CREATION_DATE, comment.creationDate())
-                        .property(LOCATION_IP, comment.locationIP())
-                        .property(BROWSER_USED, comment.browserUsed())
-                        .property(CONTENT, comment.content())
-                        .property(LENGTH, comment.length())
-                        .iterate();
-            }
-        });
+        addVertices(COMMENT, batch.stream()
+                .map(comment -> row(
+                        ID, comment.id(),
+                        CREATION_DATE, comment.creationDate(),
+                        LOCATION_IP, comment.locationIP(),
+                        BROWSER_USED, comment.browserUsed(),
+                        CONTENT, comment.content(),
+                        LENGTH, comment.length()))
+                .toList());
     }
 
     // ==================== RELATIONSHIP LOADERS ====================
@@ -273,10 +364,10 @@ public class YtdbLoader {
     }
 
     private void loadContentRelationships(Path dynamicDir) throws Exception {
-        loadSimpleEdge(dynamicDir, "post_hasCreator_person_0_0.csv", HAS_CREATOR, POST, PERSON);
+        loadCreatorEdge(dynamicDir, "post_hasCreator_person_0_0.csv", POST);
         loadSimpleEdge(dynamicDir, "post_isLocatedIn_place_0_0.csv", IS_LOCATED_IN, POST, PLACE);
         loadSimpleEdge(dynamicDir, "post_hasTag_tag_0_0.csv", HAS_TAG, POST, TAG);
-        loadSimpleEdge(dynamicDir, "comment_hasCreator_person_0_0.csv", HAS_CREATOR, COMMENT, PERSON);
+        loadCreatorEdge(dynamicDir, "comment_hasCreator_person_0_0.csv", COMMENT);
         loadSimpleEdge(dynamicDir, "comment_isLocatedIn_place_0_0.csv", IS_LOCATED_IN, COMMENT, PLACE);
         loadSimpleEdge(dynamicDir, "comment_replyOf_post_0_0.csv", REPLY_OF, COMMENT, POST);
         loadSimpleEdge(dynamicDir, "comment_replyOf_comment_0_0.csv", REPLY_OF, COMMENT, COMMENT);
@@ -285,18 +376,35 @@ public class YtdbLoader {
 
     private void loadSimpleEdge(Path dir, String filename, String edgeLabel,
                                 String fromLabel, String toLabel) {
+        loadSimpleEdge(dir, filename, edgeLabel, fromLabel, toLabel, null);
+    }
+
+    /**
+     * {@code HAS_CREATOR} edges carry the creation date of their message, so the newest messages of a person can
+     * be found from its edges without reading the messages.
+     */
+    private void loadCreatorEdge(Path dir, String filename, String contentLabel) {
+        loadSimpleEdge(dir, filename, HAS_CREATOR, contentLabel, PERSON, CREATION_DATE);
+    }
+
+    /**
+     * @param copiedKey property of the source vertex that is copied onto each edge, or {@code null}
+     */
+    private void loadSimpleEdge(Path dir, String filename, String edgeLabel,
+                                String fromLabel, String toLabel, String copiedKey) {
         try {
             Path csvFile = dir.resolve(filename);
-            if (!Files.exists(csvFile)) {
+            if (!inputExists(csvFile)) {
                 log.warn("File not found: {}", csvFile);
                 return;
             }
 
-            var processor = new CsvProcessor<SimpleEdge>(BATCH_SIZE);
-
-            long count = processor.process(csvFile,
+            long count = processEdges(csvFile, edgeLabel,
                     SimpleEdge::parse,
-                    batch -> insertSimpleEdges(batch, edgeLabel, fromLabel, toLabel)
+                    SnapshotRecords::simpleEdge,
+                    SIMPLE_EDGE_CODEC,
+                    UnaryOperator.identity(),
+                    batch -> insertSimpleEdges(batch, edgeLabel, fromLabel, toLabel, copiedKey)
             );
 
             log.info("Loaded {} {} edges", count, edgeLabel);
@@ -307,58 +415,60 @@ public class YtdbLoader {
     }
 
     private void insertSimpleEdges(List<SimpleEdge> batch, String edgeLabel,
-                                   String fromLabel, String toLabel) {
-        traversal.executeInTx(g -> {
-            for (SimpleEdge edge : batch) {
-                g.V().has(fromLabel, ID, edge.fromId())
-                        .addE(edgeLabel)
-                        .to(V().has(toLabel, ID, edge.toId()))
-                        .iterate();
-            }
-        });
+                                   String fromLabel, String toLabel, String copiedKey) {
+        addEdges(edgeLabel, fromLabel, toLabel, batch.stream()
+                .map(edge -> new PendingEdge(edge.fromId(), edge.toId(), Map.of()))
+                .toList(), copiedKey);
     }
 
     private void loadKnowsEdge(Path csvFile) throws Exception {
-        if (!Files.exists(csvFile)) {
+        if (!inputExists(csvFile)) {
             log.warn("File not found: {}", csvFile);
             return;
         }
 
-        var processor = new CsvProcessor<KnowsEdge>(BATCH_SIZE);
-        long count = processor.process(csvFile,
+        long count = processEdges(csvFile, KNOWS,
                 KnowsEdge::parse,
+                SnapshotRecords::knowsEdge,
+                KNOWS_EDGE_CODEC,
+                YtdbLoader::bothDirections,
                 this::insertKnowsEdges
         );
 
         log.info("Loaded {} KNOWS edges", count);
     }
 
+    /**
+     * KNOWS is stored in both directions. The reverse edges are added before sorting, so each direction
+     * lands next to the other edges of its own source person.
+     */
+    private static List<KnowsEdge> bothDirections(List<KnowsEdge> batch) {
+        var edges = new ArrayList<KnowsEdge>(batch.size() * 2);
+        for (KnowsEdge edge : batch) {
+            edges.add(edge);
+            edges.add(new KnowsEdge(edge.person2Id(), edge.person1Id(), edge.creationDate()));
+        }
+        return edges;
+    }
+
     private void insertKnowsEdges(List<KnowsEdge> batch) {
-        traversal.executeInTx(g -> {
-            for (KnowsEdge edge : batch) {
-                // Bidirectional relationship
-                g.V().has(PERSON, ID, edge.person1Id())
-                        .addE(KNOWS)
-                        .to(V().has(PERSON, ID, edge.person2Id()))
-                        .property(CREATION_DATE, edge.creationDate()).iterate();
-                g.V().has(PERSON, ID, edge.person2Id())
-                        .addE(KNOWS)
-                        .to(V().has(PERSON, ID, edge.person1Id()))
-                        .property(CREATION_DATE, edge.creationDate()).iterate();
-            }
-        });
+        addEdges(KNOWS, PERSON, PERSON, batch.stream()
+                .map(edge -> new PendingEdge(edge.person1Id(), edge.person2Id(),
+                        row(CREATION_DATE, edge.creationDate())))
+                .toList());
     }
 
     private void loadStudyAtEdge(Path csvFile) throws Exception {
-        if (!Files.exists(csvFile)) {
+        if (!inputExists(csvFile)) {
             log.warn("File not found: {}", csvFile);
             return;
         }
 
-        var processor = new CsvProcessor<StudyAtEdge>(BATCH_SIZE);
-
-        long count = processor.process(csvFile,
+        long count = processEdges(csvFile, STUDY_AT,
                 StudyAtEdge::parse,
+                SnapshotRecords::studyAtEdge,
+                STUDY_AT_EDGE_CODEC,
+                UnaryOperator.identity(),
                 this::insertStudyAtEdges
         );
 
@@ -366,26 +476,23 @@ public class YtdbLoader {
     }
 
     private void insertStudyAtEdges(List<StudyAtEdge> batch) {
-        traversal.executeInTx(g -> {
-            for (StudyAtEdge edge : batch) {
-                g.V().has(PERSON, ID, edge.personId())
-                        .addE(STUDY_AT)
-                        .to(V().has(ORGANISATION, ID, edge.organisationId()))
-                        .property(CLASS_YEAR, edge.classYear()).iterate();
-            }
-        });
+        addEdges(STUDY_AT, PERSON, ORGANISATION, batch.stream()
+                .map(edge -> new PendingEdge(edge.personId(), edge.organisationId(),
+                        row(CLASS_YEAR, edge.classYear())))
+                .toList());
     }
 
     private void loadWorkAtEdge(Path csvFile) throws Exception {
-        if (!Files.exists(csvFile)) {
+        if (!inputExists(csvFile)) {
             log.warn("File not found: {}", csvFile);
             return;
         }
 
-        var processor = new CsvProcessor<WorkAtEdge>(BATCH_SIZE);
-
-        long count = processor.process(csvFile,
+        long count = processEdges(csvFile, WORK_AT,
                 WorkAtEdge::parse,
+                SnapshotRecords::workAtEdge,
+                WORK_AT_EDGE_CODEC,
+                UnaryOperator.identity(),
                 this::insertWorkAtEdges
         );
 
@@ -393,26 +500,23 @@ public class YtdbLoader {
     }
 
     private void insertWorkAtEdges(List<WorkAtEdge> batch) {
-        traversal.executeInTx(g -> {
-            for (WorkAtEdge edge : batch) {
-                g.V().has(PERSON, ID, edge.personId())
-                        .addE(WORK_AT)
-                        .to(V().has(ORGANISATION, ID, edge.organisationId()))
-                        .property(WORK_FROM, edge.workFrom()).iterate();
-            }
-        });
+        addEdges(WORK_AT, PERSON, ORGANISATION, batch.stream()
+                .map(edge -> new PendingEdge(edge.personId(), edge.organisationId(),
+                        row(WORK_FROM, edge.workFrom())))
+                .toList());
     }
 
     private void loadHasMemberEdge(Path csvFile) throws Exception {
-        if (!Files.exists(csvFile)) {
+        if (!inputExists(csvFile)) {
             log.warn("File not found: {}", csvFile);
             return;
         }
 
-        var processor = new CsvProcessor<HasMemberEdge>(BATCH_SIZE);
-
-        long count = processor.process(csvFile,
+        long count = processEdges(csvFile, HAS_MEMBER,
                 HasMemberEdge::parse,
+                SnapshotRecords::hasMemberEdge,
+                HAS_MEMBER_EDGE_CODEC,
+                UnaryOperator.identity(),
                 this::insertHasMemberEdges
         );
 
@@ -420,27 +524,24 @@ public class YtdbLoader {
     }
 
     private void insertHasMemberEdges(List<HasMemberEdge> batch) {
-        traversal.executeInTx(g -> {
-            for (HasMemberEdge edge : batch) {
-                g.V().has(FORUM, ID, edge.forumId())
-                        .addE(HAS_MEMBER)
-                        .to(V().has(PERSON, ID, edge.personId()))
-                        .property(JOIN_DATE, edge.joinDate()).iterate();
-            }
-        });
+        addEdges(HAS_MEMBER, FORUM, PERSON, batch.stream()
+                .map(edge -> new PendingEdge(edge.forumId(), edge.personId(),
+                        row(JOIN_DATE, edge.joinDate())))
+                .toList());
     }
 
     private void loadLikesEdge(Path csvFile, String contentLabel) {
         try {
-            if (!Files.exists(csvFile)) {
+            if (!inputExists(csvFile)) {
                 log.warn("File not found: {}", csvFile);
                 return;
             }
 
-            var processor = new CsvProcessor<LikesEdge>(BATCH_SIZE);
-
-            long count = processor.process(csvFile,
+            long count = processEdges(csvFile, LIKES,
                     LikesEdge::parse,
+                    SnapshotRecords::likesEdge,
+                    LIKES_EDGE_CODEC,
+                    UnaryOperator.identity(),
                     batch -> insertLikesEdges(batch, contentLabel)
             );
 
@@ -452,18 +553,231 @@ public class YtdbLoader {
     }
 
     private void insertLikesEdges(List<LikesEdge> batch, String contentLabel) {
+        addEdges(LIKES, PERSON, contentLabel, batch.stream()
+                .map(edge -> new PendingEdge(edge.personId(), edge.contentId(),
+                        row(CREATION_DATE, edge.creationDate())))
+                .toList());
+    }
+
+    // ==================== INSERT HELPERS ====================
+
+    /**
+     * Edge to insert between the vertices with the given LDBC ids.
+     */
+    private record PendingEdge(long fromId, long toId, Map<String, Object> properties) {}
+
+    private void addVertices(String label, List<Map<String, Object>> rows) {
         traversal.executeInTx(g -> {
-            for (LikesEdge edge : batch) {
-                g.V().has(PERSON, ID, edge.personId())
-                        .addE(LIKES)
-                        .to(V().has(contentLabel, ID, edge.contentId()))
-                        .property(CREATION_DATE, edge.creationDate()).iterate();
+            if (chunkSize > 0) {
+                for (List<Map<String, Object>> chunk : chunks(rows, chunkSize)) {
+                    insertVertices(g, label, chunk);
+                }
+                return;
+            }
+            for (Map<String, Object> row : rows) {
+                var addV = g.addV(label);
+                row.forEach(addV::property);
+                addV.iterate();
             }
         });
+        stats.addVertices(label, rows.size());
+    }
+
+    private void addEdges(String edgeLabel, String fromLabel, String toLabel, List<PendingEdge> rows) {
+        addEdges(edgeLabel, fromLabel, toLabel, rows, null);
+    }
+
+    /**
+     * @param copiedKey property of the source vertex that is copied onto each edge, or {@code null}
+     */
+    private void addEdges(String edgeLabel, String fromLabel, String toLabel, List<PendingEdge> rows,
+                          String copiedKey) {
+        var inserted = new ArrayList<PendingEdge>(rows.size());
+        traversal.executeInTx(g -> {
+            inserted.clear();
+            if (chunkSize > 0) {
+                injectEdges(g, edgeLabel, fromLabel, toLabel, rows, copiedKey, inserted);
+                return;
+            }
+            for (PendingEdge row : rows) {
+                var addE = g.V().has(fromLabel, ID, row.fromId())
+                        .addE(edgeLabel)
+                        .to(V().has(toLabel, ID, row.toId()));
+                row.properties().forEach(addE::property);
+                if (copiedKey != null) {
+                    // Evaluated on the source vertex, which is the traverser addE() starts from
+                    addE.property(copiedKey, values(copiedKey));
+                }
+                // count() instead of iterate() tells whether both endpoints existed
+                if (addE.count().next() > 0) {
+                    inserted.add(row);
+                }
+            }
+        });
+
+        stats.addEdges(edgeLabel, inserted.size());
+        for (PendingEdge row : inserted) {
+            stats.addDegree(edgeLabel, row.fromId(), row.toId());
+        }
+    }
+
+    /**
+     * Resolves the endpoints of a chunk with one indexed lookup per side, then creates its edges with a
+     * single {@link GremlinInserts#insertEdges} traversal. Rows whose endpoints do not exist are skipped,
+     * the same as the per-row {@code g.V().has(...).addE(...)} path.
+     */
+    private void injectEdges(YTDBGraphTraversalSource g, String edgeLabel, String fromLabel, String toLabel,
+                             List<PendingEdge> rows, String copiedKey, List<PendingEdge> inserted) {
+        for (List<PendingEdge> chunk : chunks(rows, chunkSize)) {
+            var fromIds = new HashSet<Long>();
+            var toIds = new HashSet<Long>();
+            for (PendingEdge row : chunk) {
+                fromIds.add(row.fromId());
+                toIds.add(row.toId());
+            }
+
+            Map<Long, Object> copied = copiedKey == null
+                    ? Map.of()
+                    : resolveValues(g, fromLabel, ID, copiedKey, fromIds);
+            Map<Long, Object> fromVertices;
+            Map<Long, Object> toVertices;
+            if (fromLabel.equals(toLabel)) {
+                fromIds.addAll(toIds);
+                fromVertices = toVertices = resolveVertices(g, fromLabel, ID, fromIds);
+            } else {
+                fromVertices = resolveVertices(g, fromLabel, ID, fromIds);
+                toVertices = resolveVertices(g, toLabel, ID, toIds);
+            }
+
+            var edgeRows = new ArrayList<EdgeRow>(chunk.size());
+            for (PendingEdge row : chunk) {
+                Object from = fromVertices.get(row.fromId());
+                Object to = toVertices.get(row.toId());
+                if (from == null || to == null) {
+                    continue;
+                }
+                Map<String, Object> properties = row.properties();
+                Object value = copied.get(row.fromId());
+                if (value != null) {
+                    properties = new LinkedHashMap<>(properties);
+                    properties.put(copiedKey, value);
+                }
+                edgeRows.add(new EdgeRow(from, to, properties));
+                inserted.add(row);
+            }
+
+            if (!edgeRows.isEmpty()) {
+                insertEdges(g, edgeLabel, edgeRows);
+            }
+        }
     }
 
     // ==================== UTILITIES ====================
 
+    /**
+     * Reads the binary snapshot next to {@code csvFile} when one exists (see {@link SnapshotConverter}),
+     * falling back to parsing the CSV itself.
+     */
+    private <T> long process(Path csvFile, String label,
+                             Function<String[], T> parser,
+                             Function<SnapshotReader.Row, T> decoder,
+                             Consumer<List<T>> batchConsumer) throws IOException {
+        return recordFile(csvFile, label, () -> read(csvFile, parser, decoder, batchConsumer));
+    }
+
+    /**
+     * Like {@link #process} for edge files. {@code expand} may add rows derived from each parsed batch.
+     * With edge sorting enabled, all rows first go through an {@link EdgeSorter} and are inserted in
+     * (source, target) order; the returned count is still the number of input rows.
+     */
+    private <T> long processEdges(Path csvFile, String label,
+                                  Function<String[], T> parser,
+                                  Function<SnapshotReader.Row, T> decoder,
+                                  EdgeSorter.Codec<T> codec,
+                                  UnaryOperator<List<T>> expand,
+                                  Consumer<List<T>> batchConsumer) throws IOException {
+        return recordFile(csvFile, label, () -> {
+            if (edgeSortDir == null) {
+                return read(csvFile, parser, decoder, batch -> batchConsumer.accept(expand.apply(batch)));
+            }
+            try (var sorter = new EdgeSorter<>(codec, edgeSortDir, edgeSortMemoryRows)) {
+                long rows = read(csvFile, parser, decoder, batch -> sorter.addAll(expand.apply(batch)));
+                sorter.drain(BATCH_SIZE, batchConsumer);
+                return rows;
+            }
+        });
+    }
+
+    /**
+     * Reads the binary snapshot next to {@code csvFile} when one exists and was converted from the current CSV
+     * (see {@link SnapshotConverter}), falling back to parsing the CSV itself.
+     */
+    private <T> long read(Path csvFile,
+                          Function<String[], T> parser,
+                          Function<SnapshotReader.Row, T> decoder,
+                          Consumer<List<T>> batchConsumer) throws IOException {
+        Path snapshotFile = SnapshotFormat.snapshotFileFor(csvFile);
+        if (Files.exists(snapshotFile)) {
+            if (SnapshotReader.isCurrent(snapshotFile, csvFile)) {
+                return new SnapshotProcessor<T>(BATCH_SIZE).process(snapshotFile, decoder, batchConsumer);
+            }
+            log.warn("Ignoring snapshot {}: it was not converted from the current {}", snapshotFile.getFileName(),
+                    csvFile.getFileName());
+        }
+        return new CsvProcessor<T>(BATCH_SIZE).process(csvFile, parser, batchConsumer);
+    }
+
+    @FunctionalInterface
+    private interface FileLoad {
+        long run() throws IOException;
+    }
+
+    private long recordFile(Path csvFile, String label, FileLoad load) throws IOException {
+        long start = System.nanoTime();
+        long insertedBefore = stats.vertexCount(label) + stats.edgeCount(label);
+
+        long rows = load.run();
+
+        long inserted = stats.vertexCount(label) + stats.edgeCount(label) - insertedBefore;
+        stats.addFile(new LoadStats.FileStats(csvFile.getFileName().toString(), label, rows, inserted,
+                (System.nanoTime() - start) / 1_000_000));
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface EdgeFactory<T> {
+        T create(long from, long to, long payload);
+    }
+
+    private static <T> EdgeSorter.Codec<T> codec(ToLongFunction<T> from, ToLongFunction<T> to,
+                                                 ToLongFunction<T> payload, EdgeFactory<T> factory) {
+        return new EdgeSorter.Codec<>() {
+            @Override
+            public long from(T edge) {
+                return from.applyAsLong(edge);
+            }
+
+            @Override
+            public long to(T edge) {
+                return to.applyAsLong(edge);
+            }
+
+            @Override
+            public long payload(T edge) {
+                return payload.applyAsLong(edge);
+            }
+
+            @Override
+            public T decode(long fromId, long toId, long value) {
+                return factory.create(fromId, toId, value);
+            }
+        };
+    }
+
+    private boolean inputExists(Path csvFile) {
+        return Files.exists(csvFile) || Files.exists(SnapshotFormat.snapshotFileFor(csvFile));
+    }
+
     private void validateDirectories(Path staticDir, Path dynamicDir) {
         if (!Files.exists(staticDir) || !Files.exists(dynamicDir)) {
             throw new IllegalArgumentException(
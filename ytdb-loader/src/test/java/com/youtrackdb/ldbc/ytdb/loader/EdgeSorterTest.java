@@ -0,0 +1,128 @@
+package com.youtrackdb.ldbc.ytdb.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeSorterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private record Edge(long from, long to, long payload) {
+    }
+
+    private static final EdgeSorter.Codec<Edge> CODEC = new EdgeSorter.Codec<>() {
+        @Override
+        public long from(Edge edge) {
+            return edge.from();
+        }
+
+        @Override
+        public long to(Edge edge) {
+            return edge.to();
+        }
+
+        @Override
+        public long payload(Edge edge) {
+            return edge.payload();
+        }
+
+        @Override
+        public Edge decode(long from, long to, long payload) {
+            return new Edge(from, to, payload);
+        }
+    };
+
+    private static final Comparator<Edge> ORDER = Comparator.comparingLong(Edge::from).thenComparingLong(Edge::to);
+
+    @Test
+    void sortsInMemoryWithoutSpilling() throws IOException {
+        List<Edge> edges = shuffledEdges(2_500, 1);
+        var batches = new ArrayList<List<Edge>>();
+
+        try (var sorter = new EdgeSorter<>(CODEC, tempDir, 10_000)) {
+            sorter.addAll(edges);
+            assertTrue(runFiles().isEmpty());
+
+            assertEquals(edges.size(), sorter.drain(1_000, batches::add));
+        }
+
+        assertEquals(List.of(1_000, 1_000, 500), batches.stream().map(List::size).toList());
+        assertEquals(sorted(edges), batches.stream().flatMap(List::stream).toList());
+    }
+
+    @Test
+    void spillsRunsAndMergesThem() throws IOException {
+        List<Edge> edges = shuffledEdges(1_000, 2);
+        var drained = new ArrayList<Edge>();
+
+        try (var sorter = new EdgeSorter<>(CODEC, tempDir, 64)) {
+            sorter.addAll(edges);
+            assertEquals(1_000 / 64, runFiles().size());
+
+            assertEquals(edges.size(), sorter.drain(100, drained::addAll));
+            assertTrue(runFiles().isEmpty());
+        }
+
+        assertEquals(sorted(edges), drained);
+    }
+
+    @Test
+    void keepsDuplicatesAndPayloads() throws IOException {
+        var edges = List.of(new Edge(2, 1, 7), new Edge(1, 5, 3), new Edge(2, 1, 7), new Edge(1, 2, -4));
+        var drained = new ArrayList<Edge>();
+
+        try (var sorter = new EdgeSorter<>(CODEC, tempDir, 3)) {
+            sorter.addAll(edges);
+            sorter.drain(10, drained::addAll);
+        }
+
+        assertEquals(List.of(new Edge(1, 2, -4), new Edge(1, 5, 3), new Edge(2, 1, 7), new Edge(2, 1, 7)), drained);
+    }
+
+    @Test
+    void startsEmptyAgainAfterDrain() throws IOException {
+        var drained = new ArrayList<Edge>();
+
+        try (var sorter = new EdgeSorter<>(CODEC, tempDir, 2)) {
+            sorter.addAll(List.of(new Edge(3, 0, 0), new Edge(2, 0, 0), new Edge(1, 0, 0)));
+            sorter.drain(10, batch -> {
+            });
+            sorter.addAll(List.of(new Edge(5, 0, 0), new Edge(4, 0, 0)));
+
+            assertEquals(2, sorter.drain(10, drained::addAll));
+        }
+
+        assertEquals(List.of(new Edge(4, 0, 0), new Edge(5, 0, 0)), drained);
+    }
+
+    private static List<Edge> shuffledEdges(int count, long seed) {
+        var random = new Random(seed);
+        var edges = new ArrayList<Edge>(count);
+        for (int i = 0; i < count; i++) {
+            edges.add(new Edge(random.nextInt(100), random.nextInt(1_000_000) * 10_000L + i, i));
+        }
+        return edges;
+    }
+
+    private static List<Edge> sorted(List<Edge> edges) {
+        return edges.stream().sorted(ORDER).toList();
+    }
+
+    private List<Path> runFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.youtrackdb.ldbc.ytdb;
+
+import org.apache.tinkerpop.gremlin.driver.exception.ResponseException;
+
+import java.util.List;
+
+/**
+ * Recognizes YouTrackDB's optimistic concurrency failures. They all extend {@code NeedRetryException}, e.g. the
+ * {@code ConcurrentModificationException} thrown on commit when a record changed since it was read. Embedded,
+ * the exception is in the cause chain; remote, the server sends its class hierarchy with the
+ * {@link ResponseException}. Matched by name, so the check does not depend on internal classes.
+ */
+final class YtdbConflicts {
+
+    private static final String PACKAGE = "com.jetbrains.youtrackdb.";
+    private static final String NEED_RETRY = "NeedRetryException";
+
+    private YtdbConflicts() {
+    }
+
+    static boolean isConflict(Throwable failure) {
+        for (Throwable e = failure; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            for (Class<?> type = e.getClass(); type != null; type = type.getSuperclass()) {
+                if (isNeedRetry(type.getName())) {
+                    return true;
+                }
+            }
+            if (e instanceof ResponseException response
+                    && response.getRemoteExceptionHierarchy().orElse(List.of()).stream()
+                    .anyMatch(YtdbConflicts::isNeedRetry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNeedRetry(String className) {
+        return className.startsWith(PACKAGE) && className.endsWith("." + NEED_RETRY);
+    }
+}
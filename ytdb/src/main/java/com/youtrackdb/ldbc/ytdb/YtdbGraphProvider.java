@@ -6,6 +6,7 @@ import com.jetbrains.youtrackdb.api.YouTrackDB;
 import com.jetbrains.youtrackdb.api.YourTracks;
 import com.jetbrains.youtrackdb.api.gremlin.YTDBGraphTraversalSource;
 import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.metrics.TransactionEvent;
 import org.apache.commons.lang3.function.FailableConsumer;
 import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -14,6 +15,7 @@ import java.io.IOException;
 import java.util.Map;
 
 public class YtdbGraphProvider implements GraphProvider {
+    private static final String PROVIDER = "ytdb-embedded";
 
     private final YouTrackDB db;
     private final YTDBGraphTraversalSource traversal;
@@ -31,12 +33,37 @@ public class YtdbGraphProvider implements GraphProvider {
 
     @Override
     public <E extends Exception> void executeInTx(FailableConsumer<GraphTraversalSource, E> code) throws E {
-        traversal.executeInTx(code::accept);
+        var event = TransactionEvent.start(PROVIDER);
+        try {
+            traversal.executeInTx(g -> {
+                code.accept(g);
+                event.bodyDone();
+            });
+            event.committed();
+        } finally {
+            event.finish();
+        }
     }
 
     @Override
     public <E extends Exception, R> R computeInTx(FailableFunction<GraphTraversalSource, R, E> code) throws E {
-        return traversal.computeInTx(code::apply);
+        var event = TransactionEvent.start(PROVIDER);
+        try {
+            R result = traversal.computeInTx(g -> {
+                R value = code.apply(g);
+                event.bodyDone();
+                return value;
+            });
+            event.committed();
+            return result;
+        } finally {
+            event.finish();
+        }
+    }
+
+    @Override
+    public boolean isRetryable(Throwable failure) {
+        return YtdbConflicts.isConflict(failure);
     }
 
     @Override
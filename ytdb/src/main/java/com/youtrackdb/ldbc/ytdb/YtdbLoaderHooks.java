@@ -0,0 +1,67 @@
+package com.youtrackdb.ldbc.ytdb;
+
+import com.jetbrains.youtrackdb.api.gremlin.YTDBGraphTraversalSource;
+import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.loader.GremlinLoaderHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.youtrackdb.ldbc.common.LdbcSchema.*;
+
+/**
+ * {@link GremlinLoaderHooks} that creates the vertex classes and their unique {@code id} indexes before loading,
+ * so {@code resolveVertices} looks endpoints up through an index instead of scanning the class. Posts and
+ * comments share the {@code Message.id} index, as in ytdb-loader's schema. The {@code creationDate} that
+ * {@code HAS_CREATOR} edges copy from their message is indexed as well. Existing classes and indexes are kept.
+ */
+public class YtdbLoaderHooks extends GremlinLoaderHooks {
+
+    private static final Logger logger = LoggerFactory.getLogger(YtdbLoaderHooks.class);
+
+    private static final String MESSAGE = "Message";
+
+    /**
+     * Vertex class to superclass, superclasses first.
+     */
+    private static final Map<String, String> CLASSES = new LinkedHashMap<>();
+
+    static {
+        CLASSES.put(PLACE, "V");
+        CLASSES.put(ORGANISATION, "V");
+        CLASSES.put(TAG_CLASS, "V");
+        CLASSES.put(TAG, "V");
+        CLASSES.put(PERSON, "V");
+        CLASSES.put(FORUM, "V");
+        CLASSES.put(MESSAGE, "V");
+        CLASSES.put(POST, MESSAGE);
+        CLASSES.put(COMMENT, MESSAGE);
+    }
+
+    @Override
+    public void beforeLoad(GraphProvider graphProvider) throws Exception {
+        List<String> statements = new ArrayList<>();
+        CLASSES.forEach((label, superclass) -> {
+            statements.add("CREATE CLASS " + label + " IF NOT EXISTS EXTENDS " + superclass);
+            if (superclass.equals("V")) {
+                statements.add("CREATE PROPERTY " + label + "." + ID + " IF NOT EXISTS LONG");
+                statements.add("CREATE INDEX " + label + "." + ID + " IF NOT EXISTS ON " + label + "(" + ID
+                        + ") UNIQUE");
+            }
+        });
+        statements.add("CREATE CLASS " + HAS_CREATOR + " IF NOT EXISTS EXTENDS E");
+        statements.add("CREATE PROPERTY " + HAS_CREATOR + "." + CREATION_DATE + " IF NOT EXISTS DATETIME");
+        statements.add("CREATE INDEX " + HAS_CREATOR + "." + CREATION_DATE + " IF NOT EXISTS ON " + HAS_CREATOR
+                + "(" + CREATION_DATE + ") NOTUNIQUE");
+
+        graphProvider.executeInTx(g -> {
+            var ytdb = (YTDBGraphTraversalSource) g;
+            statements.forEach(ytdb::command);
+        });
+        logger.info("Created id indexes for {} vertex classes", CLASSES.size());
+    }
+}
@@ -5,6 +5,7 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.name.Names;
 import com.youtrackdb.ldbc.common.GraphProvider;
 import com.youtrackdb.ldbc.common.OperationBindings;
+import com.youtrackdb.ldbc.common.loader.LoaderHooks;
 import org.ldbcouncil.snb.driver.workloads.interactive.LdbcShortQuery1PersonProfile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,7 @@ public class YtdbModule extends AbstractModule {
                 .toInstance(properties);
 
         bind(GraphProvider.class).to(YtdbRemoteGraphProvider.class);
+        bind(LoaderHooks.class).to(YtdbLoaderHooks.class);
 
         OperationBindings.bindQuery(this.binder(), LdbcShortQuery1PersonProfile.class, OptimizedShortQuery1.class);
     }
@@ -7,6 +7,7 @@ import com.jetbrains.youtrackdb.internal.core.gremlin.io.YTDBIoRegistry;
 import com.jetbrains.youtrackdb.internal.driver.YTDBDriverRemoteConnection;
 import com.jetbrains.youtrackdb.internal.driver.YTDBDriverWebSocketChannelizer;
 import com.youtrackdb.ldbc.common.GraphProvider;
+import com.youtrackdb.ldbc.common.metrics.TransactionEvent;
 import org.apache.commons.lang3.function.FailableConsumer;
 import org.apache.commons.lang3.function.FailableFunction;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.util.*;
 
 public class YtdbRemoteGraphProvider implements GraphProvider {
+    private static final String PROVIDER = "ytdb-remote";
     private final Cluster cluster;
     private final YTDBGraphTraversalSource traversal;
 
@@ -58,12 +60,32 @@ public class YtdbRemoteGraphProvider implements GraphProvider {
 
     @Override
     public <E extends Exception> void executeInTx(FailableConsumer<GraphTraversalSource, E> code) throws E {
-        traversal.executeInTx(code::accept);
+        var event = TransactionEvent.start(PROVIDER);
+        try {
+            traversal.executeInTx(g -> {
+                code.accept(g);
+                event.bodyDone();
+            });
+            event.committed();
+        } finally {
+            event.finish();
+        }
     }
 
     @Override
     public <E extends Exception, R> R computeInTx(FailableFunction<GraphTraversalSource, R, E> code) throws E {
-        return traversal.computeInTx(code::apply);
+        var event = TransactionEvent.start(PROVIDER);
+        try {
+            R result = traversal.computeInTx(g -> {
+                R value = code.apply(g);
+                event.bodyDone();
+                return value;
+            });
+            event.committed();
+            return result;
+        } finally {
+            event.finish();
+        }
     }
 
     private static String envOrProperty(String envVar, String propKey, Map<String, String> properties) {
@@ -71,6 +93,16 @@ public class YtdbRemoteGraphProvider implements GraphProvider {
         return env != null ? env : properties.get(propKey);
     }
 
+    @Override
+    public boolean isRetryable(Throwable failure) {
+        return YtdbConflicts.isConflict(failure);
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
     @Override
     // The traversal source owns the underlying remote connection, so make sure we close both resources when the driver shuts down.
     public void close() throws IOException {